@@ -0,0 +1,220 @@
+package com.solarcalculator.app;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ConfiguracionPreferencias;
+import com.solarcalculator.app.utils.CatalogoPaneles;
+import com.solarcalculator.app.utils.HistorialCotizaciones;
+import com.solarcalculator.app.utils.MetricasArranque;
+import com.solarcalculator.app.utils.PerfilesConfiguracion;
+import com.solarcalculator.app.utils.RepositorioResultados;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Aplicación: al iniciar el proceso carga en segundo plano la configuración y luego el
+ * historial de cotizaciones, para que las actividades no lean el disco en el hilo
+ * principal durante el arranque en frío.
+ *
+ * <p>Las actividades obtienen la configuración con {@link #getInstantanea()} (null si aún
+ * no está) o con {@link #alCargarConfiguracion(Runnable)}, y el repositorio de resultados
+ * con {@link #getRepositorioSiListo()} o, desde un hilo de fondo, con
+ * {@link #getRepositorio()}. Los tiempos del arranque quedan en {@link #getMetricas()}.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class AplicacionSolar extends Application {
+
+    private static final String TAG = "AplicacionSolar";
+    private static final String ARCHIVO_HISTORIAL = "historial.bin";
+    private static final String ARCHIVO_PERFILES = "perfiles.bin";
+    private static final String ASSET_CATALOGO = "paneles.csv";
+
+    private final MetricasArranque metricas = new MetricasArranque();
+    private final Handler hiloPrincipal = new Handler(Looper.getMainLooper());
+
+    private ConfiguracionPreferencias configuracion;
+    private FutureTask<ConfiguracionInmutable> cargaConfiguracion;
+    private FutureTask<RepositorioResultados> cargaRepositorio;
+    private PerfilesConfiguracion perfiles;
+    private CatalogoPaneles catalogo; // Se lee del asset en la primera consulta
+
+    // Solo desde el hilo principal
+    private boolean configuracionCargada;
+    private final List<Runnable> pendientesAlCargar = new ArrayList<>();
+
+    /**
+     * Obtiene la aplicación desde cualquier contexto.
+     */
+    public static AplicacionSolar de(Context context) {
+        return (AplicacionSolar) context.getApplicationContext();
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        metricas.registrarInicio();
+
+        // Crear el adaptador no lee el archivo; la primera lectura sí, y esa va en segundo plano
+        configuracion = new ConfiguracionPreferencias(this);
+        cargaConfiguracion = new FutureTask<>(configuracion::getConfiguracionInmutable);
+        cargaRepositorio = new FutureTask<>(this::abrirRepositorio);
+        // Los perfiles se leen la primera vez que se consultan, no en el arranque
+        perfiles = new PerfilesConfiguracion(new File(getFilesDir(), ARCHIVO_PERFILES));
+
+        Thread precarga = new Thread(() -> {
+            cargaConfiguracion.run();
+            metricas.registrarConfiguracionLista();
+            hiloPrincipal.post(this::notificarConfiguracionCargada);
+
+            // El historial se necesita hasta el primer cálculo: va después de la configuración
+            cargaRepositorio.run();
+        }, "precarga");
+        precarga.start();
+    }
+
+    /**
+     * Obtiene el adaptador de configuración compartido. Sus getters pueden leer el disco
+     * si la carga no ha terminado: en el hilo principal usar {@link #getInstantanea()}.
+     */
+    public ConfiguracionPreferencias getConfiguracion() {
+        return configuracion;
+    }
+
+    /**
+     * Obtiene los perfiles de configuración con nombre. La primera consulta lee el
+     * archivo: hacerla fuera del hilo principal.
+     */
+    public PerfilesConfiguracion getPerfiles() {
+        return perfiles;
+    }
+
+    /**
+     * Obtiene el catálogo de paneles incluido en la app. La primera llamada lee y
+     * ordena el archivo de datos: llamar desde un hilo de fondo.
+     *
+     * @throws IOException si el archivo de datos no puede leerse
+     */
+    public synchronized CatalogoPaneles getCatalogo() throws IOException {
+        if (catalogo == null) {
+            try (Reader entrada = new InputStreamReader(getAssets().open(ASSET_CATALOGO), StandardCharsets.UTF_8)) {
+                catalogo = CatalogoPaneles.leer(entrada);
+            }
+        }
+        return catalogo;
+    }
+
+    /**
+     * Obtiene las constantes actuales sin bloquear.
+     *
+     * @return Constantes del sistema, o null si la carga no ha terminado
+     */
+    public ConfiguracionInmutable getInstantanea() {
+        // Tras la carga, las preferencias están en memoria y esto no lee el disco
+        return cargaConfiguracion.isDone() ? configuracion.getConfiguracionInmutable() : null;
+    }
+
+    /**
+     * Ejecuta una acción en el hilo principal cuando la configuración esté cargada
+     * (de inmediato si ya lo está). Llamar desde el hilo principal.
+     */
+    public void alCargarConfiguracion(Runnable accion) {
+        if (configuracionCargada) {
+            accion.run();
+        } else {
+            pendientesAlCargar.add(accion);
+        }
+    }
+
+    /**
+     * Descarta una acción registrada con {@link #alCargarConfiguracion(Runnable)} que
+     * aún no se ejecutó (por ejemplo, al destruirse la actividad).
+     */
+    public void quitarAlCargarConfiguracion(Runnable accion) {
+        pendientesAlCargar.remove(accion);
+    }
+
+    /**
+     * Obtiene el repositorio de resultados, esperando a que termine de abrirse.
+     * Llamar desde un hilo de fondo.
+     */
+    public RepositorioResultados getRepositorio() {
+        if (!cargaRepositorio.isDone() && Looper.myLooper() == Looper.getMainLooper()) {
+            metricas.registrarEsperaHiloPrincipal();
+            Log.w(TAG, "El hilo principal espera la apertura del historial");
+        }
+        return obtener(cargaRepositorio);
+    }
+
+    /**
+     * Obtiene el repositorio de resultados sin bloquear.
+     *
+     * @return El repositorio, o null si aún se está abriendo
+     */
+    public RepositorioResultados getRepositorioSiListo() {
+        return cargaRepositorio.isDone() ? obtener(cargaRepositorio) : null;
+    }
+
+    /**
+     * Obtiene las métricas del arranque en frío.
+     */
+    public MetricasArranque getMetricas() {
+        return metricas;
+    }
+
+    private void notificarConfiguracionCargada() {
+        configuracionCargada = true;
+        for (Runnable accion : pendientesAlCargar) {
+            accion.run();
+        }
+        pendientesAlCargar.clear();
+    }
+
+    private RepositorioResultados abrirRepositorio() {
+        HistorialCotizaciones historial = null;
+        try {
+            historial = new HistorialCotizaciones(new File(getFilesDir(), ARCHIVO_HISTORIAL));
+        } catch (IOException e) {
+            // Sin historial el repositorio trabaja solo en memoria
+            Log.w(TAG, "No se pudo abrir el historial de cotizaciones", e);
+        }
+        return new RepositorioResultados(historial);
+    }
+
+    /**
+     * Espera el resultado de una carga sin propagar interrupciones.
+     */
+    private static <T> T obtener(Future<T> carga) {
+        boolean interrumpido = false;
+        try {
+            while (true) {
+                try {
+                    return carga.get();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la carga inicial", e.getCause());
+        } finally {
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
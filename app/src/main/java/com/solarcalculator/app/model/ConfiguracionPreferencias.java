@@ -0,0 +1,322 @@
+package com.solarcalculator.app.model;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Map;
+
+/**
+ * Adaptador Android de {@link Configuracion}.
+ * Utiliza SharedPreferences para persistir los valores configurables.
+ *
+ * <p>Cada double se guarda completo como los bits de un long, y las cinco constantes se
+ * escriben juntas en un solo apply con un contador de versión, así nunca se lee una
+ * mezcla de valores viejos y nuevos. Las preferencias del formato anterior (float) se
+ * migran en la primera lectura.</p>
+ * 
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ConfiguracionPreferencias implements Configuracion {
+    
+    // Nombre del archivo de preferencias
+    private static final String PREFS_NAME = "SolarCalculatorPrefs";
+    
+    // Claves para SharedPreferences
+    private static final String KEY_PRODUCCION_PANEL = "produccion_panel";
+    private static final String KEY_POTENCIA_PANEL = "potencia_panel";
+    private static final String KEY_AREA_PANEL = "area_panel";
+    private static final String KEY_PRECIO_KWH = "precio_kwh";
+    private static final String KEY_COSTO_PANEL = "costo_panel";
+    private static final String KEY_VERSION = "version_configuracion";
+    
+    private static final String[] KEYS_VALORES = {
+        KEY_PRODUCCION_PANEL, KEY_POTENCIA_PANEL, KEY_AREA_PANEL, KEY_PRECIO_KWH, KEY_COSTO_PANEL
+    };
+    
+    private SharedPreferences preferences;
+    
+    // Las preferencias ya están en el formato actual (la migración se hace una vez por proceso)
+    private static volatile boolean formatoVerificado;
+    
+    // Copia inmutable de las constantes, compartida por todas las instancias del proceso
+    // (SharedPreferences también lo es); null cuando debe volver a leerse
+    private static volatile ConfiguracionInmutable inmutable;
+    // Versión guardada a la que corresponde la copia inmutable
+    private static volatile long versionInmutable = -1;
+    
+    // SharedPreferences guarda los listeners con referencias débiles, por eso se conserva aquí.
+    // Cada escritura cambia la versión: basta con vigilar esa clave
+    private static final SharedPreferences.OnSharedPreferenceChangeListener LISTENER_CAMBIOS =
+            (prefs, key) -> {
+                if (KEY_VERSION.equals(key) && prefs.getLong(KEY_VERSION, 0) != versionInmutable) {
+                    inmutable = null;
+                }
+            };
+    
+    /**
+     * Constructor que inicializa las preferencias compartidas.
+     * 
+     * @param context Contexto de la aplicación
+     */
+    public ConfiguracionPreferencias(Context context) {
+        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        preferences.registerOnSharedPreferenceChangeListener(LISTENER_CAMBIOS);
+    }
+    
+    /**
+     * Obtiene una copia inmutable de las constantes actuales.
+     * Se lee de SharedPreferences solo la primera vez o después de un cambio;
+     * las llamadas siguientes devuelven la misma instancia, con la misma versión.
+     * 
+     * @return Constantes del sistema con sus valores derivados
+     */
+    @Override
+    public ConfiguracionInmutable getConfiguracionInmutable() {
+        ConfiguracionInmutable actual = inmutable;
+        if (actual == null) {
+            verificarFormato();
+            long version = preferences.getLong(KEY_VERSION, 0);
+            actual = new ConfiguracionInmutable(
+                getProduccionPanel(),
+                getPotenciaPanel(),
+                getAreaPanel(),
+                getPrecioKwh(),
+                getCostoPanel()
+            );
+            versionInmutable = version;
+            inmutable = actual;
+        }
+        return actual;
+    }
+    
+    /**
+     * Obtiene el contador de versión guardado junto a las constantes. Aumenta en cada
+     * escritura y se conserva entre ejecuciones, así que sirve para invalidar cachés
+     * persistentes (la versión de {@link ConfiguracionInmutable} solo es única en el proceso).
+     * 
+     * @return Versión guardada; 0 si nunca se ha guardado la configuración
+     */
+    public long getVersionGuardada() {
+        verificarFormato();
+        return preferences.getLong(KEY_VERSION, 0);
+    }
+    
+    /**
+     * Guarda las cinco constantes en una sola transacción y aumenta la versión.
+     * 
+     * @param produccion Producción diaria de un panel en kWh/día
+     * @param potencia Potencia nominal de un panel en Watts
+     * @param area Área de un panel en m²
+     * @param precio Precio del kWh en COP
+     * @param costo Costo de instalación por panel en COP
+     * @return Las constantes guardadas
+     */
+    public ConfiguracionInmutable guardar(double produccion, double potencia, double area,
+                                          double precio, double costo) {
+        return guardar(new ConfiguracionInmutable(produccion, potencia, area, precio, costo));
+    }
+    
+    /**
+     * Guarda las cinco constantes de una configuración en una sola transacción y aumenta
+     * la versión. La copia en memoria se reemplaza de inmediato, sin volver a leer el disco.
+     * 
+     * @param nueva Constantes a guardar
+     * @return La misma configuración
+     */
+    public ConfiguracionInmutable guardar(ConfiguracionInmutable nueva) {
+        verificarFormato();
+        long version;
+        synchronized (ConfiguracionPreferencias.class) {
+            version = preferences.getLong(KEY_VERSION, 0) + 1;
+            SharedPreferences.Editor editor = preferences.edit();
+            putDouble(editor, KEY_PRODUCCION_PANEL, nueva.getProduccionPanel());
+            putDouble(editor, KEY_POTENCIA_PANEL, nueva.getPotenciaPanel());
+            putDouble(editor, KEY_AREA_PANEL, nueva.getAreaPanel());
+            putDouble(editor, KEY_PRECIO_KWH, nueva.getPrecioKwh());
+            putDouble(editor, KEY_COSTO_PANEL, nueva.getCostoPanel());
+            editor.putLong(KEY_VERSION, version);
+            // La versión se publica antes del apply para que el listener no descarte la copia
+            versionInmutable = version;
+            inmutable = nueva;
+            editor.apply();
+        }
+        return nueva;
+    }
+    
+    /**
+     * Obtiene la producción diaria de un panel solar.
+     * 
+     * @return Producción en kWh/día
+     */
+    @Override
+    public double getProduccionPanel() {
+        return getDouble(KEY_PRODUCCION_PANEL, DEFAULT_PRODUCCION_PANEL);
+    }
+    
+    /**
+     * Establece la producción diaria de un panel solar.
+     * Para cambiar varias constantes, usar {@link #guardar} y escribir una sola vez.
+     * 
+     * @param produccion Producción en kWh/día
+     */
+    public void setProduccionPanel(double produccion) {
+        ConfiguracionInmutable actual = getConfiguracionInmutable();
+        guardar(produccion, actual.getPotenciaPanel(), actual.getAreaPanel(),
+                actual.getPrecioKwh(), actual.getCostoPanel());
+    }
+    
+    /**
+     * Obtiene la potencia nominal de un panel solar.
+     * 
+     * @return Potencia en Watts
+     */
+    @Override
+    public double getPotenciaPanel() {
+        return getDouble(KEY_POTENCIA_PANEL, DEFAULT_POTENCIA_PANEL);
+    }
+    
+    /**
+     * Establece la potencia nominal de un panel solar.
+     * 
+     * @param potencia Potencia en Watts
+     */
+    public void setPotenciaPanel(double potencia) {
+        ConfiguracionInmutable actual = getConfiguracionInmutable();
+        guardar(actual.getProduccionPanel(), potencia, actual.getAreaPanel(),
+                actual.getPrecioKwh(), actual.getCostoPanel());
+    }
+    
+    /**
+     * Obtiene el área de un panel solar.
+     * 
+     * @return Área en m²
+     */
+    @Override
+    public double getAreaPanel() {
+        return getDouble(KEY_AREA_PANEL, DEFAULT_AREA_PANEL);
+    }
+    
+    /**
+     * Establece el área de un panel solar.
+     * 
+     * @param area Área en m²
+     */
+    public void setAreaPanel(double area) {
+        ConfiguracionInmutable actual = getConfiguracionInmutable();
+        guardar(actual.getProduccionPanel(), actual.getPotenciaPanel(), area,
+                actual.getPrecioKwh(), actual.getCostoPanel());
+    }
+    
+    /**
+     * Obtiene el precio del kWh de energía eléctrica.
+     * 
+     * @return Precio en COP
+     */
+    @Override
+    public double getPrecioKwh() {
+        return getDouble(KEY_PRECIO_KWH, DEFAULT_PRECIO_KWH);
+    }
+    
+    /**
+     * Establece el precio del kWh de energía eléctrica.
+     * 
+     * @param precio Precio en COP
+     */
+    public void setPrecioKwh(double precio) {
+        ConfiguracionInmutable actual = getConfiguracionInmutable();
+        guardar(actual.getProduccionPanel(), actual.getPotenciaPanel(), actual.getAreaPanel(),
+                precio, actual.getCostoPanel());
+    }
+    
+    /**
+     * Obtiene el costo de instalación por panel.
+     * 
+     * @return Costo en COP
+     */
+    @Override
+    public double getCostoPanel() {
+        return getDouble(KEY_COSTO_PANEL, DEFAULT_COSTO_PANEL);
+    }
+    
+    /**
+     * Establece el costo de instalación por panel.
+     * 
+     * @param costo Costo en COP
+     */
+    public void setCostoPanel(double costo) {
+        ConfiguracionInmutable actual = getConfiguracionInmutable();
+        guardar(actual.getProduccionPanel(), actual.getPotenciaPanel(), actual.getAreaPanel(),
+                actual.getPrecioKwh(), costo);
+    }
+    
+    /**
+     * Restaura todos los valores a sus valores por defecto.
+     */
+    public void restaurarValoresPorDefecto() {
+        guardar(new ConfiguracionInmutable(
+            DEFAULT_PRODUCCION_PANEL,
+            DEFAULT_POTENCIA_PANEL,
+            DEFAULT_AREA_PANEL,
+            DEFAULT_PRECIO_KWH,
+            DEFAULT_COSTO_PANEL
+        ));
+    }
+    
+    /**
+     * Migra las preferencias del formato anterior, que guardaba cada valor como float,
+     * la primera vez que se leen en el proceso. Los valores se convierten en una sola
+     * transacción que también fija la versión 1.
+     */
+    private void verificarFormato() {
+        if (formatoVerificado) {
+            return;
+        }
+        synchronized (ConfiguracionPreferencias.class) {
+            if (!formatoVerificado && !preferences.contains(KEY_VERSION)) {
+                Map<String, ?> valores = preferences.getAll();
+                SharedPreferences.Editor editor = null;
+                for (String key : KEYS_VALORES) {
+                    Object valor = valores.get(key);
+                    if (valor instanceof Float) {
+                        if (editor == null) {
+                            editor = preferences.edit();
+                        }
+                        // Float.toString da el decimal más corto que produce ese float
+                        // (2.2f -> "2.2"), que es el valor que escribió el usuario
+                        putDouble(editor, key, Double.parseDouble(Float.toString((Float) valor)));
+                    }
+                }
+                if (editor != null) {
+                    editor.putLong(KEY_VERSION, 1);
+                    editor.apply();
+                }
+            }
+            formatoVerificado = true;
+        }
+    }
+    
+    /**
+     * Método auxiliar para obtener un double de SharedPreferences.
+     * SharedPreferences no soporta double directamente: se guardan sus bits en un long.
+     * 
+     * @param key Clave del valor
+     * @param defaultValue Valor por defecto
+     * @return Valor almacenado o valor por defecto
+     */
+    private double getDouble(String key, double defaultValue) {
+        verificarFormato();
+        return Double.longBitsToDouble(preferences.getLong(key, Double.doubleToRawLongBits(defaultValue)));
+    }
+    
+    /**
+     * Método auxiliar para escribir un double en una transacción sin perder precisión.
+     * 
+     * @param editor Transacción abierta
+     * @param key Clave del valor
+     * @param value Valor a guardar
+     */
+    private static void putDouble(SharedPreferences.Editor editor, String key, double value) {
+        editor.putLong(key, Double.doubleToRawLongBits(value));
+    }
+}
@@ -0,0 +1,302 @@
+package com.solarcalculator.app.ui;
+
+import android.os.Bundle;
+import android.text.InputType;
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.textfield.TextInputEditText;
+import com.solarcalculator.app.AplicacionSolar;
+import com.solarcalculator.app.R;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Escenario;
+import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.utils.CatalogoPaneles;
+import com.solarcalculator.app.utils.ParserNumeros;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Actividad que compara varios escenarios (consumo, panel y tarifa) en una lista.
+ * Tocar un escenario lo edita; mantenerlo presionado lo elimina. También puede agregarse
+ * el escenario con el panel del catálogo que cubre el consumo al menor costo.
+ *
+ * <p>La lista es inmutable: cada cambio crea una lista nueva y el adapter calcula la
+ * diferencia con DiffUtil, así que solo se vuelven a enlazar las filas que cambiaron,
+ * aunque haya cientos de escenarios. La lista vive en un {@link EscenariosViewModel},
+ * así que sobrevive a la recreación de la actividad.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ComparacionEscenariosActivity extends AppCompatActivity {
+
+    /** Extra opcional con el consumo del escenario inicial. */
+    public static final String EXTRA_CONSUMO = "consumo";
+
+    // Límites de validación (los mismos de las demás pantallas)
+    private static final double MAX_CONSUMO_KWH = 100000.0;
+    private static final double MAX_POTENCIA_W = 10000.0;
+    private static final double MAX_COSTO_PANEL = 100000000.0;
+    private static final double MAX_PRECIO_KWH = 10000.0;
+    private static final double MAX_AREA_M2 = 100000.0;
+    
+    // La primera consulta al catálogo lee y ordena el archivo: fuera del hilo principal
+    private static final ExecutorService CATALOGO = MainActivity.crearPool(1, "catalogo-paneles");
+
+    private EscenariosViewModel estado;
+    private EscenariosAdapter adapter;
+    private final ParserNumeros parser = new ParserNumeros();
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_comparacion_escenarios);
+        setTitle(R.string.titulo_comparacion);
+        estado = new ViewModelProvider(this).get(EscenariosViewModel.class);
+
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+        }
+
+        // Lista con filas recicladas
+        RecyclerView rvEscenarios = findViewById(R.id.rvEscenarios);
+        rvEscenarios.setLayoutManager(new LinearLayoutManager(this));
+        rvEscenarios.setHasFixedSize(true);
+        adapter = new EscenariosAdapter(new EscenariosAdapter.AlSeleccionar() {
+            @Override
+            public void alTocar(Escenario escenario) {
+                mostrarDialogoEscenario(escenario);
+            }
+
+            @Override
+            public void alMantener(Escenario escenario) {
+                confirmarEliminar(escenario);
+            }
+        });
+        rvEscenarios.setAdapter(adapter);
+
+        findViewById(R.id.btnAgregarEscenario).setOnClickListener(v -> mostrarDialogoEscenario(null));
+        findViewById(R.id.btnEscenarioCatalogo).setOnClickListener(v -> mostrarDialogoCatalogo());
+
+        // Escenario inicial con el consumo del resultado y la configuración actual
+        double consumo = getIntent().getDoubleExtra(EXTRA_CONSUMO, 0);
+        ConfiguracionInmutable actual = AplicacionSolar.de(this).getInstantanea();
+        if (estado.getEscenarios().isEmpty() && consumo > 0 && actual != null) {
+            List<Escenario> nueva = new ArrayList<>();
+            nueva.add(new Escenario(estado.nuevoId(), getString(R.string.nombre_escenario_actual),
+                    consumo, actual, CalculadoraSolar.calcular(consumo, actual)));
+            estado.setEscenarios(nueva);
+        }
+        adapter.submitList(estado.getEscenarios());
+    }
+
+    /**
+     * Muestra el diálogo para crear (escenario == null) o editar un escenario.
+     * Un escenario nuevo parte del último de la lista.
+     */
+    private void mostrarDialogoEscenario(Escenario escenario) {
+        List<Escenario> escenarios = estado.getEscenarios();
+        Escenario base = escenario;
+        if (base == null && !escenarios.isEmpty()) {
+            base = escenarios.get(escenarios.size() - 1);
+        }
+        final ConfiguracionInmutable configuracionBase = base != null
+                ? base.getConfiguracion() : AplicacionSolar.de(this).getInstantanea();
+        if (configuracionBase == null) {
+            return; // La configuración aún se está cargando
+        }
+
+        View vista = LayoutInflater.from(this).inflate(R.layout.dialog_escenario, null);
+        TextInputEditText etNombre = vista.findViewById(R.id.etNombreEscenario);
+        TextInputEditText etConsumo = vista.findViewById(R.id.etConsumoEscenario);
+        TextInputEditText etPotencia = vista.findViewById(R.id.etPotenciaEscenario);
+        TextInputEditText etCosto = vista.findViewById(R.id.etCostoEscenario);
+        TextInputEditText etPrecio = vista.findViewById(R.id.etPrecioEscenario);
+
+        etNombre.setText(escenario != null
+                ? escenario.getNombre() : getString(R.string.nombre_escenario, estado.getSiguienteId()));
+        if (base != null) {
+            etConsumo.setText(String.valueOf(base.getConsumoMensual()));
+        }
+        etPotencia.setText(String.valueOf(configuracionBase.getPotenciaPanel()));
+        etCosto.setText(String.valueOf(configuracionBase.getCostoPanel()));
+        etPrecio.setText(String.valueOf(configuracionBase.getPrecioKwh()));
+
+        AlertDialog dialogo = new AlertDialog.Builder(this)
+                .setTitle(escenario != null ? R.string.titulo_editar_escenario : R.string.titulo_nuevo_escenario)
+                .setView(vista)
+                .setPositiveButton(R.string.boton_guardar_escenario, null)
+                .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss())
+                .create();
+
+        // El botón positivo se reemplaza para no cerrar el diálogo si hay errores
+        dialogo.setOnShowListener(d -> dialogo.getButton(AlertDialog.BUTTON_POSITIVE).setOnClickListener(v -> {
+            TextInputEditText[] campos = {etConsumo, etPotencia, etCosto, etPrecio};
+            double[] maximos = {MAX_CONSUMO_KWH, MAX_POTENCIA_W, MAX_COSTO_PANEL, MAX_PRECIO_KWH};
+            double[] valores = new double[campos.length];
+            for (int i = 0; i < campos.length; i++) {
+                int resultado = parser.parsear(campos[i].getText());
+                valores[i] = parser.getValor();
+                if (resultado != ParserNumeros.VALIDO || valores[i] <= 0 || valores[i] > maximos[i]) {
+                    campos[i].setError(getString(R.string.error_valor_invalido));
+                    campos[i].requestFocus();
+                    return;
+                }
+            }
+
+            String nombre = etNombre.getText() != null ? etNombre.getText().toString().trim() : "";
+            long id = escenario != null ? escenario.getId() : estado.nuevoId();
+            if (TextUtils.isEmpty(nombre)) {
+                nombre = getString(R.string.nombre_escenario, id);
+            }
+            guardarEscenario(crearEscenario(id, nombre, valores[0], valores[1], valores[2], valores[3],
+                    configuracionBase));
+            dialogo.dismiss();
+        }));
+        dialogo.show();
+    }
+
+    /**
+     * Pide el área disponible y agrega un escenario con el panel del catálogo que cubre
+     * el consumo del último escenario al menor costo de instalación.
+     */
+    private void mostrarDialogoCatalogo() {
+        List<Escenario> escenarios = estado.getEscenarios();
+        if (escenarios.isEmpty()) {
+            mostrarDialogoEscenario(null); // Sin consumo de referencia: crear uno primero
+            return;
+        }
+        Escenario base = escenarios.get(escenarios.size() - 1);
+        EditText etArea = new EditText(this);
+        etArea.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_DECIMAL);
+        etArea.setText(String.valueOf(base.getCalculos().getAreaRequerida()));
+        
+        AlertDialog dialogo = new AlertDialog.Builder(this)
+                .setTitle(R.string.titulo_escenario_catalogo)
+                .setView(etArea)
+                .setPositiveButton(R.string.boton_guardar_escenario, null)
+                .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss())
+                .create();
+        dialogo.setOnShowListener(d -> dialogo.getButton(AlertDialog.BUTTON_POSITIVE).setOnClickListener(v -> {
+            double area = parser.parsear(etArea.getText()) == ParserNumeros.VALIDO ? parser.getValor() : 0;
+            if (area <= 0 || area > MAX_AREA_M2) {
+                etArea.setError(getString(R.string.error_valor_invalido));
+                return;
+            }
+            dialogo.dismiss();
+            agregarDesdeCatalogo(base, area);
+        }));
+        dialogo.show();
+    }
+    
+    /**
+     * Busca el panel en segundo plano y publica el escenario en el hilo principal.
+     */
+    private void agregarDesdeCatalogo(Escenario base, double areaMaxima) {
+        AplicacionSolar aplicacion = AplicacionSolar.de(this);
+        double consumo = base.getConsumoMensual();
+        double precioKwh = base.getConfiguracion().getPrecioKwh();
+        CATALOGO.execute(() -> {
+            String nombre = null;
+            ConfiguracionInmutable configuracion = null;
+            int mensaje = 0;
+            try {
+                CatalogoPaneles catalogo = aplicacion.getCatalogo();
+                int modelo = catalogo.masBaratoQueCubre(consumo, areaMaxima);
+                if (modelo < 0) {
+                    mensaje = R.string.mensaje_sin_panel_catalogo;
+                } else {
+                    nombre = catalogo.getNombre(modelo);
+                    configuracion = catalogo.configuracionPara(modelo, precioKwh);
+                }
+            } catch (IOException e) {
+                mensaje = R.string.error_catalogo;
+            }
+            String nombreModelo = nombre;
+            ConfiguracionInmutable configuracionModelo = configuracion;
+            int aviso = mensaje;
+            MainActivity.HILO_PRINCIPAL.post(() -> {
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                if (configuracionModelo == null) {
+                    Toast.makeText(this, aviso, Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                // El id se asigna aquí: el estado solo se usa en el hilo principal
+                guardarEscenario(new Escenario(estado.nuevoId(), nombreModelo, consumo, configuracionModelo,
+                        CalculadoraSolar.calcular(consumo, configuracionModelo)));
+            });
+        });
+    }
+    
+    /**
+     * Crea un escenario y calcula su resultado. La producción diaria del panel se ajusta
+     * en proporción a la potencia; el área por panel se conserva.
+     */
+    private static Escenario crearEscenario(long id, String nombre, double consumoMensual,
+                                            double potenciaPanel, double costoPanel, double precioKwh,
+                                            ConfiguracionInmutable base) {
+        double produccionPanel = base.getProduccionPanel() * potenciaPanel / base.getPotenciaPanel();
+        ConfiguracionInmutable configuracion = new ConfiguracionInmutable(
+                produccionPanel, potenciaPanel, base.getAreaPanel(), precioKwh, costoPanel);
+        return new Escenario(id, nombre, consumoMensual, configuracion,
+                CalculadoraSolar.calcular(consumoMensual, configuracion));
+    }
+
+    /**
+     * Agrega el escenario o reemplaza el que tenga su mismo id, y publica una lista nueva.
+     */
+    private void guardarEscenario(Escenario escenario) {
+        List<Escenario> nueva = estado.copiar();
+        int posicion = estado.buscar(escenario.getId());
+        if (posicion >= 0) {
+            nueva.set(posicion, escenario);
+        } else {
+            nueva.add(escenario);
+        }
+        publicar(nueva);
+    }
+
+    /**
+     * Pide confirmación y elimina un escenario.
+     */
+    private void confirmarEliminar(Escenario escenario) {
+        new AlertDialog.Builder(this)
+                .setTitle(escenario.getNombre())
+                .setPositiveButton(R.string.boton_eliminar_escenario, (d, which) -> {
+                    int posicion = estado.buscar(escenario.getId());
+                    if (posicion >= 0) {
+                        List<Escenario> nueva = estado.copiar();
+                        nueva.remove(posicion);
+                        publicar(nueva);
+                    }
+                })
+                .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss())
+                .show();
+    }
+
+    private void publicar(List<Escenario> nueva) {
+        estado.setEscenarios(nueva);
+        adapter.submitList(estado.getEscenarios());
+    }
+
+    @Override
+    public boolean onSupportNavigateUp() {
+        finish();
+        return true;
+    }
+}
@@ -1,25 +1,37 @@
 package com.solarcalculator.app.ui;
 
 import android.os.Bundle;
+import android.widget.EditText;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.textfield.TextInputEditText;
+import com.solarcalculator.app.AplicacionSolar;
 import com.solarcalculator.app.R;
-import com.solarcalculator.app.model.Configuracion;
-import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ConfiguracionPreferencias;
+import com.solarcalculator.app.utils.ParserNumeros;
+import com.solarcalculator.app.utils.PerfilesConfiguracion;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Actividad para configurar los parámetros avanzados del sistema solar.
- * Permite al usuario ajustar las constantes utilizadas en los cálculos.
+ * Permite al usuario ajustar las constantes utilizadas en los cálculos y guardarlas o
+ * aplicarlas como perfiles con nombre ({@link PerfilesConfiguracion}).
  * 
  * @author SolarCalculatorApp
  * @version 1.0
  */
 public class ConfiguracionActivity extends AppCompatActivity {
     
+    // Lecturas y escrituras del archivo de perfiles, fuera del hilo principal
+    private static final ExecutorService ARCHIVO_PERFILES = MainActivity.crearPool(1, "perfiles");
+    
     // Vistas
     private TextInputEditText etProduccionPanel;
     private TextInputEditText etPotenciaPanel;
@@ -28,7 +40,9 @@ public class ConfiguracionActivity extends AppCompatActivity {
     private TextInputEditText etCostoPanel;
     
     // Modelo
-    private Configuracion configuracion;
+    private ConfiguracionPreferencias configuracion;
+    private final ParserNumeros parser = new ParserNumeros();
+    private final Runnable tareaCargarValores = this::cargarValoresActuales;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,14 +54,14 @@ public class ConfiguracionActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
         
-        // Inicializar configuración
-        configuracion = new Configuracion(this);
+        // Configuración compartida
+        configuracion = AplicacionSolar.de(this).getConfiguracion();
         
         // Inicializar vistas
         inicializarVistas();
         
-        // Cargar valores actuales
-        cargarValoresActuales();
+        // Cargar valores actuales cuando la carga en segundo plano termine (sin leer el disco aquí)
+        AplicacionSolar.de(this).alCargarConfiguracion(tareaCargarValores);
         
         // Configurar listeners
         configurarListeners();
@@ -84,76 +98,209 @@ public class ConfiguracionActivity extends AppCompatActivity {
         
         // Botón restaurar
         findViewById(R.id.btnRestaurar).setOnClickListener(v -> mostrarDialogoRestaurar());
+        
+        // Botón perfiles
+        findViewById(R.id.btnPerfiles).setOnClickListener(v -> mostrarDialogoPerfiles());
     }
     
     /**
      * Valida y guarda la configuración.
      */
     private void guardarConfiguracion() {
-        try {
-            // Obtener y validar valores
-            String strProduccion = etProduccionPanel.getText().toString();
-            String strPotencia = etPotenciaPanel.getText().toString();
-            String strArea = etAreaPanel.getText().toString();
-            String strPrecio = etPrecioKwh.getText().toString();
-            String strCosto = etCostoPanel.getText().toString();
+        ConfiguracionInmutable nueva = leerCampos();
+        if (nueva == null) {
+            return;
+        }
+        
+        // Guardar configuración (una sola escritura)
+        configuracion.guardar(nueva);
+        
+        // Mostrar confirmación
+        Toast.makeText(this, R.string.mensaje_guardado, Toast.LENGTH_SHORT).show();
+        
+        // Volver a la pantalla anterior
+        finish();
+    }
+    
+    /**
+     * Lee y valida los cinco campos.
+     * 
+     * @return Las constantes ingresadas, o null si algún campo es inválido (ya se avisó)
+     */
+    private ConfiguracionInmutable leerCampos() {
+        TextInputEditText[] campos = {
+            etProduccionPanel, etPotenciaPanel, etAreaPanel, etPrecioKwh, etCostoPanel
+        };
+        double[] valores = new double[campos.length];
+        boolean hayInvalidos = false;
+        
+        // Parsear valores (una sola pasada por campo, sin excepciones)
+        for (int i = 0; i < campos.length; i++) {
+            int resultado = parser.parsear(campos[i].getText());
             
             // Validar que todos los campos estén llenos
-            if (strProduccion.isEmpty() || strPotencia.isEmpty() || strArea.isEmpty() ||
-                strPrecio.isEmpty() || strCosto.isEmpty()) {
+            if (resultado == ParserNumeros.ERROR_VACIO) {
                 Toast.makeText(this, "Por favor completa todos los campos", Toast.LENGTH_SHORT).show();
-                return;
+                return null;
             }
-            
-            // Parsear valores
-            double produccion = CalculadoraSolar.parseDouble(strProduccion);
-            double potencia = CalculadoraSolar.parseDouble(strPotencia);
-            double area = CalculadoraSolar.parseDouble(strArea);
-            double precio = CalculadoraSolar.parseDouble(strPrecio);
-            double costo = CalculadoraSolar.parseDouble(strCosto);
-            
-            // Validar rangos
-            if (produccion <= 0 || produccion > 100) {
-                Toast.makeText(this, "Producción debe estar entre 0 y 100 kWh/día", Toast.LENGTH_SHORT).show();
-                return;
+            if (resultado != ParserNumeros.VALIDO) {
+                hayInvalidos = true;
             }
-            
-            if (potencia <= 0 || potencia > 10000) {
-                Toast.makeText(this, "Potencia debe estar entre 0 y 10,000 W", Toast.LENGTH_SHORT).show();
-                return;
-            }
-            
-            if (area <= 0 || area > 100) {
-                Toast.makeText(this, "Área debe estar entre 0 y 100 m²", Toast.LENGTH_SHORT).show();
-                return;
-            }
-            
-            if (precio <= 0 || precio > 10000) {
-                Toast.makeText(this, "Precio kWh debe estar entre 0 y 10,000 COP", Toast.LENGTH_SHORT).show();
-                return;
-            }
-            
-            if (costo <= 0 || costo > 100000000) {
-                Toast.makeText(this, "Costo del panel debe estar entre 0 y 100,000,000 COP", Toast.LENGTH_SHORT).show();
-                return;
-            }
-            
-            // Guardar configuración
-            configuracion.setProduccionPanel(produccion);
-            configuracion.setPotenciaPanel(potencia);
-            configuracion.setAreaPanel(area);
-            configuracion.setPrecioKwh(precio);
-            configuracion.setCostoPanel(costo);
-            
-            // Mostrar confirmación
-            Toast.makeText(this, R.string.mensaje_guardado, Toast.LENGTH_SHORT).show();
-            
-            // Volver a la pantalla anterior
-            finish();
-            
-        } catch (NumberFormatException e) {
+            valores[i] = parser.getValor();
+        }
+        
+        if (hayInvalidos) {
             Toast.makeText(this, "Por favor ingresa valores numéricos válidos", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        
+        double produccion = valores[0];
+        double potencia = valores[1];
+        double area = valores[2];
+        double precio = valores[3];
+        double costo = valores[4];
+        
+        // Validar rangos
+        if (produccion <= 0 || produccion > 100) {
+            Toast.makeText(this, "Producción debe estar entre 0 y 100 kWh/día", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        
+        if (potencia <= 0 || potencia > 10000) {
+            Toast.makeText(this, "Potencia debe estar entre 0 y 10,000 W", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        
+        if (area <= 0 || area > 100) {
+            Toast.makeText(this, "Área debe estar entre 0 y 100 m²", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        
+        if (precio <= 0 || precio > 10000) {
+            Toast.makeText(this, "Precio kWh debe estar entre 0 y 10,000 COP", Toast.LENGTH_SHORT).show();
+            return null;
         }
+        
+        if (costo <= 0 || costo > 100000000) {
+            Toast.makeText(this, "Costo del panel debe estar entre 0 y 100,000,000 COP", Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        
+        return new ConfiguracionInmutable(produccion, potencia, area, precio, costo);
+    }
+    
+    /**
+     * Lee la lista de perfiles en segundo plano y la muestra. Tocar un perfil lo aplica.
+     */
+    private void mostrarDialogoPerfiles() {
+        PerfilesConfiguracion perfiles = AplicacionSolar.de(this).getPerfiles();
+        ARCHIVO_PERFILES.execute(() -> {
+            List<String> nombres;
+            try {
+                nombres = perfiles.getNombres();
+            } catch (IOException e) {
+                nombres = null;
+            }
+            List<String> leidos = nombres;
+            MainActivity.HILO_PRINCIPAL.post(() -> {
+                if (isFinishing() || isDestroyed()) {
+                    return;
+                }
+                if (leidos == null) {
+                    Toast.makeText(this, R.string.error_perfiles, Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                String[] opciones = leidos.toArray(new String[0]);
+                AlertDialog.Builder builder = new AlertDialog.Builder(this)
+                        .setTitle(R.string.titulo_perfiles)
+                        .setPositiveButton(R.string.boton_nuevo_perfil, (d, which) -> mostrarDialogoNuevoPerfil())
+                        .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss());
+                if (opciones.length == 0) {
+                    builder.setMessage(R.string.sin_perfiles);
+                } else {
+                    builder.setItems(opciones, (d, which) -> aplicarPerfil(perfiles, opciones[which]))
+                            .setNeutralButton(R.string.boton_eliminar_perfil,
+                                    (d, which) -> mostrarDialogoEliminarPerfil(perfiles, opciones));
+                }
+                builder.show();
+            });
+        });
+    }
+    
+    /**
+     * Aplica un perfil: sus constantes (ya en memoria) reemplazan la configuración actual
+     * con una sola escritura.
+     */
+    private void aplicarPerfil(PerfilesConfiguracion perfiles, String nombre) {
+        ConfiguracionInmutable perfil;
+        try {
+            perfil = perfiles.obtener(nombre); // La lista ya cargó el archivo: no lee el disco
+        } catch (IOException e) {
+            perfil = null;
+        }
+        if (perfil == null) {
+            Toast.makeText(this, R.string.error_perfiles, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        configuracion.guardar(perfil);
+        cargarValoresActuales();
+        Toast.makeText(this, getString(R.string.mensaje_perfil_aplicado, nombre), Toast.LENGTH_SHORT).show();
+    }
+    
+    /**
+     * Pide un nombre y guarda los valores de los campos como perfil.
+     */
+    private void mostrarDialogoNuevoPerfil() {
+        ConfiguracionInmutable valores = leerCampos();
+        if (valores == null) {
+            return;
+        }
+        EditText etNombre = new EditText(this);
+        etNombre.setSingleLine(true);
+        etNombre.setHint(R.string.hint_nombre_perfil);
+        
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.boton_nuevo_perfil)
+                .setView(etNombre)
+                .setPositiveButton(R.string.boton_guardar_perfil, (d, which) -> {
+                    String nombre = etNombre.getText().toString().trim();
+                    if (nombre.isEmpty()) {
+                        return;
+                    }
+                    PerfilesConfiguracion perfiles = AplicacionSolar.de(this).getPerfiles();
+                    ARCHIVO_PERFILES.execute(() -> {
+                        int mensaje;
+                        try {
+                            perfiles.guardar(nombre, valores);
+                            mensaje = R.string.mensaje_perfil_guardado;
+                        } catch (IOException | IllegalArgumentException e) {
+                            mensaje = R.string.error_perfiles;
+                        }
+                        int resultado = mensaje;
+                        MainActivity.HILO_PRINCIPAL.post(() -> Toast.makeText(getApplicationContext(),
+                                resultado, Toast.LENGTH_SHORT).show());
+                    });
+                })
+                .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss())
+                .show();
+    }
+    
+    /**
+     * Muestra la lista de perfiles para elegir cuál eliminar.
+     */
+    private void mostrarDialogoEliminarPerfil(PerfilesConfiguracion perfiles, String[] nombres) {
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.boton_eliminar_perfil)
+                .setItems(nombres, (d, which) -> ARCHIVO_PERFILES.execute(() -> {
+                    try {
+                        perfiles.eliminar(nombres[which]);
+                    } catch (IOException e) {
+                        MainActivity.HILO_PRINCIPAL.post(() -> Toast.makeText(getApplicationContext(),
+                                R.string.error_perfiles, Toast.LENGTH_SHORT).show());
+                    }
+                }))
+                .setNegativeButton(R.string.boton_cancelar, (d, which) -> d.dismiss())
+                .show();
     }
     
     /**
@@ -175,6 +322,12 @@ public class ConfiguracionActivity extends AppCompatActivity {
         builder.create().show();
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        AplicacionSolar.de(this).quitarAlCargarConfiguracion(tareaCargarValores);
+    }
+    
     @Override
     public boolean onSupportNavigateUp() {
         finish();
@@ -0,0 +1,121 @@
+package com.solarcalculator.app.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.solarcalculator.app.R;
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Escenario;
+import com.solarcalculator.app.utils.FormatoUtils;
+
+/**
+ * Adapter de la comparación de escenarios. Cada lista nueva se compara con la anterior
+ * con DiffUtil (en un hilo de fondo, vía ListAdapter), así que al agregar o editar un
+ * escenario solo se crean, mueven o vuelven a enlazar las filas que cambiaron.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EscenariosAdapter extends ListAdapter<Escenario, EscenariosAdapter.EscenarioViewHolder> {
+
+    /**
+     * Recibe los toques sobre un escenario.
+     */
+    public interface AlSeleccionar {
+        void alTocar(Escenario escenario);
+
+        void alMantener(Escenario escenario);
+    }
+
+    private static final DiffUtil.ItemCallback<Escenario> DIFERENCIA = new DiffUtil.ItemCallback<Escenario>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Escenario anterior, @NonNull Escenario nuevo) {
+            return anterior.getId() == nuevo.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Escenario anterior, @NonNull Escenario nuevo) {
+            return anterior.mismoContenido(nuevo);
+        }
+    };
+
+    private final AlSeleccionar alSeleccionar;
+
+    public EscenariosAdapter(AlSeleccionar alSeleccionar) {
+        super(DIFERENCIA);
+        this.alSeleccionar = alSeleccionar;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @NonNull
+    @Override
+    public EscenarioViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View vista = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_escenario, parent, false);
+        return new EscenarioViewHolder(vista);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EscenarioViewHolder holder, int position) {
+        holder.enlazar(getItem(position));
+    }
+
+    /**
+     * Fila de un escenario; las vistas se buscan una sola vez al crearla.
+     */
+    class EscenarioViewHolder extends RecyclerView.ViewHolder {
+        private final TextView tvNombre;
+        private final TextView tvEntradas;
+        private final TextView tvPaneles;
+        private final TextView tvCosto;
+        private final TextView tvAhorro;
+        private final TextView tvRetorno;
+        private Escenario escenario;
+
+        EscenarioViewHolder(@NonNull View vista) {
+            super(vista);
+            tvNombre = vista.findViewById(R.id.tvNombreEscenario);
+            tvEntradas = vista.findViewById(R.id.tvEntradasEscenario);
+            tvPaneles = vista.findViewById(R.id.tvPanelesEscenario);
+            tvCosto = vista.findViewById(R.id.tvCostoEscenario);
+            tvAhorro = vista.findViewById(R.id.tvAhorroEscenario);
+            tvRetorno = vista.findViewById(R.id.tvRetornoEscenario);
+
+            vista.setOnClickListener(v -> alSeleccionar.alTocar(escenario));
+            vista.setOnLongClickListener(v -> {
+                alSeleccionar.alMantener(escenario);
+                return true;
+            });
+        }
+
+        void enlazar(Escenario escenario) {
+            this.escenario = escenario;
+            ConfiguracionInmutable config = escenario.getConfiguracion();
+            CalculosSolares calculos = escenario.getCalculos();
+
+            tvNombre.setText(escenario.getNombre());
+            tvEntradas.setText(itemView.getContext().getString(R.string.entradas_escenario,
+                    FormatoUtils.formatearEnergia(escenario.getConsumoMensual()),
+                    FormatoUtils.formatearDecimal(config.getPotenciaPanel(), 0),
+                    FormatoUtils.formatearMoneda(config.getPrecioKwh())));
+            tvPaneles.setText(itemView.getContext().getString(R.string.valor_paneles, calculos.getNumeroPaneles()));
+            tvCosto.setText(itemView.getContext().getString(R.string.valor_costo,
+                    FormatoUtils.formatearMoneda(calculos.getCostoInstalacion())));
+            tvAhorro.setText(itemView.getContext().getString(R.string.valor_ahorro,
+                    FormatoUtils.formatearMoneda(calculos.getAhorroMensual())));
+            tvRetorno.setText(FormatoUtils.formatearAnos(calculos.getRetornoInversion()));
+        }
+    }
+}
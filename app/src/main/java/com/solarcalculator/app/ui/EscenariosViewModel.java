@@ -0,0 +1,78 @@
+package com.solarcalculator.app.ui;
+
+import androidx.lifecycle.ViewModel;
+
+import com.solarcalculator.app.model.Escenario;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estado de {@link ComparacionEscenariosActivity}: la lista de escenarios y el próximo
+ * identificador. Sobrevive a la recreación de la actividad (por ejemplo, al rotar) y se
+ * descarta cuando el usuario sale de la pantalla.
+ *
+ * <p>La lista publicada es inmutable; cada cambio la reemplaza por una nueva. Solo se
+ * usa desde el hilo principal.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EscenariosViewModel extends ViewModel {
+
+    private List<Escenario> escenarios = Collections.emptyList();
+    private long siguienteId = 1;
+
+    /**
+     * Obtiene la lista actual de escenarios (no modificable).
+     */
+    public List<Escenario> getEscenarios() {
+        return escenarios;
+    }
+
+    /**
+     * Reemplaza la lista de escenarios.
+     *
+     * @param nueva Lista nueva; no debe modificarse después
+     */
+    public void setEscenarios(List<Escenario> nueva) {
+        escenarios = Collections.unmodifiableList(nueva);
+    }
+
+    /**
+     * Obtiene el identificador que recibirá el próximo escenario, sin reservarlo.
+     */
+    public long getSiguienteId() {
+        return siguienteId;
+    }
+
+    /**
+     * Reserva un identificador para un escenario nuevo.
+     */
+    public long nuevoId() {
+        return siguienteId++;
+    }
+
+    /**
+     * Busca la posición de un escenario.
+     *
+     * @param id Identificador del escenario
+     * @return Posición en la lista, o -1 si no está
+     */
+    public int buscar(long id) {
+        for (int i = 0; i < escenarios.size(); i++) {
+            if (escenarios.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Crea una copia modificable de la lista actual para construir la siguiente.
+     */
+    public List<Escenario> copiar() {
+        return new ArrayList<>(escenarios);
+    }
+}
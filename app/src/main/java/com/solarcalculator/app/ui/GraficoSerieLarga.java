@@ -0,0 +1,173 @@
+package com.solarcalculator.app.ui;
+
+import android.view.MotionEvent;
+
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
+import com.solarcalculator.app.utils.SubmuestreoSerie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Muestra una serie larga (por ejemplo, 8760 horas) en un LineChart dibujando solo
+ * tantos puntos como píxeles tiene el área del gráfico.
+ *
+ * <p>El gráfico nunca recibe la serie completa: recibe la ventana visible submuestreada
+ * con {@link SubmuestreoSerie#lttb}. Al hacer zoom o desplazarse, la ventana se
+ * reconstruye una vez por cuadro. Los puntos (Entry) y los arreglos intermedios se
+ * reservan una sola vez y se reutilizan, así redibujar no crea objetos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+class GraficoSerieLarga implements OnChartGestureListener {
+
+    // Puntos por píxel del área de datos; 1 basta para que la línea se vea continua
+    private static final float PUNTOS_POR_PIXEL = 1f;
+    private static final int PUNTOS_MINIMOS = 3;
+
+    private final LineChart grafico;
+    private final LineDataSet conjunto;
+    private final List<Entry> visibles = new ArrayList<>();
+    private final List<Entry> reserva = new ArrayList<>();
+    private final Runnable tareaReconstruir = this::reconstruir;
+    private boolean reconstruccionProgramada;
+
+    private double[] serie;
+    private float[] x = new float[0];
+    private float[] y = new float[0];
+
+    /**
+     * @param grafico Gráfico donde se dibuja la serie
+     * @param etiqueta Nombre del conjunto de datos
+     * @param color Color de la línea
+     */
+    GraficoSerieLarga(LineChart grafico, String etiqueta, int color) {
+        this.grafico = grafico;
+        // El conjunto conserva la referencia a la lista: basta con modificarla y notificar
+        this.conjunto = new LineDataSet(visibles, etiqueta);
+        conjunto.setColor(color);
+        conjunto.setLineWidth(1f);
+        conjunto.setDrawCircles(false);
+        conjunto.setDrawValues(false);
+        conjunto.setHighlightEnabled(false);
+
+        grafico.setData(new LineData(conjunto));
+        grafico.setOnChartGestureListener(this);
+        grafico.setScaleYEnabled(false);
+        grafico.getDescription().setEnabled(false);
+    }
+
+    /**
+     * Muestra una serie nueva completa (sin zoom). La serie no se copia.
+     *
+     * @param serie Valores; la coordenada x es el índice
+     */
+    void mostrar(double[] serie) {
+        this.serie = serie;
+        // Eje x fijo a toda la serie, aunque los datos sean solo la ventana visible
+        grafico.getXAxis().setAxisMinimum(0f);
+        grafico.getXAxis().setAxisMaximum(serie.length - 1);
+        grafico.fitScreen();
+        reconstruir();
+        if (grafico.getViewPortHandler().contentWidth() <= 0) {
+            // Aún sin medir: repetir cuando el gráfico tenga su ancho
+            grafico.post(tareaReconstruir);
+        }
+    }
+
+    /**
+     * Programa una reconstrucción para el siguiente cuadro; varias llamadas en el mismo
+     * cuadro se combinan en una.
+     */
+    private void programarReconstruccion() {
+        if (!reconstruccionProgramada) {
+            reconstruccionProgramada = true;
+            grafico.postOnAnimation(tareaReconstruir);
+        }
+    }
+
+    /**
+     * Submuestrea la ventana visible al ancho del gráfico y actualiza el conjunto.
+     */
+    private void reconstruir() {
+        reconstruccionProgramada = false;
+        if (serie == null || serie.length == 0) {
+            return;
+        }
+
+        // Ventana visible más un punto a cada lado para que la línea llegue a los bordes
+        int desde = Math.max(0, (int) Math.floor(grafico.getLowestVisibleX()) - 1);
+        int hasta = Math.min(serie.length, (int) Math.ceil(grafico.getHighestVisibleX()) + 2);
+        if (hasta - desde < 2) {
+            desde = 0;
+            hasta = serie.length;
+        }
+
+        float ancho = grafico.getViewPortHandler().contentWidth();
+        int puntos = Math.max(PUNTOS_MINIMOS, (int) (ancho * PUNTOS_POR_PIXEL));
+        if (x.length < puntos) {
+            x = new float[puntos];
+            y = new float[puntos];
+        }
+        int cantidad = SubmuestreoSerie.lttb(serie, desde, hasta, puntos, x, y);
+
+        // Reutilizar los Entry de la reserva
+        while (reserva.size() < cantidad) {
+            reserva.add(new Entry());
+        }
+        visibles.clear();
+        for (int i = 0; i < cantidad; i++) {
+            Entry entrada = reserva.get(i);
+            entrada.setX(x[i]);
+            entrada.setY(y[i]);
+            visibles.add(entrada);
+        }
+
+        conjunto.notifyDataSetChanged();
+        grafico.getData().notifyDataChanged();
+        grafico.notifyDataSetChanged();
+        grafico.invalidate();
+    }
+
+    @Override
+    public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+        programarReconstruccion();
+    }
+
+    @Override
+    public void onChartTranslate(MotionEvent me, float dX, float dY) {
+        programarReconstruccion();
+    }
+
+    @Override
+    public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        programarReconstruccion();
+    }
+
+    @Override
+    public void onChartDoubleTapped(MotionEvent me) {
+        programarReconstruccion();
+    }
+
+    @Override
+    public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+    }
+
+    @Override
+    public void onChartLongPressed(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartSingleTapped(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+    }
+}
@@ -2,8 +2,14 @@ package com.solarcalculator.app.ui;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
 import android.text.Html;
+import android.text.TextWatcher;
+import android.util.Log;
 import android.view.View;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AlertDialog;
@@ -11,10 +17,19 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
+import com.solarcalculator.app.AplicacionSolar;
 import com.solarcalculator.app.R;
 import com.solarcalculator.app.model.CalculosSolares;
 import com.solarcalculator.app.model.Configuracion;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.utils.CacheCalculos;
 import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.utils.EjecutorCalculos;
+import com.solarcalculator.app.utils.FormatoUtils;
+import com.solarcalculator.app.utils.ParserNumeros;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Actividad principal de la aplicación.
@@ -27,27 +42,92 @@ public class MainActivity extends AppCompatActivity {
 
     // Constantes
     private static final double MAX_CONSUMO_KWH = 100000.0; // Límite máximo de consumo
+    private static final long RETARDO_VISTA_PREVIA_MS = 250; // Pausa al escribir antes de recalcular
+
+    // Resultados recientes; se comparte entre instancias para sobrevivir a la recreación
+    private static final CacheCalculos CACHE_CALCULOS = new CacheCalculos(32);
+
+    // Cálculos en segundo plano; sobrevive a la recreación y entrega el resultado al vincularse
+    static final Handler HILO_PRINCIPAL = new Handler(Looper.getMainLooper());
+    private static final EjecutorCalculos<Integer> EJECUTOR =
+            new EjecutorCalculos<>(crearPool(2, "calculos"), HILO_PRINCIPAL::post);
+
+    // Vista previa mientras se escribe; un hilo basta porque cada solicitud cancela la anterior
+    private static final EjecutorCalculos<CalculosSolares> VISTA_PREVIA =
+            new EjecutorCalculos<>(crearPool(1, "vista-previa"), HILO_PRINCIPAL::post);
 
     // Vistas
     private TextInputLayout tilConsumo;
     private TextInputEditText etConsumo;
+    private View btnCalcular;
+    private TextView tvVistaPrevia;
 
     // Modelo
     private Configuracion configuracion;
+    private final ParserNumeros parser = new ParserNumeros();
+
+    // Estado de la vista previa
+    private volatile ConfiguracionInmutable instantanea;   // Se reutiliza entre pulsaciones
+    private double consumoVistaPrevia = Double.NaN;        // Último consumo enviado
+    private final Runnable tareaVistaPrevia = this::actualizarVistaPrevia;
+
+    // Recibe en el hilo principal el resultado del cálculo en segundo plano
+    private final EjecutorCalculos.Receptor<Integer> receptor =
+            new EjecutorCalculos.Receptor<Integer>() {
+        @Override
+        public void alProgresar(double fraccion) {
+            // El cálculo de forma cerrada no informa avance
+        }
+
+        @Override
+        public void alTerminar(Integer idResultado) {
+            btnCalcular.setEnabled(true);
+            mostrarResultados(idResultado);
+        }
+
+        @Override
+        public void alFallar(Exception error) {
+            btnCalcular.setEnabled(true);
+            Log.w("MainActivity", "Error en el cálculo", error);
+            Toast.makeText(MainActivity.this, R.string.error_calculo, Toast.LENGTH_SHORT).show();
+        }
+    };
+
+    // Recibe el resultado de la vista previa; solo se formatea el último
+    private final EjecutorCalculos.Receptor<CalculosSolares> receptorVistaPrevia =
+            new EjecutorCalculos.Receptor<CalculosSolares>() {
+        @Override
+        public void alProgresar(double fraccion) {
+        }
+
+        @Override
+        public void alTerminar(CalculosSolares calculos) {
+            mostrarVistaPrevia(calculos);
+        }
+
+        @Override
+        public void alFallar(Exception error) {
+            tvVistaPrevia.setVisibility(View.GONE);
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Inicializar configuración
-        configuracion = new Configuracion(this);
+        // Configuración compartida; la aplicación ya la está cargando en segundo plano
+        AplicacionSolar aplicacion = AplicacionSolar.de(this);
+        configuracion = aplicacion.getConfiguracion();
 
         // Inicializar vistas
         inicializarVistas();
 
         // Configurar listeners
         configurarListeners();
+
+        // Métrica de arranque: lo publicado aquí corre tras el primer recorrido de la vista
+        getWindow().getDecorView().post(() -> aplicacion.getMetricas().registrarPrimeraPantalla());
     }
 
     /**
@@ -56,6 +136,8 @@ public class MainActivity extends AppCompatActivity {
     private void inicializarVistas() {
         tilConsumo = findViewById(R.id.tilConsumo);
         etConsumo = findViewById(R.id.etConsumo);
+        btnCalcular = findViewById(R.id.btnCalcular);
+        tvVistaPrevia = findViewById(R.id.tvVistaPrevia);
     }
 
     /**
@@ -63,7 +145,24 @@ public class MainActivity extends AppCompatActivity {
      */
     private void configurarListeners() {
         // Botón calcular
-        findViewById(R.id.btnCalcular).setOnClickListener(v -> calcularSistema());
+        btnCalcular.setOnClickListener(v -> calcularSistema());
+
+        // Vista previa: cada cambio reinicia la espera, así solo se calcula al pausar
+        etConsumo.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                HILO_PRINCIPAL.removeCallbacks(tareaVistaPrevia);
+                HILO_PRINCIPAL.postDelayed(tareaVistaPrevia, RETARDO_VISTA_PREVIA_MS);
+            }
+        });
 
         // Botón configuración
         findViewById(R.id.btnConfiguracion).setOnClickListener(v -> abrirConfiguracion());
@@ -77,50 +176,110 @@ public class MainActivity extends AppCompatActivity {
 
     /**
      * Valida el input y calcula el sistema solar.
+     * El texto se convierte en una sola pasada, sin excepciones para valores inválidos;
+     * la lectura de la configuración, el cálculo y el guardado van en segundo plano.
      */
     private void calcularSistema() {
-        String inputConsumo = etConsumo.getText().toString().trim();
+        int resultado = parser.parsear(etConsumo.getText());
 
         // Validar campo vacío
-        if (inputConsumo.isEmpty()) {
+        if (resultado == ParserNumeros.ERROR_VACIO) {
             tilConsumo.setError(getString(R.string.error_campo_vacio));
             etConsumo.requestFocus();
             return;
         }
 
-        // Limpiar error previo
-        tilConsumo.setError(null);
-
-        // Validar que sea un número válido
-        if (!CalculadoraSolar.esValorValido(inputConsumo)) {
+        // Validar que sea un número válido y positivo
+        double consumoMensual = parser.getValor();
+        if (resultado != ParserNumeros.VALIDO || consumoMensual <= 0) {
             tilConsumo.setError(getString(R.string.error_valor_invalido));
             etConsumo.requestFocus();
             return;
         }
 
-        try {
-            // Parsear el valor
-            double consumoMensual = CalculadoraSolar.parseDouble(inputConsumo);
+        // Validar rango
+        if (consumoMensual > MAX_CONSUMO_KWH) {
+            tilConsumo.setError(getString(R.string.error_valor_muy_grande));
+            etConsumo.requestFocus();
+            return;
+        }
+
+        // Limpiar error previo
+        tilConsumo.setError(null);
+
+        // Realizar cálculo (reemplaza a uno anterior que no haya terminado)
+        final Configuracion config = configuracion;
+        final AplicacionSolar aplicacion = AplicacionSolar.de(this);
+        btnCalcular.setEnabled(false);
+        EJECUTOR.enviar(progreso -> {
+            // Una sola instantánea: el historial guarda la configuración que produjo el resultado
+            ConfiguracionInmutable constantes = config.getConfiguracionInmutable();
+            CalculosSolares calculos = CACHE_CALCULOS.calcular(consumoMensual, constantes);
+
+            // Guardar en el repositorio (y en el historial); la pantalla de resultados recibe solo el id
+            return aplicacion.getRepositorio().guardar(calculos, constantes);
+        });
+    }
 
-            // Validar rango
-            if (consumoMensual > MAX_CONSUMO_KWH) {
-                tilConsumo.setError(getString(R.string.error_valor_muy_grande));
-                etConsumo.requestFocus();
-                return;
+    /**
+     * Calcula la vista previa del consumo escrito. Un valor inválido la oculta sin
+     * mostrar errores; un valor igual al último enviado no se recalcula.
+     */
+    private void actualizarVistaPrevia() {
+        int resultado = parser.parsear(etConsumo.getText());
+        final double consumoMensual = parser.getValor();
+        if (resultado != ParserNumeros.VALIDO || consumoMensual <= 0 || consumoMensual > MAX_CONSUMO_KWH) {
+            VISTA_PREVIA.cancelar();
+            consumoVistaPrevia = Double.NaN;
+            tvVistaPrevia.setVisibility(View.GONE);
+            return;
+        }
+        if (consumoMensual == consumoVistaPrevia) {
+            return;
+        }
+        consumoVistaPrevia = consumoMensual;
+
+        final Configuracion config = configuracion;
+        VISTA_PREVIA.enviar(progreso -> {
+            ConfiguracionInmutable constantes = instantanea;
+            if (constantes == null) {
+                constantes = config.getConfiguracionInmutable();
+                instantanea = constantes;
             }
+            return CalculadoraSolar.calcular(consumoMensual, constantes);
+        });
+    }
 
-            // Realizar cálculo
-            CalculosSolares calculos = CalculadoraSolar.calcular(consumoMensual, configuracion);
+    /**
+     * Muestra el resumen de la vista previa bajo el campo de consumo.
+     */
+    private void mostrarVistaPrevia(CalculosSolares calculos) {
+        tvVistaPrevia.setText(getString(R.string.vista_previa,
+                calculos.getNumeroPaneles(),
+                FormatoUtils.formatearPotencia(calculos.getPotenciaSistema()),
+                FormatoUtils.formatearMoneda(calculos.getAhorroMensual()),
+                FormatoUtils.formatearAnos(calculos.getRetornoInversion())));
+        tvVistaPrevia.setVisibility(View.VISIBLE);
+    }
 
-            // Navegar a pantalla de resultados
-            Intent intent = new Intent(this, ResultadosActivity.class);
-            intent.putExtra("calculos", calculos);
-            startActivity(intent);
+    /**
+     * Navega a la pantalla de resultados.
+     */
+    private void mostrarResultados(int idResultado) {
+        Intent intent = new Intent(this, ResultadosActivity.class);
+        intent.putExtra(ResultadosActivity.EXTRA_ID_RESULTADO, idResultado);
+        startActivity(intent);
+    }
 
-        } catch (Exception e) {
-            tilConsumo.setError(getString(R.string.error_valor_invalido));
-            etConsumo.requestFocus();
-        }
+    /**
+     * Crea un pool de hilos demonio para los cálculos.
+     */
+    static ExecutorService crearPool(int hilos, String nombre) {
+        return Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, nombre);
+            hilo.setDaemon(true);
+            return hilo;
+        });
     }
 
     /**
@@ -156,6 +315,28 @@ public class MainActivity extends AppCompatActivity {
         dialog.show();
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        EJECUTOR.vincular(receptor);
+        btnCalcular.setEnabled(!EJECUTOR.isOcupado());
+
+        // La configuración pudo cambiar: tomar una instantánea nueva y recalcular
+        instantanea = null;
+        consumoVistaPrevia = Double.NaN;
+        VISTA_PREVIA.vincular(receptorVistaPrevia);
+        actualizarVistaPrevia();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        HILO_PRINCIPAL.removeCallbacks(tareaVistaPrevia);
+        VISTA_PREVIA.cancelar();
+        VISTA_PREVIA.desvincular();
+        EJECUTOR.desvincular();
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -11,6 +11,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.github.mikephil.charting.charts.BarChart;
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.LimitLine;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.data.BarData;
@@ -18,28 +20,71 @@ import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
 import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.solarcalculator.app.AplicacionSolar;
 import com.solarcalculator.app.R;
+import com.google.android.material.button.MaterialButtonToggleGroup;
 import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.PerfilProduccion;
+import com.solarcalculator.app.utils.AnalisisFinanciero;
+import com.solarcalculator.app.utils.EjecutorCalculos;
 import com.solarcalculator.app.utils.FormatoUtils;
+import com.solarcalculator.app.utils.RepositorioResultados;
+import com.solarcalculator.app.utils.SimuladorHorario;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Actividad que muestra los resultados del cálculo del sistema solar.
- * Incluye tarjetas con información detallada y un gráfico de barras comparativo.
+ * Incluye tarjetas con información detallada y un gráfico con tres vistas: el mes
+ * promedio, las 8760 horas del año (submuestreadas al ancho de la pantalla) y el
+ * flujo de caja anual.
  * 
  * @author SolarCalculatorApp
  * @version 1.0
  */
 public class ResultadosActivity extends AppCompatActivity {
     
+    /** Extra con el identificador del resultado en {@link RepositorioResultados}. */
+    public static final String EXTRA_ID_RESULTADO = "id_resultado";
+    
+    // Carga de resultados que ya no están en memoria (por ejemplo, tras reiniciarse el proceso)
+    private static final EjecutorCalculos<CalculosSolares> CARGA = new EjecutorCalculos<>(
+            MainActivity.crearPool(1, "carga-resultados"), MainActivity.HILO_PRINCIPAL::post);
+    
     // Vistas
     private TextView tvSubtitulo;
     private BarChart barChart;
+    private LineChart lineChart;
+    private GraficoSerieLarga graficoHorario;
     
     // Datos
     private CalculosSolares calculos;
+    private PerfilProduccion perfilHorario; // Se simula al abrir la vista horaria por primera vez
+    
+    // Recibe el resultado leído del disco
+    private final EjecutorCalculos.Receptor<CalculosSolares> receptorCarga =
+            new EjecutorCalculos.Receptor<CalculosSolares>() {
+        @Override
+        public void alProgresar(double fraccion) {
+        }
+        
+        @Override
+        public void alTerminar(CalculosSolares resultado) {
+            if (resultado == null) {
+                finish();
+                return;
+            }
+            calculos = resultado;
+            mostrarTodo();
+        }
+        
+        @Override
+        public void alFallar(Exception error) {
+            finish();
+        }
+    };
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,10 +96,9 @@ public class ResultadosActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
         
-        // Obtener datos del intent
-        calculos = getIntent().getParcelableExtra("calculos");
-        
-        if (calculos == null) {
+        // Obtener el identificador del intent
+        final int idResultado = getIntent().getIntExtra(EXTRA_ID_RESULTADO, Integer.MIN_VALUE);
+        if (idResultado == Integer.MIN_VALUE) {
             finish();
             return;
         }
@@ -62,22 +106,62 @@ public class ResultadosActivity extends AppCompatActivity {
         // Inicializar vistas
         inicializarVistas();
         
+        // Caso habitual: el resultado sigue en memoria
+        final AplicacionSolar aplicacion = AplicacionSolar.de(this);
+        RepositorioResultados repositorio = aplicacion.getRepositorioSiListo();
+        calculos = repositorio != null ? repositorio.obtenerEnMemoria(idResultado) : null;
+        if (calculos != null) {
+            CARGA.cancelar(); // Descarta una carga de otra pantalla que no llegó a entregarse
+            mostrarTodo();
+        } else {
+            // Aún abriéndose o sin el resultado en memoria: resolver en segundo plano
+            CARGA.enviar(progreso -> aplicacion.getRepositorio().obtener(idResultado));
+        }
+    }
+    
+    /**
+     * Muestra los resultados, el gráfico y los listeners una vez disponible el cálculo.
+     */
+    private void mostrarTodo() {
         // Mostrar resultados
         mostrarResultados();
         
-        // Configurar gráfico
+        // Configurar gráfico y su selector de vista
         configurarGrafico();
+        MaterialButtonToggleGroup grupoGrafico = findViewById(R.id.grupoGrafico);
+        grupoGrafico.addOnButtonCheckedListener((grupo, idBoton, marcado) -> {
+            if (marcado) {
+                mostrarGrafico(idBoton);
+            }
+        });
+        if (grupoGrafico.getCheckedButtonId() != R.id.btnGraficoMensual) {
+            // Selección restaurada antes de que el resultado estuviera disponible
+            mostrarGrafico(grupoGrafico.getCheckedButtonId());
+        }
         
         // Configurar listeners
         configurarListeners();
     }
     
+    @Override
+    protected void onStart() {
+        super.onStart();
+        CARGA.vincular(receptorCarga);
+    }
+    
+    @Override
+    protected void onStop() {
+        super.onStop();
+        CARGA.desvincular();
+    }
+    
     /**
      * Inicializa las vistas de la actividad.
      */
     private void inicializarVistas() {
         tvSubtitulo = findViewById(R.id.tvSubtitulo);
         barChart = findViewById(R.id.barChart);
+        lineChart = findViewById(R.id.lineChart);
     }
     
     /**
@@ -242,6 +326,107 @@ public class ResultadosActivity extends AppCompatActivity {
         barChart.invalidate();
     }
     
+    /**
+     * Cambia la vista del gráfico según el botón marcado.
+     */
+    private void mostrarGrafico(int idBoton) {
+        boolean horario = idBoton == R.id.btnGraficoHorario;
+        barChart.setVisibility(horario ? View.GONE : View.VISIBLE);
+        lineChart.setVisibility(horario ? View.VISIBLE : View.GONE);
+        
+        if (horario) {
+            configurarGraficoHorario();
+        } else if (idBoton == R.id.btnGraficoFlujo) {
+            configurarGraficoFlujo();
+        } else {
+            configurarGrafico();
+        }
+    }
+    
+    /**
+     * Configura el gráfico de las 8760 horas del año. La serie completa nunca llega al
+     * LineChart: {@link GraficoSerieLarga} le entrega solo la ventana visible reducida a
+     * un punto por píxel.
+     */
+    private void configurarGraficoHorario() {
+        if (perfilHorario == null) {
+            // La forma horaria escala linealmente con la producción diaria del sistema
+            perfilHorario = new PerfilProduccion();
+            double produccionDiaria = calculos.getProduccionMensualSistema() * PerfilProduccion.MESES_ANO
+                    / SimuladorHorario.DIAS_ANO;
+            SimuladorHorario.porDefecto().simular(produccionDiaria, perfilHorario);
+        }
+        if (graficoHorario == null) {
+            graficoHorario = new GraficoSerieLarga(lineChart, getString(R.string.etiqueta_produccion_horaria),
+                    ContextCompat.getColor(this, R.color.chart_produccion));
+            
+            XAxis xAxis = lineChart.getXAxis();
+            xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+            xAxis.setDrawGridLines(false);
+            xAxis.setValueFormatter(new ValueFormatter() {
+                @Override
+                public String getFormattedValue(float value) {
+                    // Día del año (1-365) de la hora
+                    return String.valueOf((int) value / SimuladorHorario.HORAS_DIA + 1);
+                }
+            });
+            
+            // Solo hay consumo mensual: se muestra como su promedio por hora
+            double consumoHorario = calculos.getConsumoMensual() * PerfilProduccion.MESES_ANO
+                    / PerfilProduccion.HORAS_ANO;
+            LimitLine lineaConsumo = new LimitLine((float) consumoHorario,
+                    getString(R.string.etiqueta_consumo_horario));
+            lineaConsumo.setLineColor(ContextCompat.getColor(this, R.color.chart_consumo));
+            lineaConsumo.setLineWidth(1.5f);
+            
+            YAxis leftAxis = lineChart.getAxisLeft();
+            leftAxis.setAxisMinimum(0f);
+            leftAxis.addLimitLine(lineaConsumo);
+            leftAxis.setDrawLimitLinesBehindData(false);
+            lineChart.getAxisRight().setEnabled(false);
+            
+            graficoHorario.mostrar(perfilHorario.getProduccionHoraria());
+        }
+    }
+    
+    /**
+     * Configura el gráfico de barras con el flujo de caja de cada año (el año 0 es la
+     * inversión inicial).
+     */
+    private void configurarGraficoFlujo() {
+        double[] flujos = AnalisisFinanciero.analizar(calculos, ParametrosFinancieros.POR_DEFECTO).getFlujos();
+        List<BarEntry> entries = new ArrayList<>(flujos.length);
+        int[] colores = new int[flujos.length];
+        int colorPositivo = ContextCompat.getColor(this, R.color.chart_produccion);
+        int colorNegativo = ContextCompat.getColor(this, R.color.chart_consumo);
+        for (int ano = 0; ano < flujos.length; ano++) {
+            entries.add(new BarEntry(ano, (float) flujos[ano]));
+            colores[ano] = flujos[ano] < 0 ? colorNegativo : colorPositivo;
+        }
+        
+        BarDataSet dataSet = new BarDataSet(entries, getString(R.string.etiqueta_flujo_anual));
+        dataSet.setColors(colores);
+        dataSet.setDrawValues(false);
+        
+        BarData barData = new BarData(dataSet);
+        barData.setBarWidth(0.8f);
+        barChart.setData(barData);
+        
+        // Años en el eje X; el eje Y debe admitir la inversión negativa
+        XAxis xAxis = barChart.getXAxis();
+        xAxis.setValueFormatter(new ValueFormatter() {
+            @Override
+            public String getFormattedValue(float value) {
+                return String.valueOf((int) value);
+            }
+        });
+        xAxis.setLabelCount(6);
+        barChart.getAxisLeft().resetAxisMinimum();
+        
+        barChart.animateY(600);
+        barChart.invalidate();
+    }
+    
     /**
      * Configura los listeners de los botones.
      */
@@ -249,6 +434,13 @@ public class ResultadosActivity extends AppCompatActivity {
         // Botón compartir
         findViewById(R.id.btnCompartir).setOnClickListener(v -> compartirResultados());
         
+        // Botón comparar escenarios
+        findViewById(R.id.btnCompararEscenarios).setOnClickListener(v -> {
+            Intent intent = new Intent(this, ComparacionEscenariosActivity.class);
+            intent.putExtra(ComparacionEscenariosActivity.EXTRA_CONSUMO, calculos.getConsumoMensual());
+            startActivity(intent);
+        });
+        
         // Botón nuevo cálculo
         findViewById(R.id.btnNuevoCalculo).setOnClickListener(v -> finish());
     }
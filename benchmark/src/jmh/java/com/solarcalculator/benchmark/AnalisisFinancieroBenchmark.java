@@ -0,0 +1,65 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.ResultadoFinanciero;
+import com.solarcalculator.app.utils.AnalisisFinanciero;
+import com.solarcalculator.app.utils.CalculadoraSolar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la proyección financiera a 25 años y del cálculo de la TIR.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnalisisFinancieroBenchmark {
+
+    private CalculosSolares calculos;
+    private double[] flujos;
+    private double[] flujosBajaRentabilidad;
+
+    @Setup
+    public void preparar() {
+        calculos = CalculadoraSolar.calcular(450.0, ConfiguracionInmutable.POR_DEFECTO);
+        flujos = AnalisisFinanciero.analizar(calculos, ParametrosFinancieros.POR_DEFECTO).getFlujos();
+
+        // Tarifa baja: TIR cercana a la tasa de descuento
+        CalculosSolares caro = CalculadoraSolar.calcular(100.0,
+                new ConfiguracionInmutable(2.2, 550.0, 2.0, 300.0, 2100000.0));
+        flujosBajaRentabilidad = AnalisisFinanciero.analizar(caro, ParametrosFinancieros.POR_DEFECTO).getFlujos();
+    }
+
+    @Benchmark
+    public double tasaInternaRetorno() {
+        return AnalisisFinanciero.tasaInternaRetorno(flujos);
+    }
+
+    @Benchmark
+    public double tasaInternaRetornoBajaRentabilidad() {
+        return AnalisisFinanciero.tasaInternaRetorno(flujosBajaRentabilidad);
+    }
+
+    @Benchmark
+    public double valorPresenteNeto() {
+        return AnalisisFinanciero.valorPresenteNeto(0.10, flujos);
+    }
+
+    @Benchmark
+    public ResultadoFinanciero analizar() {
+        return AnalisisFinanciero.analizar(calculos, ParametrosFinancieros.POR_DEFECTO);
+    }
+}
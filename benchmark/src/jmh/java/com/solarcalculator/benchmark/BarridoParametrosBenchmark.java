@@ -0,0 +1,46 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ParametroConfiguracion;
+import com.solarcalculator.app.model.RangoParametro;
+import com.solarcalculator.app.model.ResultadoBarrido;
+import com.solarcalculator.app.utils.BarridoParametros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del barrido de parámetros: rejilla de 1.000 × 1.000 combinaciones
+ * de precio del kWh y costo por panel.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BarridoParametrosBenchmark {
+
+    private ConfiguracionInmutable base;
+    private RangoParametro precios;
+    private RangoParametro costos;
+
+    @Setup
+    public void preparar() {
+        base = ConfiguracionInmutable.POR_DEFECTO;
+        precios = new RangoParametro(ParametroConfiguracion.PRECIO_KWH, 600, 1200, 1000);
+        costos = new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1000000, 3000000, 1000);
+    }
+
+    @Benchmark
+    public ResultadoBarrido barrerMillon() {
+        return BarridoParametros.barrer(450.0, base, precios, costos);
+    }
+}
@@ -0,0 +1,130 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ResultadosLote;
+import com.solarcalculator.app.utils.CacheCalculos;
+import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.utils.ParserNumeros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los cálculos de CalculadoraSolar.
+ * Compara el cálculo individual en un ciclo contra el cálculo por lotes
+ * y mide la validación y conversión de la entrada del usuario.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalculadoraSolarBenchmark {
+
+    // Tamaño del lote de consumos usado en los benchmarks de ciclo y lote
+    private static final int TAMANO_LOTE = 1024;
+
+    private ConfiguracionInmutable config;
+    private double[] consumos;
+    private ResultadosLote lote;
+    private CacheCalculos cache;
+
+    private double consumo;
+    private double produccion;
+    private String entradaValida;
+    private String entradaInvalida;
+    private String entradaAgrupada;
+    private final ParserNumeros parser = new ParserNumeros();
+
+    @Setup
+    public void preparar() {
+        config = ConfiguracionInmutable.POR_DEFECTO;
+        consumos = new double[TAMANO_LOTE];
+        Random random = new Random(42);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            consumos[i] = 50 + random.nextDouble() * 1950; // 50 - 2000 kWh/mes
+        }
+        lote = new ResultadosLote(TAMANO_LOTE);
+        cache = new CacheCalculos(64);
+
+        consumo = 450.0;
+        produccion = 462.0;
+        entradaValida = " 450,5 ";
+        entradaInvalida = "45a";
+        entradaAgrupada = "1.234,5";
+    }
+
+    @Benchmark
+    public CalculosSolares calcular() {
+        return CalculadoraSolar.calcular(consumo, config);
+    }
+
+    @Benchmark
+    public CalculosSolares calcularConCache() {
+        return cache.calcular(consumo, config);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public void calcularEnCiclo(Blackhole bh) {
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            bh.consume(CalculadoraSolar.calcular(consumos[i], config));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public ResultadosLote calcularLote() {
+        CalculadoraSolar.calcularLote(consumos, config, lote);
+        return lote;
+    }
+
+    @Benchmark
+    public boolean esValorValido() {
+        return CalculadoraSolar.esValorValido(entradaValida);
+    }
+
+    @Benchmark
+    public boolean esValorValidoInvalido() {
+        return CalculadoraSolar.esValorValido(entradaInvalida);
+    }
+
+    @Benchmark
+    public double parseDouble() {
+        return CalculadoraSolar.parseDouble(entradaValida);
+    }
+
+    @Benchmark
+    public double parsearNumero() {
+        parser.parsear(entradaValida);
+        return parser.getValor();
+    }
+
+    @Benchmark
+    public int parsearNumeroInvalido() {
+        return parser.parsear(entradaInvalida);
+    }
+
+    @Benchmark
+    public double parsearNumeroAgrupado() {
+        parser.parsear(entradaAgrupada);
+        return parser.getValor();
+    }
+
+    @Benchmark
+    public double calcularPorcentajeCobertura() {
+        return CalculadoraSolar.calcularPorcentajeCobertura(produccion, consumo);
+    }
+}
@@ -0,0 +1,108 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.utils.FormateadorNumeros;
+import com.solarcalculator.app.utils.FormatoUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los métodos formatear* de FormatoUtils y de la escritura
+ * directa en un StringBuilder con FormateadorNumeros.
+ * Los valores corresponden al caso de 450 kWh/mes del README.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatoUtilsBenchmark {
+
+    private double moneda = 14700000.0;
+    private double decimal = 6.818181;
+    private int entero = 14700;
+    private double porcentaje = 102.67;
+    private double potencia = 3.85;
+    private double area = 14.0;
+    private double anos = 2.94;
+    private double energia = 462.0;
+
+    private final FormateadorNumeros formateador = new FormateadorNumeros();
+    private final StringBuilder destino = new StringBuilder(256);
+
+    @Benchmark
+    public String formatearMoneda() {
+        return FormatoUtils.formatearMoneda(moneda);
+    }
+
+    @Benchmark
+    public String formatearDecimal() {
+        return FormatoUtils.formatearDecimal(decimal, 2);
+    }
+
+    @Benchmark
+    public String formatearEntero() {
+        return FormatoUtils.formatearEntero(entero);
+    }
+
+    @Benchmark
+    public String formatearPorcentaje() {
+        return FormatoUtils.formatearPorcentaje(porcentaje);
+    }
+
+    @Benchmark
+    public String formatearPotencia() {
+        return FormatoUtils.formatearPotencia(potencia);
+    }
+
+    @Benchmark
+    public String formatearArea() {
+        return FormatoUtils.formatearArea(area);
+    }
+
+    @Benchmark
+    public String formatearAnos() {
+        return FormatoUtils.formatearAnos(anos);
+    }
+
+    @Benchmark
+    public String formatearEnergia() {
+        return FormatoUtils.formatearEnergia(energia);
+    }
+
+    @Benchmark
+    public String formatearMonedaCompleta() {
+        return FormatoUtils.formatearMonedaCompleta(moneda);
+    }
+
+    @Benchmark
+    public StringBuilder agregarMoneda() {
+        destino.setLength(0);
+        return formateador.agregarMoneda(destino, moneda);
+    }
+
+    @Benchmark
+    public StringBuilder agregarDecimal() {
+        destino.setLength(0);
+        return formateador.agregarDecimal(destino, decimal, 2);
+    }
+
+    @Benchmark
+    public StringBuilder agregarResumenCompleto() {
+        // Todas las unidades de la pantalla de resultados en un solo StringBuilder
+        destino.setLength(0);
+        formateador.agregarPotencia(destino, potencia).append('\n');
+        formateador.agregarMonedaCompleta(destino, moneda).append('\n');
+        formateador.agregarAnos(destino, anos).append('\n');
+        formateador.agregarArea(destino, area).append('\n');
+        formateador.agregarEnergia(destino, energia).append('\n');
+        return formateador.agregarPorcentaje(destino, porcentaje);
+    }
+}
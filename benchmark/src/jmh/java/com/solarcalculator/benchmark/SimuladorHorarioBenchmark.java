@@ -0,0 +1,64 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.PerfilProduccion;
+import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.utils.SimuladorHorario;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la simulación horaria de un año (8760 horas).
+ * Mide la simulación con un sitio ya preparado y la preparación de un sitio nuevo.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimuladorHorarioBenchmark {
+
+    private SimuladorHorario simulador;
+    private PerfilProduccion perfil;
+    private ConfiguracionInmutable config;
+    private double[] factoresMensuales;
+    private double latitud;
+
+    @Setup
+    public void preparar() {
+        simulador = SimuladorHorario.porDefecto();
+        perfil = new PerfilProduccion();
+        config = ConfiguracionInmutable.POR_DEFECTO;
+        factoresMensuales = new double[] {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1};
+        latitud = 6.25; // Medellín
+    }
+
+    @Benchmark
+    public PerfilProduccion simularAno() {
+        simulador.simular(config.getProduccionPanel(), perfil);
+        return perfil;
+    }
+
+    @Benchmark
+    public CalculosSolares simularYCalcular() {
+        simulador.simular(config.getProduccionPanel(), perfil);
+        return CalculadoraSolar.calcular(450.0, config, perfil);
+    }
+
+    @Benchmark
+    public PerfilProduccion prepararSitioYSimular() {
+        SimuladorHorario sitio = new SimuladorHorario(latitud, factoresMensuales);
+        sitio.simular(config.getProduccionPanel(), perfil);
+        return perfil;
+    }
+}
@@ -0,0 +1,47 @@
+package com.solarcalculator.benchmark;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Distribucion;
+import com.solarcalculator.app.model.ResultadoMonteCarlo;
+import com.solarcalculator.app.utils.SimuladorMonteCarlo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del motor Monte Carlo: un millón de ensayos con las tres
+ * distribuciones activas.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimuladorMonteCarloBenchmark {
+
+    private SimuladorMonteCarlo simulador;
+    private ConfiguracionInmutable config;
+
+    @Setup
+    public void preparar() {
+        simulador = new SimuladorMonteCarlo(
+            Distribucion.normal(0.10),
+            Distribucion.triangular(0.20),
+            Distribucion.uniforme(0.15)
+        );
+        config = ConfiguracionInmutable.POR_DEFECTO;
+    }
+
+    @Benchmark
+    public ResultadoMonteCarlo simularMillon() {
+        return simulador.simular(450.0, config, 1_000_000, 42L);
+    }
+}
@@ -0,0 +1,326 @@
+package com.solarcalculator.cli;
+
+import com.solarcalculator.app.model.Configuracion;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.utils.ParserNumeros;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Herramienta de línea de comandos para cotizar listas completas de clientes.
+ *
+ * <p>Lee el CSV de entrada por ventanas mapeadas en memoria, corta cada ventana en el
+ * último salto de línea y procesa los bloques en todos los núcleos. Los resultados se
+ * escriben en orden a medida que terminan, con un número acotado de bloques en vuelo,
+ * así que la memoria no depende del tamaño del archivo.</p>
+ *
+ * <p>Cada línea de salida es la línea de entrada seguida de los campos de
+ * CalculosSolares, así que la salida tiene una línea por cada línea de entrada; las
+ * líneas vacías o con un consumo inválido salen con los campos de resultado vacíos.
+ * Si el primer registro no tiene un consumo numérico se toma como encabezado. Los
+ * campos no pueden llevar comillas.</p>
+ *
+ * <pre>
+ * cotizador entrada.csv salida.csv [--separador ;] [--columna N]
+ *           [--produccion kWh] [--potencia W] [--area m2] [--precio COP] [--costo COP]
+ * </pre>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class CotizadorMasivo {
+
+    /** Nombres de los campos de resultado, en el orden en que se escriben. */
+    static final String[] CAMPOS_RESULTADO = {
+        "consumoMensual", "potenciaSistema", "numeroPaneles", "numeroPanelesExacto",
+        "ahorroMensual", "costoInstalacion", "retornoInversion", "areaRequerida",
+        "produccionMensualSistema"
+    };
+
+    // Tamaño de cada ventana mapeada (una línea no puede ser más larga)
+    private static final int TAMANO_VENTANA = 8 << 20;
+
+    // Bloques leídos y aún sin escribir; con su salida, cada uno ocupa unas tres
+    // ventanas, así que la memoria queda acotada sin importar el número de núcleos
+    private static final int MAXIMO_EN_VUELO = 8;
+
+    private static final String USO =
+            "Uso: cotizador <entrada.csv> <salida.csv> [--separador C] [--columna N]\n"
+            + "                [--produccion kWh/dia] [--potencia W] [--area m2] [--precio COP] [--costo COP]\n"
+            + "  --columna N  Columna del consumo en kWh/mes, desde 1 (por defecto la última)";
+
+    private CotizadorMasivo() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Opciones opciones;
+        try {
+            opciones = leerArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            salirConError(e.getMessage());
+            return;
+        }
+
+        reiniciarPicosHeap();
+        long inicio = System.nanoTime();
+        long[] totales;
+        try {
+            totales = cotizar(opciones.entrada, opciones.salida, opciones.config, opciones.separador,
+                    opciones.columna);
+        } catch (ExecutionException e) {
+            throw new IOException("Error procesando el archivo", e.getCause());
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.println(String.format(Locale.ROOT, "Filas: %d (consumo inválido: %d)", totales[0], totales[1]));
+        System.out.println(String.format(Locale.ROOT, "Tiempo: %.3f s", segundos));
+        System.out.println(String.format(Locale.ROOT, "Filas/s: %.0f", totales[0] / segundos));
+        System.out.println(String.format(Locale.ROOT, "Pico de heap: %.1f MB", picoHeap() / (1024.0 * 1024.0)));
+    }
+
+    /**
+     * Opciones de la línea de comandos ya validadas.
+     */
+    static final class Opciones {
+        Path entrada;
+        Path salida;
+        byte separador = ',';
+        int columna = -1; // Índice desde 0; -1 = la última columna
+        ConfiguracionInmutable config;
+    }
+
+    /**
+     * Lee y valida los argumentos de la línea de comandos.
+     *
+     * @param args Argumentos tal como los recibe main()
+     * @return Opciones leídas
+     * @throws IllegalArgumentException con el mensaje para el usuario si algún argumento es inválido
+     */
+    static Opciones leerArgumentos(String[] args) {
+        Opciones opciones = new Opciones();
+        double[] constantes = {
+            Configuracion.DEFAULT_PRODUCCION_PANEL,
+            Configuracion.DEFAULT_POTENCIA_PANEL,
+            Configuracion.DEFAULT_AREA_PANEL,
+            Configuracion.DEFAULT_PRECIO_KWH,
+            Configuracion.DEFAULT_COSTO_PANEL
+        };
+
+        ParserNumeros parser = new ParserNumeros();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Falta el valor de " + arg);
+                }
+                String valor = args[++i];
+                if (arg.equals("--separador")) {
+                    if (valor.length() != 1 || valor.charAt(0) > 0x7F) {
+                        throw new IllegalArgumentException("El separador debe ser un solo carácter ASCII");
+                    }
+                    opciones.separador = (byte) valor.charAt(0);
+                    continue;
+                }
+                if (arg.equals("--columna")) {
+                    // Un número de columna es un entero: "2.7" o "1e10" no se redondean
+                    int numero;
+                    try {
+                        numero = Integer.parseInt(valor);
+                    } catch (NumberFormatException e) {
+                        numero = 0;
+                    }
+                    if (numero < 1) {
+                        throw new IllegalArgumentException("La columna debe ser un entero mayor o igual a 1: " + valor);
+                    }
+                    opciones.columna = numero - 1;
+                    continue;
+                }
+                if (parser.parsear(valor) != ParserNumeros.VALIDO || parser.getValor() <= 0) {
+                    throw new IllegalArgumentException("Valor inválido para " + arg + ": " + valor);
+                }
+                double numero = parser.getValor();
+                switch (arg) {
+                    case "--produccion":
+                        constantes[0] = numero;
+                        break;
+                    case "--potencia":
+                        constantes[1] = numero;
+                        break;
+                    case "--area":
+                        constantes[2] = numero;
+                        break;
+                    case "--precio":
+                        constantes[3] = numero;
+                        break;
+                    case "--costo":
+                        constantes[4] = numero;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + arg);
+                }
+            } else if (opciones.entrada == null) {
+                opciones.entrada = Paths.get(arg);
+            } else if (opciones.salida == null) {
+                opciones.salida = Paths.get(arg);
+            } else {
+                throw new IllegalArgumentException("Argumento de más: " + arg);
+            }
+        }
+        if (opciones.entrada == null || opciones.salida == null) {
+            throw new IllegalArgumentException("Se requieren el archivo de entrada y el de salida");
+        }
+
+        opciones.config = new ConfiguracionInmutable(
+                constantes[0], constantes[1], constantes[2], constantes[3], constantes[4]);
+        return opciones;
+    }
+
+    /**
+     * Procesa el archivo completo.
+     *
+     * @return Filas procesadas y filas con consumo inválido
+     */
+    static long[] cotizar(Path rutaEntrada, Path rutaSalida, ConfiguracionInmutable config,
+                          byte separador, int columna)
+            throws IOException, InterruptedException, ExecutionException {
+        int hilos = Math.min(Runtime.getRuntime().availableProcessors(), MAXIMO_EN_VUELO);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        ArrayDeque<Future<ProcesadorBloque>> pendientes = new ArrayDeque<>();
+        long[] totales = new long[2];
+
+        try (FileChannel entrada = FileChannel.open(rutaEntrada, StandardOpenOption.READ);
+             FileChannel salida = FileChannel.open(rutaSalida, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long tamano = entrada.size();
+            long posicion = 0;
+            boolean primerBloque = true;
+
+            while (posicion < tamano) {
+                int longitud = (int) Math.min(TAMANO_VENTANA, tamano - posicion);
+                MappedByteBuffer ventana = entrada.map(FileChannel.MapMode.READ_ONLY, posicion, longitud);
+
+                // Cortar en el último salto de línea, salvo al final del archivo
+                int fin = longitud;
+                if (posicion + longitud < tamano) {
+                    while (fin > 0 && ventana.get(fin - 1) != '\n') {
+                        fin--;
+                    }
+                    if (fin == 0) {
+                        throw new IOException("Línea de más de " + TAMANO_VENTANA
+                                + " bytes en la posición " + posicion);
+                    }
+                }
+
+                int desde = 0;
+                if (primerBloque) {
+                    desde = escribirEncabezado(ventana, fin, separador, columna, salida);
+                    primerBloque = false;
+                }
+
+                ventana.limit(fin);
+                ventana.position(desde);
+                ByteBuffer bloque = ventana.slice();
+                pendientes.add(ejecutor.submit(new ProcesadorBloque(bloque, config, separador, columna)));
+                while (pendientes.size() >= MAXIMO_EN_VUELO) {
+                    escribir(pendientes.poll().get(), salida, totales);
+                }
+                posicion += fin;
+            }
+
+            while (!pendientes.isEmpty()) {
+                escribir(pendientes.poll().get(), salida, totales);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return totales;
+    }
+
+    /**
+     * Si la primera línea no tiene un consumo numérico la copia como encabezado,
+     * agregando los nombres de los campos de resultado.
+     *
+     * @return Posición donde empiezan los datos dentro de la ventana
+     */
+    private static int escribirEncabezado(ByteBuffer ventana, int fin, byte separador, int columna,
+                                          FileChannel salida) throws IOException {
+        int finLinea = 0;
+        while (finLinea < fin && ventana.get(finLinea) != '\n') {
+            finLinea++;
+        }
+        int finTexto = finLinea > 0 && ventana.get(finLinea - 1) == '\r' ? finLinea - 1 : finLinea;
+
+        int[] campo = new int[2];
+        ParserNumeros parser = new ParserNumeros();
+        SecuenciaBytes texto = new SecuenciaBytes().apuntar(ventana, 0, finTexto);
+        if (ProcesadorBloque.buscarCampo(ventana, 0, finTexto, separador, columna, campo)
+                && parser.parsear(texto, campo[0], campo[1]) == ParserNumeros.VALIDO) {
+            return 0; // Sin encabezado: la primera línea son datos
+        }
+
+        SalidaCsv encabezado = new SalidaCsv(finTexto + 256);
+        encabezado.agregar(ventana, 0, finTexto);
+        for (String nombre : CAMPOS_RESULTADO) {
+            encabezado.agregar(separador);
+            encabezado.agregar(nombre);
+        }
+        encabezado.agregar((byte) '\n');
+        escribirTodo(encabezado.comoBuffer(), salida);
+        return Math.min(finLinea + 1, fin);
+    }
+
+    private static void escribir(ProcesadorBloque bloque, FileChannel salida, long[] totales)
+            throws IOException {
+        escribirTodo(bloque.getSalida(), salida);
+        totales[0] += bloque.getFilas();
+        totales[1] += bloque.getErrores();
+    }
+
+    private static void escribirTodo(ByteBuffer buffer, FileChannel salida) throws IOException {
+        while (buffer.hasRemaining()) {
+            salida.write(buffer);
+        }
+    }
+
+    private static void reiniciarPicosHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Suma de los picos de uso de cada zona del heap (cota superior del pico total).
+     */
+    private static long picoHeap() {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return pico;
+    }
+
+    private static void salirConError(String mensaje) {
+        System.err.println(mensaje);
+        System.err.println(USO);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,196 @@
+package com.solarcalculator.cli;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ResultadosLote;
+import com.solarcalculator.app.utils.CalculadoraSolar;
+import com.solarcalculator.app.utils.ParserNumeros;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Procesa un bloque de líneas completas del CSV de entrada: convierte el consumo de
+ * cada línea, calcula el bloque con {@link CalculadoraSolar#calcularLote} y escribe las
+ * líneas de salida (la línea original seguida de los campos de CalculosSolares).
+ * Las líneas vacías o con un consumo inválido se copian con los campos de resultado
+ * vacíos, para que la salida conserve una línea por cada línea de entrada.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+final class ProcesadorBloque implements Callable<ProcesadorBloque> {
+
+    // Bytes aproximados que agrega cada fila de salida
+    private static final int BYTES_RESULTADO = 96;
+
+    private final ByteBuffer bloque;
+    private final ConfiguracionInmutable config;
+    private final byte separador;
+    private final int columna;
+
+    // Resultados (se leen después de Future.get())
+    private ByteBuffer salida;
+    private int filas;
+    private int errores;
+
+    /**
+     * Constructor del bloque.
+     *
+     * @param bloque Bytes del bloque, desde la posición 0 hasta el límite; solo líneas completas
+     * @param config Constantes del sistema
+     * @param separador Separador de campos
+     * @param columna Columna del consumo (0 = primera, -1 = última)
+     */
+    ProcesadorBloque(ByteBuffer bloque, ConfiguracionInmutable config, byte separador, int columna) {
+        this.bloque = bloque;
+        this.config = config;
+        this.separador = separador;
+        this.columna = columna;
+    }
+
+    @Override
+    public ProcesadorBloque call() {
+        int limite = bloque.limit();
+        ParserNumeros parser = new ParserNumeros();
+        SecuenciaBytes texto = new SecuenciaBytes().apuntar(bloque, 0, limite);
+        int[] campo = new int[2];
+
+        // Primera pasada: límites de cada línea y consumos válidos
+        int capacidad = 1024;
+        int[] inicios = new int[capacidad];
+        int[] fines = new int[capacidad];
+        int[] filaLote = new int[capacidad]; // -1 si el consumo es inválido
+        double[] consumos = new double[capacidad];
+        int lineas = 0;
+        int validos = 0;
+
+        int posicion = 0;
+        while (posicion < limite) {
+            int fin = posicion;
+            while (fin < limite && bloque.get(fin) != '\n') {
+                fin++;
+            }
+            int siguiente = fin + 1;
+            if (fin > posicion && bloque.get(fin - 1) == '\r') {
+                fin--;
+            }
+            if (lineas == capacidad) {
+                capacidad *= 2;
+                inicios = Arrays.copyOf(inicios, capacidad);
+                fines = Arrays.copyOf(fines, capacidad);
+                filaLote = Arrays.copyOf(filaLote, capacidad);
+                consumos = Arrays.copyOf(consumos, capacidad);
+            }
+            inicios[lineas] = posicion;
+            fines[lineas] = fin;
+            if (buscarCampo(bloque, posicion, fin, separador, columna, campo)
+                    && parser.parsear(texto, campo[0], campo[1]) == ParserNumeros.VALIDO
+                    && parser.getValor() > 0) {
+                consumos[validos] = parser.getValor();
+                filaLote[lineas] = validos++;
+            } else {
+                filaLote[lineas] = -1;
+            }
+            lineas++;
+            posicion = siguiente;
+        }
+
+        ResultadosLote lote = new ResultadosLote(validos);
+        CalculadoraSolar.calcularLote(Arrays.copyOf(consumos, validos), config, lote);
+
+        // Segunda pasada: línea original + resultados
+        SalidaCsv csv = new SalidaCsv(limite + lineas * BYTES_RESULTADO);
+        for (int i = 0; i < lineas; i++) {
+            csv.agregar(bloque, inicios[i], fines[i]);
+            int fila = filaLote[i];
+            if (fila < 0) {
+                for (int c = 0; c < CotizadorMasivo.CAMPOS_RESULTADO.length; c++) {
+                    csv.agregar(separador);
+                }
+            } else {
+                escribirResultado(csv, lote, fila, consumos[fila]);
+            }
+            csv.agregar((byte) '\n');
+        }
+
+        this.salida = csv.comoBuffer();
+        this.filas = lineas;
+        this.errores = lineas - validos;
+        return this;
+    }
+
+    /**
+     * Escribe los campos de CalculosSolares en el orden de {@link CotizadorMasivo#CAMPOS_RESULTADO}.
+     */
+    private void escribirResultado(SalidaCsv csv, ResultadosLote lote, int fila, double consumo) {
+        csv.agregar(separador);
+        csv.agregarDecimal(consumo, 2);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getPotenciaSistema()[fila], 3);
+        csv.agregar(separador);
+        csv.agregarEntero(lote.getNumeroPaneles()[fila]);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getNumeroPanelesExacto()[fila], 4);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getAhorroMensual()[fila], 2);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getCostoInstalacion()[fila], 2);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getRetornoInversion()[fila], 4);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getAreaRequerida()[fila], 2);
+        csv.agregar(separador);
+        csv.agregarDecimal(lote.getProduccionMensualSistema()[fila], 2);
+    }
+
+    /**
+     * Busca los límites de un campo dentro de una línea (sin comillas).
+     *
+     * @param buffer Buffer con la línea
+     * @param inicio Primer byte de la línea
+     * @param fin Fin de la línea (exclusive, sin salto de línea)
+     * @param separador Separador de campos
+     * @param columna Columna buscada (0 = primera, -1 = última)
+     * @param limites Salida: inicio y fin del campo
+     * @return false si la línea no tiene esa columna
+     */
+    static boolean buscarCampo(ByteBuffer buffer, int inicio, int fin, byte separador, int columna,
+                               int[] limites) {
+        if (columna < 0) {
+            int i = fin;
+            while (i > inicio && buffer.get(i - 1) != separador) {
+                i--;
+            }
+            limites[0] = i;
+            limites[1] = fin;
+            return true;
+        }
+        int campo = 0;
+        int desde = inicio;
+        for (int i = inicio; i <= fin; i++) {
+            if (i == fin || buffer.get(i) == separador) {
+                if (campo == columna) {
+                    limites[0] = desde;
+                    limites[1] = i;
+                    return true;
+                }
+                campo++;
+                desde = i + 1;
+            }
+        }
+        return false;
+    }
+
+    ByteBuffer getSalida() {
+        return salida;
+    }
+
+    int getFilas() {
+        return filas;
+    }
+
+    int getErrores() {
+        return errores;
+    }
+}
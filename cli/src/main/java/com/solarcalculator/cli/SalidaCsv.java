@@ -0,0 +1,122 @@
+package com.solarcalculator.cli;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Buffer de bytes que crece según se necesite, con métodos para escribir campos CSV
+ * (números con punto decimal) sin crear Strings intermedios.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+final class SalidaCsv {
+
+    // Potencias de 10 para los decimales admitidos (0 a 9)
+    private static final long[] POTENCIAS_10 = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+    // Por encima de este valor escalado se usa Double.toString (no cabe en un long)
+    private static final double MAXIMO_ESCALADO = 1e17;
+
+    private byte[] datos;
+    private int tamano;
+    private final byte[] digitos = new byte[20];
+
+    /**
+     * Constructor con la capacidad inicial en bytes.
+     */
+    SalidaCsv(int capacidad) {
+        this.datos = new byte[Math.max(16, capacidad)];
+    }
+
+    void agregar(byte b) {
+        asegurar(1);
+        datos[tamano++] = b;
+    }
+
+    /**
+     * Copia tal cual los bytes [inicio, fin) de un buffer.
+     */
+    void agregar(ByteBuffer origen, int inicio, int fin) {
+        int longitud = fin - inicio;
+        asegurar(longitud);
+        for (int i = inicio; i < fin; i++) {
+            datos[tamano++] = origen.get(i);
+        }
+    }
+
+    /**
+     * Escribe un texto ASCII (encabezados y valores no finitos).
+     */
+    void agregar(String texto) {
+        asegurar(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            datos[tamano++] = (byte) texto.charAt(i);
+        }
+    }
+
+    void agregarEntero(long valor) {
+        if (valor == Long.MIN_VALUE) {
+            agregar(Long.toString(valor));
+            return;
+        }
+        if (valor < 0) {
+            agregar((byte) '-');
+            valor = -valor;
+        }
+        int n = 0;
+        do {
+            digitos[n++] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        asegurar(n);
+        while (n > 0) {
+            datos[tamano++] = digitos[--n];
+        }
+    }
+
+    /**
+     * Escribe un número con punto decimal y la cantidad fija de decimales indicada
+     * (redondeo a la mitad hacia arriba).
+     *
+     * @param valor Número a escribir
+     * @param decimales Decimales, de 0 a 9
+     */
+    void agregarDecimal(double valor, int decimales) {
+        long potencia = POTENCIAS_10[decimales];
+        double escalado = Math.abs(valor) * potencia;
+        if (!(escalado < MAXIMO_ESCALADO)) {
+            agregar(Double.toString(valor)); // NaN, infinito o demasiado grande
+            return;
+        }
+        long redondeado = Math.round(escalado);
+        if (valor < 0 && redondeado != 0) {
+            agregar((byte) '-');
+        }
+        agregarEntero(redondeado / potencia);
+        if (decimales > 0) {
+            agregar((byte) '.');
+            long fraccion = redondeado % potencia;
+            asegurar(decimales);
+            for (int i = tamano + decimales - 1; i >= tamano; i--) {
+                datos[i] = (byte) ('0' + fraccion % 10);
+                fraccion /= 10;
+            }
+            tamano += decimales;
+        }
+    }
+
+    /**
+     * Obtiene los bytes escritos como buffer listo para escribir en un canal.
+     */
+    ByteBuffer comoBuffer() {
+        return ByteBuffer.wrap(datos, 0, tamano);
+    }
+
+    private void asegurar(int adicionales) {
+        if (tamano + adicionales > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, tamano + adicionales));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.solarcalculator.cli;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vista de solo lectura de un ByteBuffer como CharSequence (un byte = un carácter
+ * ASCII/Latin-1). Permite pasar campos del archivo mapeado a {@code ParserNumeros}
+ * sin crear un String por campo.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+final class SecuenciaBytes implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int inicio;
+    private int longitud;
+
+    /**
+     * Apunta la vista a un fragmento del buffer. No copia los bytes.
+     *
+     * @param buffer Buffer con los datos
+     * @param inicio Índice absoluto del primer byte (inclusive)
+     * @param fin Índice absoluto final (exclusive)
+     * @return Esta misma vista
+     */
+    SecuenciaBytes apuntar(ByteBuffer buffer, int inicio, int fin) {
+        this.buffer = buffer;
+        this.inicio = inicio;
+        this.longitud = fin - inicio;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return longitud;
+    }
+
+    @Override
+    public char charAt(int indice) {
+        if (indice < 0 || indice >= longitud) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de [0, " + longitud + ")");
+        }
+        return (char) (buffer.get(inicio + indice) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int desde, int hasta) {
+        if (desde < 0 || hasta > longitud || desde > hasta) {
+            throw new IndexOutOfBoundsException("Rango [" + desde + ", " + hasta + ") inválido");
+        }
+        return new SecuenciaBytes().apuntar(buffer, inicio + desde, inicio + hasta);
+    }
+
+    @Override
+    public String toString() {
+        char[] caracteres = new char[longitud];
+        for (int i = 0; i < longitud; i++) {
+            caracteres[i] = (char) (buffer.get(inicio + i) & 0xFF);
+        }
+        return new String(caracteres);
+    }
+}
@@ -0,0 +1,73 @@
+package com.solarcalculator.cli;
+
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas de los argumentos de línea de comandos de CotizadorMasivo.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CotizadorMasivoTest {
+
+    @Test
+    public void valoresPorDefecto() {
+        CotizadorMasivo.Opciones opciones = CotizadorMasivo.leerArgumentos(new String[] {"a.csv", "b.csv"});
+        assertEquals(Paths.get("a.csv"), opciones.entrada);
+        assertEquals(Paths.get("b.csv"), opciones.salida);
+        assertEquals(',', opciones.separador);
+        assertEquals(-1, opciones.columna);
+    }
+
+    @Test
+    public void columnaDesdeUno() {
+        assertEquals(0, leer("--columna", "1").columna);
+        assertEquals(2, leer("--columna", "3").columna);
+        assertEquals(Integer.MAX_VALUE - 1, leer("--columna", "2147483647").columna);
+    }
+
+    @Test
+    public void rechazaColumnaQueNoEsEnteroPositivo() {
+        for (String valor : new String[] {"0", "-1", "2.7", "2,0", "1e10", "2147483648", "dos", ""}) {
+            try {
+                leer("--columna", valor);
+                fail("Se esperaba IllegalArgumentException para " + valor);
+            } catch (IllegalArgumentException e) {
+                // Esperado
+            }
+        }
+    }
+
+    @Test
+    public void leeSeparadorYConstantes() {
+        CotizadorMasivo.Opciones opciones = CotizadorMasivo.leerArgumentos(new String[] {
+            "--separador", ";", "a.csv", "b.csv", "--precio", "1.234,5", "--costo", "2000000"});
+        assertEquals(';', opciones.separador);
+        assertEquals(1234.5, opciones.config.getPrecioKwh(), 0);
+        assertEquals(2000000, opciones.config.getCostoPanel(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaOpcionSinValor() {
+        CotizadorMasivo.leerArgumentos(new String[] {"a.csv", "b.csv", "--columna"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaOpcionDesconocida() {
+        leer("--filas", "3");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void requiereEntradaYSalida() {
+        CotizadorMasivo.leerArgumentos(new String[] {"a.csv"});
+    }
+
+    private static CotizadorMasivo.Opciones leer(String opcion, String valor) {
+        return CotizadorMasivo.leerArgumentos(new String[] {"a.csv", "b.csv", opcion, valor});
+    }
+}
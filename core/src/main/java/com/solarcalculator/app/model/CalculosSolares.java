@@ -1,16 +1,14 @@
 package com.solarcalculator.app.model;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
 /**
  * Clase modelo que encapsula los resultados de los cálculos del sistema solar.
- * Implementa Parcelable para poder pasar objetos entre Activities.
+ * No depende de Android; la app no la pasa entre Activities, sino que la guarda en
+ * {@link com.solarcalculator.app.utils.RepositorioResultados} y envía su identificador.
  * 
  * @author SolarCalculatorApp
  * @version 1.0
  */
-public class CalculosSolares implements Parcelable {
+public class CalculosSolares {
     
     private double consumoMensual;           // kWh/mes
     private double potenciaSistema;          // kW
@@ -41,51 +39,6 @@ public class CalculosSolares implements Parcelable {
         this.produccionMensualSistema = produccionMensualSistema;
     }
     
-    /**
-     * Constructor para Parcelable.
-     */
-    protected CalculosSolares(Parcel in) {
-        consumoMensual = in.readDouble();
-        potenciaSistema = in.readDouble();
-        numeroPaneles = in.readInt();
-        numeroPanelesExacto = in.readDouble();
-        ahorroMensual = in.readDouble();
-        costoInstalacion = in.readDouble();
-        retornoInversion = in.readDouble();
-        areaRequerida = in.readDouble();
-        produccionMensualSistema = in.readDouble();
-    }
-    
-    @Override
-    public void writeToParcel(Parcel dest, int flags) {
-        dest.writeDouble(consumoMensual);
-        dest.writeDouble(potenciaSistema);
-        dest.writeInt(numeroPaneles);
-        dest.writeDouble(numeroPanelesExacto);
-        dest.writeDouble(ahorroMensual);
-        dest.writeDouble(costoInstalacion);
-        dest.writeDouble(retornoInversion);
-        dest.writeDouble(areaRequerida);
-        dest.writeDouble(produccionMensualSistema);
-    }
-    
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-    
-    public static final Creator<CalculosSolares> CREATOR = new Creator<CalculosSolares>() {
-        @Override
-        public CalculosSolares createFromParcel(Parcel in) {
-            return new CalculosSolares(in);
-        }
-        
-        @Override
-        public CalculosSolares[] newArray(int size) {
-            return new CalculosSolares[size];
-        }
-    };
-    
     // Getters
     public double getConsumoMensual() {
         return consumoMensual;
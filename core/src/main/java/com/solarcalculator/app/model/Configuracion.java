@@ -0,0 +1,89 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Interfaz con las constantes del sistema solar que usa el motor de cálculo.
+ * No depende de Android: la app la implementa sobre SharedPreferences y un servidor
+ * puede usar directamente {@link ConfiguracionInmutable}.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public interface Configuracion {
+
+    // Valores por defecto (según especificaciones del proyecto)
+    double DEFAULT_PRODUCCION_PANEL = 2.2;  // kWh/día
+    double DEFAULT_POTENCIA_PANEL = 550.0;  // Watts (0.55 kW)
+    double DEFAULT_AREA_PANEL = 2.0;        // m²
+    double DEFAULT_PRECIO_KWH = 926.0;      // COP
+    double DEFAULT_COSTO_PANEL = 2100000.0; // COP
+
+    /**
+     * Obtiene la producción diaria de un panel solar.
+     *
+     * @return Producción en kWh/día
+     */
+    double getProduccionPanel();
+
+    /**
+     * Obtiene la potencia nominal de un panel solar.
+     *
+     * @return Potencia en Watts
+     */
+    double getPotenciaPanel();
+
+    /**
+     * Obtiene el área de un panel solar.
+     *
+     * @return Área en m²
+     */
+    double getAreaPanel();
+
+    /**
+     * Obtiene el precio del kWh de energía eléctrica.
+     *
+     * @return Precio en COP
+     */
+    double getPrecioKwh();
+
+    /**
+     * Obtiene el costo de instalación por panel.
+     *
+     * @return Costo en COP
+     */
+    double getCostoPanel();
+
+    /**
+     * Calcula la producción mensual de un panel (30 días).
+     *
+     * @return Producción en kWh/mes
+     */
+    default double getProduccionMensualPanel() {
+        return getProduccionPanel() * 30;
+    }
+
+    /**
+     * Obtiene la versión actual de la configuración. Cambia cada vez que cambia
+     * alguna constante, por lo que las cachés de resultados la usan como clave.
+     *
+     * @return Versión de la configuración
+     */
+    default long getVersion() {
+        return getConfiguracionInmutable().getVersion();
+    }
+
+    /**
+     * Obtiene una copia inmutable de las constantes actuales.
+     * Las implementaciones respaldadas por almacenamiento deberían guardarla en caché.
+     *
+     * @return Constantes del sistema con sus valores derivados
+     */
+    default ConfiguracionInmutable getConfiguracionInmutable() {
+        return new ConfiguracionInmutable(
+            getProduccionPanel(),
+            getPotenciaPanel(),
+            getAreaPanel(),
+            getPrecioKwh(),
+            getCostoPanel()
+        );
+    }
+}
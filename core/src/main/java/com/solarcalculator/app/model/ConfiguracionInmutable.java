@@ -0,0 +1,198 @@
+package com.solarcalculator.app.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copia inmutable de las constantes del sistema solar.
+ * Se lee una sola vez de la configuración y precalcula los valores derivados,
+ * de modo que los cálculos repetidos no vuelven a consultar el almacenamiento.
+ * Fuera de Android puede usarse directamente como {@link Configuracion}.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class ConfiguracionInmutable implements Configuracion {
+
+    // Genera una versión distinta para cada copia creada en el proceso
+    private static final AtomicLong SIGUIENTE_VERSION = new AtomicLong(1);
+
+    /** Constantes con los valores por defecto del proyecto. */
+    public static final ConfiguracionInmutable POR_DEFECTO = new ConfiguracionInmutable(
+        Configuracion.DEFAULT_PRODUCCION_PANEL,
+        Configuracion.DEFAULT_POTENCIA_PANEL,
+        Configuracion.DEFAULT_AREA_PANEL,
+        Configuracion.DEFAULT_PRECIO_KWH,
+        Configuracion.DEFAULT_COSTO_PANEL
+    );
+
+    private final long version;
+    private final double produccionPanel;         // kWh/día
+    private final double potenciaPanel;           // Watts
+    private final double areaPanel;               // m²
+    private final double precioKwh;               // COP
+    private final double costoPanel;              // COP
+    private final Tarifa tarifa;                  // Tablas de precios ya compiladas
+
+    // Valores derivados
+    private final double produccionMensualPanel;  // kWh/mes (30 días)
+    private final double potenciaPanelKw;         // kW
+
+    /**
+     * Constructor con las cinco constantes del sistema.
+     *
+     * @param produccionPanel Producción diaria de un panel en kWh/día
+     * @param potenciaPanel Potencia nominal de un panel en Watts
+     * @param areaPanel Área de un panel en m²
+     * @param precioKwh Precio del kWh en COP
+     * @param costoPanel Costo de instalación por panel en COP
+     */
+    public ConfiguracionInmutable(double produccionPanel, double potenciaPanel, double areaPanel,
+                                  double precioKwh, double costoPanel) {
+        this(produccionPanel, potenciaPanel, areaPanel, Tarifa.plana(precioKwh), costoPanel);
+    }
+
+    /**
+     * Constructor con una tarifa por bloques u horaria en lugar del precio plano.
+     * {@link #getPrecioKwh()} devuelve el precio base de la tarifa.
+     *
+     * @param produccionPanel Producción diaria de un panel en kWh/día
+     * @param potenciaPanel Potencia nominal de un panel en Watts
+     * @param areaPanel Área de un panel en m²
+     * @param tarifa Tarifa de energía
+     * @param costoPanel Costo de instalación por panel en COP
+     */
+    public ConfiguracionInmutable(double produccionPanel, double potenciaPanel, double areaPanel,
+                                  Tarifa tarifa, double costoPanel) {
+        this.version = SIGUIENTE_VERSION.getAndIncrement();
+        this.produccionPanel = produccionPanel;
+        this.potenciaPanel = potenciaPanel;
+        this.areaPanel = areaPanel;
+        this.precioKwh = tarifa.getPrecioBase();
+        this.costoPanel = costoPanel;
+        this.tarifa = tarifa;
+        this.produccionMensualPanel = produccionPanel * 30;
+        this.potenciaPanelKw = potenciaPanel / 1000.0;
+    }
+
+    // Getters
+    @Override
+    public double getProduccionPanel() {
+        return produccionPanel;
+    }
+
+    @Override
+    public double getPotenciaPanel() {
+        return potenciaPanel;
+    }
+
+    @Override
+    public double getAreaPanel() {
+        return areaPanel;
+    }
+
+    @Override
+    public double getPrecioKwh() {
+        return precioKwh;
+    }
+
+    @Override
+    public double getCostoPanel() {
+        return costoPanel;
+    }
+
+    /**
+     * Obtiene la producción mensual de un panel (30 días), ya calculada.
+     *
+     * @return Producción en kWh/mes
+     */
+    @Override
+    public double getProduccionMensualPanel() {
+        return produccionMensualPanel;
+    }
+
+    /**
+     * Obtiene la tarifa con la que se factura el consumo. El historial y los perfiles
+     * la guardan completa.
+     *
+     * @return Tarifa de energía (plana si se creó con un precio)
+     */
+    public Tarifa getTarifa() {
+        return tarifa;
+    }
+
+    /**
+     * Obtiene la potencia nominal de un panel convertida a kW, ya calculada.
+     *
+     * @return Potencia en kW
+     */
+    public double getPotenciaPanelKw() {
+        return potenciaPanelKw;
+    }
+
+    /**
+     * Obtiene la versión de esta copia. Cada instancia tiene una versión única,
+     * de modo que un cambio de configuración siempre produce una versión nueva.
+     *
+     * @return Versión de la configuración
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve esta misma instancia, que ya es inmutable.
+     *
+     * @return Esta configuración
+     */
+    @Override
+    public ConfiguracionInmutable getConfiguracionInmutable() {
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConfiguracionInmutable)) {
+            return false;
+        }
+        ConfiguracionInmutable otra = (ConfiguracionInmutable) o;
+        return Double.compare(produccionPanel, otra.produccionPanel) == 0
+                && Double.compare(potenciaPanel, otra.potenciaPanel) == 0
+                && Double.compare(areaPanel, otra.areaPanel) == 0
+                && Double.compare(precioKwh, otra.precioKwh) == 0
+                && Double.compare(costoPanel, otra.costoPanel) == 0
+                && tarifa.equals(otra.tarifa);
+    }
+
+    @Override
+    public int hashCode() {
+        // Double.hashCode(double) requiere API 24; se combina a mano para minSdk 21
+        int result = hash(produccionPanel);
+        result = 31 * result + hash(potenciaPanel);
+        result = 31 * result + hash(areaPanel);
+        result = 31 * result + hash(precioKwh);
+        result = 31 * result + hash(costoPanel);
+        result = 31 * result + tarifa.hashCode();
+        return result;
+    }
+
+    private static int hash(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "ConfiguracionInmutable{" +
+                "produccionPanel=" + produccionPanel +
+                ", potenciaPanel=" + potenciaPanel +
+                ", areaPanel=" + areaPanel +
+                ", precioKwh=" + precioKwh +
+                ", costoPanel=" + costoPanel +
+                ", tarifa=" + tarifa +
+                '}';
+    }
+}
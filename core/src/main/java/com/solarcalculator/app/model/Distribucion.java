@@ -0,0 +1,135 @@
+package com.solarcalculator.app.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de probabilidad de un parámetro, centrada en su valor de configuración.
+ * La dispersión es relativa al centro (0.1 = ±10 %), así la misma distribución sirve
+ * para cualquier configuración. Las instancias son inmutables y se pueden compartir
+ * entre hilos; el estado aleatorio lo aporta quien muestrea.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class Distribucion {
+
+    private enum Tipo {
+        FIJA,
+        UNIFORME,
+        TRIANGULAR,
+        NORMAL
+    }
+
+    private static final Distribucion FIJA = new Distribucion(Tipo.FIJA, 0);
+
+    private final Tipo tipo;
+    private final double dispersion; // Relativa al centro
+
+    private Distribucion(Tipo tipo, double dispersion) {
+        this.tipo = tipo;
+        this.dispersion = dispersion;
+    }
+
+    /**
+     * Distribución sin variación: siempre devuelve el centro.
+     */
+    public static Distribucion fija() {
+        return FIJA;
+    }
+
+    /**
+     * Distribución uniforme en [centro × (1 - variacion), centro × (1 + variacion)].
+     *
+     * @param variacionRelativa Variación máxima relativa, en [0, 1)
+     * @throws IllegalArgumentException si la variación está fuera de [0, 1)
+     */
+    public static Distribucion uniforme(double variacionRelativa) {
+        validarVariacion(variacionRelativa);
+        return new Distribucion(Tipo.UNIFORME, variacionRelativa);
+    }
+
+    /**
+     * Distribución triangular simétrica con la moda en el centro y los extremos en
+     * centro × (1 ± variacion).
+     *
+     * @param variacionRelativa Variación máxima relativa, en [0, 1)
+     * @throws IllegalArgumentException si la variación está fuera de [0, 1)
+     */
+    public static Distribucion triangular(double variacionRelativa) {
+        validarVariacion(variacionRelativa);
+        return new Distribucion(Tipo.TRIANGULAR, variacionRelativa);
+    }
+
+    /**
+     * Distribución normal con media en el centro, truncada a valores positivos.
+     *
+     * @param desviacionRelativa Desviación estándar relativa al centro (mayor o igual a 0)
+     * @throws IllegalArgumentException si la desviación es negativa o no es finita
+     */
+    public static Distribucion normal(double desviacionRelativa) {
+        if (!(desviacionRelativa >= 0) || Double.isInfinite(desviacionRelativa)) {
+            throw new IllegalArgumentException("La desviación relativa debe ser mayor o igual a 0");
+        }
+        return new Distribucion(Tipo.NORMAL, desviacionRelativa);
+    }
+
+    private static void validarVariacion(double variacionRelativa) {
+        if (!(variacionRelativa >= 0 && variacionRelativa < 1)) {
+            throw new IllegalArgumentException("La variación relativa debe estar entre 0 y 1");
+        }
+    }
+
+    /**
+     * Obtiene una muestra de la distribución. Para un centro positivo el resultado
+     * siempre es positivo.
+     *
+     * @param centro Valor de configuración alrededor del cual se muestrea
+     * @param aleatorio Generador del hilo que muestrea
+     * @return Valor muestreado
+     * @throws IllegalArgumentException si la distribución es normal y el centro no es
+     *         positivo (la normal truncada a valores positivos no tendría muestras)
+     */
+    public double muestrear(double centro, SplittableRandom aleatorio) {
+        switch (tipo) {
+            case FIJA:
+                return centro;
+            case UNIFORME:
+                return centro * (1 + dispersion * (2 * aleatorio.nextDouble() - 1));
+            case TRIANGULAR:
+                // La suma de dos uniformes en [0, 1) es triangular en [0, 2)
+                return centro * (1 + dispersion * (aleatorio.nextDouble() + aleatorio.nextDouble() - 1));
+            case NORMAL:
+                if (!(centro > 0)) {
+                    throw new IllegalArgumentException("El centro de una distribución normal debe ser mayor a 0");
+                }
+                double valor;
+                do {
+                    valor = centro * (1 + dispersion * normalEstandar(aleatorio));
+                } while (valor <= 0);
+                return valor;
+            default:
+                throw new IllegalStateException("Distribución desconocida: " + tipo);
+        }
+    }
+
+    /**
+     * Muestra de una normal estándar con el método polar de Marsaglia.
+     * SplittableRandom no tiene nextGaussian() antes de Java 17.
+     */
+    private static double normalEstandar(SplittableRandom aleatorio) {
+        double u;
+        double v;
+        double s;
+        do {
+            u = 2 * aleatorio.nextDouble() - 1;
+            v = 2 * aleatorio.nextDouble() - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        return u * Math.sqrt(-2 * Math.log(s) / s);
+    }
+
+    @Override
+    public String toString() {
+        return "Distribucion{" + tipo + ", dispersion=" + dispersion + '}';
+    }
+}
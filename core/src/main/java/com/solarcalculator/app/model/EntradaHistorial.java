@@ -0,0 +1,52 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con una cotización guardada en el historial: el resultado, la
+ * configuración con la que se calculó y el momento en que se hizo.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EntradaHistorial {
+
+    private final int indice;                           // Posición en el historial (0 = la más antigua)
+    private final long marcaTiempo;                     // Milisegundos desde 1970 (UTC)
+    private final CalculosSolares calculos;
+    private final ConfiguracionInmutable configuracion;
+
+    /**
+     * Constructor con todos los parámetros.
+     */
+    public EntradaHistorial(int indice, long marcaTiempo, CalculosSolares calculos,
+                            ConfiguracionInmutable configuracion) {
+        this.indice = indice;
+        this.marcaTiempo = marcaTiempo;
+        this.calculos = calculos;
+        this.configuracion = configuracion;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public long getMarcaTiempo() {
+        return marcaTiempo;
+    }
+
+    public CalculosSolares getCalculos() {
+        return calculos;
+    }
+
+    public ConfiguracionInmutable getConfiguracion() {
+        return configuracion;
+    }
+
+    @Override
+    public String toString() {
+        return "EntradaHistorial{" +
+                "indice=" + indice +
+                ", marcaTiempo=" + marcaTiempo +
+                ", calculos=" + calculos +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con un escenario de la comparación: un nombre, el consumo, las
+ * constantes del sistema y el resultado calculado con ellos.
+ *
+ * <p>Es inmutable: editar un escenario crea uno nuevo con el mismo id, así una lista
+ * puede compararse con la anterior para saber qué filas cambiaron.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class Escenario {
+
+    private final long id;                              // Identidad estable entre ediciones
+    private final String nombre;
+    private final double consumoMensual;                // kWh/mes
+    private final ConfiguracionInmutable configuracion;
+    private final CalculosSolares calculos;
+
+    /**
+     * Constructor con todos los parámetros.
+     *
+     * @param calculos Resultado de CalculadoraSolar.calcular(consumoMensual, configuracion)
+     */
+    public Escenario(long id, String nombre, double consumoMensual,
+                     ConfiguracionInmutable configuracion, CalculosSolares calculos) {
+        this.id = id;
+        this.nombre = nombre;
+        this.consumoMensual = consumoMensual;
+        this.configuracion = configuracion;
+        this.calculos = calculos;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public double getConsumoMensual() {
+        return consumoMensual;
+    }
+
+    public ConfiguracionInmutable getConfiguracion() {
+        return configuracion;
+    }
+
+    public CalculosSolares getCalculos() {
+        return calculos;
+    }
+
+    /**
+     * Indica si otro escenario se muestra igual que este. El resultado depende solo del
+     * consumo y de las constantes, así que no hace falta compararlo.
+     *
+     * @param otro Escenario a comparar
+     * @return true si el nombre, el consumo y las constantes son iguales
+     */
+    public boolean mismoContenido(Escenario otro) {
+        return nombre.equals(otro.nombre)
+                && Double.compare(consumoMensual, otro.consumoMensual) == 0
+                && configuracion.equals(otro.configuracion);
+    }
+
+    @Override
+    public String toString() {
+        return "Escenario{" +
+                "id=" + id +
+                ", nombre='" + nombre + '\'' +
+                ", consumoMensual=" + consumoMensual +
+                ", calculos=" + calculos +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con las características de un modelo de panel solar.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class ModeloPanel {
+
+    private final String nombre;
+    private final double potencia;         // Watts
+    private final double produccionPanel;  // kWh/día
+    private final double area;             // m²
+    private final double costo;            // COP, instalado
+
+    /**
+     * Constructor con todas las características.
+     *
+     * @param nombre Nombre comercial del modelo
+     * @param potencia Potencia nominal en Watts
+     * @param produccionPanel Producción diaria en kWh/día
+     * @param area Área en m²
+     * @param costo Costo de instalación por panel en COP
+     * @throws IllegalArgumentException si la producción, el área o el costo no son positivos
+     */
+    public ModeloPanel(String nombre, double potencia, double produccionPanel, double area, double costo) {
+        if (!(produccionPanel > 0) || !(area > 0) || !(costo > 0)) {
+            throw new IllegalArgumentException("La producción, el área y el costo del panel deben ser mayores a 0");
+        }
+        this.nombre = nombre;
+        this.potencia = potencia;
+        this.produccionPanel = produccionPanel;
+        this.area = area;
+        this.costo = costo;
+    }
+
+    /**
+     * Crea el modelo que describe el panel de una configuración.
+     *
+     * @param config Configuración con las constantes del panel
+     * @return Modelo con la potencia, producción, área y costo configurados
+     */
+    public static ModeloPanel desde(ConfiguracionInmutable config) {
+        return new ModeloPanel("Configurado", config.getPotenciaPanel(), config.getProduccionPanel(),
+                config.getAreaPanel(), config.getCostoPanel());
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public double getPotencia() {
+        return potencia;
+    }
+
+    public double getProduccionPanel() {
+        return produccionPanel;
+    }
+
+    /**
+     * Calcula la producción mensual del panel (30 días).
+     *
+     * @return Producción en kWh/mes
+     */
+    public double getProduccionMensualPanel() {
+        return produccionPanel * 30;
+    }
+
+    public double getArea() {
+        return area;
+    }
+
+    public double getCosto() {
+        return costo;
+    }
+
+    @Override
+    public String toString() {
+        return "ModeloPanel{" +
+                "nombre='" + nombre + '\'' +
+                ", potencia=" + potencia +
+                ", produccionPanel=" + produccionPanel +
+                ", area=" + area +
+                ", costo=" + costo +
+                '}';
+    }
+}
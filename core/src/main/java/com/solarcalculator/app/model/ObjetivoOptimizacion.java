@@ -0,0 +1,12 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Criterio que usa el optimizador para comparar instalaciones.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public enum ObjetivoOptimizacion {
+    MAXIMO_VALOR_PRESENTE_NETO,
+    MINIMO_RETORNO_INVERSION
+}
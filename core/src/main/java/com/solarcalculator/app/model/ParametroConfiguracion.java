@@ -0,0 +1,57 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Enumeración de las constantes de {@link Configuracion} que se pueden variar
+ * en un barrido de parámetros o en una simulación.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public enum ParametroConfiguracion {
+    PRODUCCION_PANEL,   // kWh/día
+    POTENCIA_PANEL,     // Watts
+    AREA_PANEL,         // m²
+    PRECIO_KWH,         // COP
+    COSTO_PANEL;        // COP
+
+    /**
+     * Obtiene el valor de este parámetro en una configuración.
+     *
+     * @param config Configuración a consultar
+     * @return Valor actual del parámetro
+     */
+    public double obtener(ConfiguracionInmutable config) {
+        switch (this) {
+            case PRODUCCION_PANEL:
+                return config.getProduccionPanel();
+            case POTENCIA_PANEL:
+                return config.getPotenciaPanel();
+            case AREA_PANEL:
+                return config.getAreaPanel();
+            case PRECIO_KWH:
+                return config.getPrecioKwh();
+            case COSTO_PANEL:
+                return config.getCostoPanel();
+            default:
+                throw new IllegalStateException("Parámetro desconocido: " + this);
+        }
+    }
+
+    /**
+     * Crea una copia de la configuración con este parámetro cambiado. El precio del kWh
+     * se cambia escalando la tarifa ({@link Tarifa#escalada(double)}): una tarifa por
+     * bloques u horaria conserva su estructura y su precio base pasa a ser el valor.
+     *
+     * @param config Configuración de partida
+     * @param valor Valor nuevo del parámetro
+     * @return Configuración nueva con el parámetro cambiado
+     */
+    public ConfiguracionInmutable aplicar(ConfiguracionInmutable config, double valor) {
+        return new ConfiguracionInmutable(
+                this == PRODUCCION_PANEL ? valor : config.getProduccionPanel(),
+                this == POTENCIA_PANEL ? valor : config.getPotenciaPanel(),
+                this == AREA_PANEL ? valor : config.getAreaPanel(),
+                this == PRECIO_KWH ? config.getTarifa().escalada(valor) : config.getTarifa(),
+                this == COSTO_PANEL ? valor : config.getCostoPanel());
+    }
+}
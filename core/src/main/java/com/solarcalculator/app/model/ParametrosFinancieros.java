@@ -0,0 +1,107 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Supuestos financieros para proyectar el flujo de caja de un sistema solar
+ * a varios años. Las tasas se expresan como fracción anual (0.05 = 5 %) y los
+ * costos como fracción del costo de instalación.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class ParametrosFinancieros {
+
+    /** Supuestos típicos para Colombia: 25 años, tarifa +5 %/año, descuento 10 %. */
+    public static final ParametrosFinancieros POR_DEFECTO =
+            new ParametrosFinancieros(25, 0.10, 0.05, 0.005, 0.01, 12, 0.10);
+
+    private final int anos;
+    private final double tasaDescuento;           // Fracción anual
+    private final double escalamientoTarifa;      // Fracción anual
+    private final double degradacionAnual;        // Fracción anual de pérdida de producción
+    private final double costoOperacion;          // Fracción del costo de instalación por año
+    private final int anoReemplazoInversor;       // 0 = sin reemplazo
+    private final double costoReemplazoInversor;  // Fracción del costo de instalación
+
+    /**
+     * Constructor con todos los supuestos.
+     *
+     * @param anos Horizonte de la proyección en años (mayor a 0)
+     * @param tasaDescuento Tasa de descuento anual (mayor a -1)
+     * @param escalamientoTarifa Aumento anual de la tarifa; también se aplica al costo de operación
+     * @param degradacionAnual Pérdida anual de producción de los paneles, en [0, 1)
+     * @param costoOperacion Costo de operación y mantenimiento del primer año
+     * @param anoReemplazoInversor Año en que se reemplaza el inversor (0 = nunca)
+     * @param costoReemplazoInversor Costo del reemplazo del inversor
+     * @throws IllegalArgumentException si algún supuesto está fuera de rango
+     */
+    public ParametrosFinancieros(int anos, double tasaDescuento, double escalamientoTarifa,
+                                 double degradacionAnual, double costoOperacion,
+                                 int anoReemplazoInversor, double costoReemplazoInversor) {
+        if (anos <= 0) {
+            throw new IllegalArgumentException("El horizonte debe ser de al menos un año");
+        }
+        if (!(tasaDescuento > -1)) {
+            throw new IllegalArgumentException("La tasa de descuento debe ser mayor a -1");
+        }
+        if (!(escalamientoTarifa > -1)) {
+            throw new IllegalArgumentException("El escalamiento de la tarifa debe ser mayor a -1");
+        }
+        if (!(degradacionAnual >= 0 && degradacionAnual < 1)) {
+            throw new IllegalArgumentException("La degradación anual debe estar entre 0 y 1");
+        }
+        if (!(costoOperacion >= 0) || !(costoReemplazoInversor >= 0)) {
+            throw new IllegalArgumentException("Los costos no pueden ser negativos");
+        }
+        if (anoReemplazoInversor < 0 || anoReemplazoInversor > anos) {
+            throw new IllegalArgumentException("El año de reemplazo del inversor está fuera del horizonte");
+        }
+        this.anos = anos;
+        this.tasaDescuento = tasaDescuento;
+        this.escalamientoTarifa = escalamientoTarifa;
+        this.degradacionAnual = degradacionAnual;
+        this.costoOperacion = costoOperacion;
+        this.anoReemplazoInversor = anoReemplazoInversor;
+        this.costoReemplazoInversor = costoReemplazoInversor;
+    }
+
+    public int getAnos() {
+        return anos;
+    }
+
+    public double getTasaDescuento() {
+        return tasaDescuento;
+    }
+
+    public double getEscalamientoTarifa() {
+        return escalamientoTarifa;
+    }
+
+    public double getDegradacionAnual() {
+        return degradacionAnual;
+    }
+
+    public double getCostoOperacion() {
+        return costoOperacion;
+    }
+
+    public int getAnoReemplazoInversor() {
+        return anoReemplazoInversor;
+    }
+
+    public double getCostoReemplazoInversor() {
+        return costoReemplazoInversor;
+    }
+
+    @Override
+    public String toString() {
+        return "ParametrosFinancieros{" +
+                "anos=" + anos +
+                ", tasaDescuento=" + tasaDescuento +
+                ", escalamientoTarifa=" + escalamientoTarifa +
+                ", degradacionAnual=" + degradacionAnual +
+                ", costoOperacion=" + costoOperacion +
+                ", anoReemplazoInversor=" + anoReemplazoInversor +
+                ", costoReemplazoInversor=" + costoReemplazoInversor +
+                '}';
+    }
+}
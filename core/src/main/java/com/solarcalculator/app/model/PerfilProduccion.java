@@ -0,0 +1,88 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con la producción simulada de un panel durante un año,
+ * hora por hora (8760 horas) y agregada por mes.
+ * Los arreglos se reservan una vez y se reutilizan en cada simulación.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class PerfilProduccion {
+
+    public static final int HORAS_ANO = 8760;
+    public static final int MESES_ANO = 12;
+
+    // Año de 365 días; la única tabla de meses, también la usa SimuladorHorario
+    private static final int[] DIAS_POR_MES = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final double DIAS_MES_PROMEDIO = 365.0 / MESES_ANO;
+
+    private final double[] produccionHoraria = new double[HORAS_ANO]; // kWh por hora
+    private final double[] produccionMensual = new double[MESES_ANO]; // kWh por mes
+    private double produccionAnual;                                    // kWh/año
+
+    /**
+     * Obtiene el número de días de un mes del año simulado (sin años bisiestos).
+     *
+     * @param mes Mes del año (0 = enero)
+     * @return Días del mes
+     */
+    public static int diasDelMes(int mes) {
+        return DIAS_POR_MES[mes];
+    }
+
+    /**
+     * Obtiene la producción de un panel en cada hora del año (sin copiar).
+     *
+     * @return Arreglo de 8760 valores en kWh
+     */
+    public double[] getProduccionHoraria() {
+        return produccionHoraria;
+    }
+
+    /**
+     * Obtiene la producción de un panel en cada mes del año (sin copiar).
+     *
+     * @return Arreglo de 12 valores en kWh
+     */
+    public double[] getProduccionMensual() {
+        return produccionMensual;
+    }
+
+    public double getProduccionAnual() {
+        return produccionAnual;
+    }
+
+    /**
+     * Obtiene la producción mensual promedio de un panel (anual / 12).
+     *
+     * @return Producción en kWh/mes
+     */
+    public double getProduccionMensualPromedio() {
+        return produccionAnual / MESES_ANO;
+    }
+
+    /**
+     * Obtiene la producción del peor mes del año, llevada a un mes de duración promedio
+     * (365 / 12 días) para que febrero no cuente como peor solo por ser más corto.
+     * Un sistema dimensionado con este valor cubre el consumo todos los meses.
+     *
+     * @return Producción en kWh/mes
+     */
+    public double getProduccionMensualMinima() {
+        double minima = Double.POSITIVE_INFINITY;
+        for (int mes = 0; mes < MESES_ANO; mes++) {
+            minima = Math.min(minima, produccionMensual[mes] * DIAS_MES_PROMEDIO / DIAS_POR_MES[mes]);
+        }
+        return minima;
+    }
+
+    /**
+     * Establece la producción anual. Lo usa el simulador al terminar.
+     *
+     * @param produccionAnual Producción en kWh/año
+     */
+    public void setProduccionAnual(double produccionAnual) {
+        this.produccionAnual = produccionAnual;
+    }
+}
@@ -0,0 +1,67 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Rango de valores equiespaciados para un parámetro de configuración.
+ * Ejemplo: precio kWh de 600 a 1200 COP en 1000 pasos.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class RangoParametro {
+
+    private final ParametroConfiguracion parametro;
+    private final double minimo;
+    private final double maximo;
+    private final int pasos;
+
+    /**
+     * Constructor del rango.
+     *
+     * @param parametro Parámetro que se varía
+     * @param minimo Primer valor del rango
+     * @param maximo Último valor del rango (igual al mínimo si pasos = 1)
+     * @param pasos Número de valores (mayor a 0)
+     * @throws IllegalArgumentException si pasos <= 0 o el máximo es menor al mínimo
+     */
+    public RangoParametro(ParametroConfiguracion parametro, double minimo, double maximo, int pasos) {
+        if (pasos <= 0) {
+            throw new IllegalArgumentException("El rango debe tener al menos un paso");
+        }
+        if (maximo < minimo) {
+            throw new IllegalArgumentException("El máximo del rango no puede ser menor al mínimo");
+        }
+        this.parametro = parametro;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.pasos = pasos;
+    }
+
+    public ParametroConfiguracion getParametro() {
+        return parametro;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public int getPasos() {
+        return pasos;
+    }
+
+    /**
+     * Obtiene el valor del paso i del rango.
+     *
+     * @param i Índice del paso (0 a pasos - 1)
+     * @return Valor del parámetro en ese paso
+     */
+    public double valor(int i) {
+        if (pasos == 1) {
+            return minimo;
+        }
+        return minimo + (maximo - minimo) * i / (pasos - 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con la superficie de retorno de inversión de un barrido de parámetros.
+ * Los resultados se guardan en un solo arreglo denso en orden de filas: el último
+ * rango es el que varía más rápido.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ResultadoBarrido {
+
+    private final RangoParametro[] rangos;
+    private final double[] retornoInversion; // Años
+
+    /**
+     * Constructor que reserva la rejilla completa.
+     *
+     * @param rangos Rangos del barrido, en orden de dimensión
+     * @param celdas Número total de celdas (producto de los pasos)
+     */
+    public ResultadoBarrido(RangoParametro[] rangos, int celdas) {
+        this.rangos = rangos.clone();
+        this.retornoInversion = new double[celdas];
+    }
+
+    public int getDimensiones() {
+        return rangos.length;
+    }
+
+    public RangoParametro getRango(int dimension) {
+        return rangos[dimension];
+    }
+
+    /**
+     * Obtiene la rejilla completa de retornos de inversión (sin copiar).
+     *
+     * @return Arreglo denso en orden de filas, en años
+     */
+    public double[] getRetornoInversion() {
+        return retornoInversion;
+    }
+
+    /**
+     * Obtiene el retorno de inversión de una celda.
+     *
+     * @param indices Índice en cada dimensión, en el mismo orden que los rangos
+     * @return Retorno de inversión en años
+     */
+    public double getRetornoInversion(int... indices) {
+        if (indices.length != rangos.length) {
+            throw new IllegalArgumentException("Se esperaban " + rangos.length + " índices");
+        }
+        int plano = 0;
+        for (int d = 0; d < rangos.length; d++) {
+            if (indices[d] < 0 || indices[d] >= rangos[d].getPasos()) {
+                throw new IndexOutOfBoundsException("Índice fuera del rango en la dimensión " + d);
+            }
+            plano = plano * rangos[d].getPasos() + indices[d];
+        }
+        return retornoInversion[plano];
+    }
+}
@@ -0,0 +1,78 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con los indicadores financieros de la proyección de un sistema solar.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ResultadoFinanciero {
+
+    private final double[] flujos;             // COP por año; el índice 0 es la inversión
+    private final double valorPresenteNeto;    // COP
+    private final double tasaInternaRetorno;   // Fracción anual; NaN si no existe
+    private final double retornoDescontado;    // Años; infinito si no se recupera
+    private final double costoNivelado;        // COP/kWh (LCOE)
+
+    /**
+     * Constructor con todos los indicadores.
+     */
+    public ResultadoFinanciero(double[] flujos, double valorPresenteNeto, double tasaInternaRetorno,
+                               double retornoDescontado, double costoNivelado) {
+        this.flujos = flujos;
+        this.valorPresenteNeto = valorPresenteNeto;
+        this.tasaInternaRetorno = tasaInternaRetorno;
+        this.retornoDescontado = retornoDescontado;
+        this.costoNivelado = costoNivelado;
+    }
+
+    /**
+     * Obtiene el flujo de caja neto de cada año (sin copiar).
+     *
+     * @return Arreglo de anos + 1 valores en COP; el año 0 es el costo de instalación
+     */
+    public double[] getFlujos() {
+        return flujos;
+    }
+
+    public double getValorPresenteNeto() {
+        return valorPresenteNeto;
+    }
+
+    /**
+     * Obtiene la tasa interna de retorno.
+     *
+     * @return Fracción anual, o NaN si los flujos no cambian de signo
+     */
+    public double getTasaInternaRetorno() {
+        return tasaInternaRetorno;
+    }
+
+    /**
+     * Obtiene el retorno de inversión descontado, interpolado dentro del año.
+     *
+     * @return Años, o infinito positivo si no se recupera dentro del horizonte
+     */
+    public double getRetornoDescontado() {
+        return retornoDescontado;
+    }
+
+    /**
+     * Obtiene el costo nivelado de la energía (LCOE).
+     *
+     * @return COP por kWh producido
+     */
+    public double getCostoNivelado() {
+        return costoNivelado;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoFinanciero{" +
+                "valorPresenteNeto=" + valorPresenteNeto +
+                ", tasaInternaRetorno=" + tasaInternaRetorno +
+                ", retornoDescontado=" + retornoDescontado +
+                ", costoNivelado=" + costoNivelado +
+                '}';
+    }
+}
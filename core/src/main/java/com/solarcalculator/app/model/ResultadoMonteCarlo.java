@@ -0,0 +1,108 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con el resumen de una simulación Monte Carlo del retorno de inversión:
+ * percentiles P10, P50 y P90, estadísticos básicos e histograma para graficar.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ResultadoMonteCarlo {
+
+    private final long ensayos;
+    private final double media;           // Años
+    private final double minimo;          // Años
+    private final double maximo;          // Años
+    private final double p10;             // Años
+    private final double p50;             // Años
+    private final double p90;             // Años
+    private final long[] histograma;      // Ensayos por clase
+    private final double limiteInferior;  // Años, inicio de la primera clase
+    private final double anchoClase;      // Años
+
+    /**
+     * Constructor con todos los valores del resumen.
+     */
+    public ResultadoMonteCarlo(long ensayos, double media, double minimo, double maximo,
+                               double p10, double p50, double p90,
+                               long[] histograma, double limiteInferior, double anchoClase) {
+        this.ensayos = ensayos;
+        this.media = media;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.p10 = p10;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.histograma = histograma;
+        this.limiteInferior = limiteInferior;
+        this.anchoClase = anchoClase;
+    }
+
+    public long getEnsayos() {
+        return ensayos;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Retorno de inversión que no se supera en el 10 % de los ensayos (escenario optimista).
+     */
+    public double getP10() {
+        return p10;
+    }
+
+    /**
+     * Retorno de inversión mediano.
+     */
+    public double getP50() {
+        return p50;
+    }
+
+    /**
+     * Retorno de inversión que no se supera en el 90 % de los ensayos (escenario conservador).
+     */
+    public double getP90() {
+        return p90;
+    }
+
+    /**
+     * Obtiene el número de ensayos en cada clase del histograma (sin copiar).
+     * La primera y la última clase también acumulan las colas de la distribución.
+     *
+     * @return Conteos por clase
+     */
+    public long[] getHistograma() {
+        return histograma;
+    }
+
+    public double getLimiteInferior() {
+        return limiteInferior;
+    }
+
+    public double getAnchoClase() {
+        return anchoClase;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoMonteCarlo{" +
+                "ensayos=" + ensayos +
+                ", media=" + media +
+                ", p10=" + p10 +
+                ", p50=" + p50 +
+                ", p90=" + p90 +
+                ", minimo=" + minimo +
+                ", maximo=" + maximo +
+                '}';
+    }
+}
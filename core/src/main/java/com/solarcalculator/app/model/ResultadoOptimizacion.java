@@ -0,0 +1,85 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo con la mejor instalación encontrada por el optimizador de paneles.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ResultadoOptimizacion {
+
+    private final ModeloPanel modelo;
+    private final int numeroPaneles;
+    private final double areaRequerida;            // m²
+    private final double costoInstalacion;         // COP
+    private final double produccionMensualSistema; // kWh/mes
+    private final double valorPresenteNeto;        // COP
+    private final double retornoInversion;         // Años
+    private final int modelosEvaluados;            // Modelos que no se pudieron descartar
+
+    /**
+     * Constructor con todos los parámetros.
+     */
+    public ResultadoOptimizacion(ModeloPanel modelo, int numeroPaneles, double areaRequerida,
+                                 double costoInstalacion, double produccionMensualSistema,
+                                 double valorPresenteNeto, double retornoInversion,
+                                 int modelosEvaluados) {
+        this.modelo = modelo;
+        this.numeroPaneles = numeroPaneles;
+        this.areaRequerida = areaRequerida;
+        this.costoInstalacion = costoInstalacion;
+        this.produccionMensualSistema = produccionMensualSistema;
+        this.valorPresenteNeto = valorPresenteNeto;
+        this.retornoInversion = retornoInversion;
+        this.modelosEvaluados = modelosEvaluados;
+    }
+
+    public ModeloPanel getModelo() {
+        return modelo;
+    }
+
+    public int getNumeroPaneles() {
+        return numeroPaneles;
+    }
+
+    public double getAreaRequerida() {
+        return areaRequerida;
+    }
+
+    public double getCostoInstalacion() {
+        return costoInstalacion;
+    }
+
+    public double getProduccionMensualSistema() {
+        return produccionMensualSistema;
+    }
+
+    public double getValorPresenteNeto() {
+        return valorPresenteNeto;
+    }
+
+    public double getRetornoInversion() {
+        return retornoInversion;
+    }
+
+    /**
+     * Obtiene cuántos modelos del catálogo se evaluaron en detalle; el resto
+     * se descartó por cota.
+     */
+    public int getModelosEvaluados() {
+        return modelosEvaluados;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoOptimizacion{" +
+                "modelo=" + modelo.getNombre() +
+                ", numeroPaneles=" + numeroPaneles +
+                ", areaRequerida=" + areaRequerida +
+                ", costoInstalacion=" + costoInstalacion +
+                ", valorPresenteNeto=" + valorPresenteNeto +
+                ", retornoInversion=" + retornoInversion +
+                ", modelosEvaluados=" + modelosEvaluados +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.solarcalculator.app.model;
+
+/**
+ * Clase modelo que almacena los resultados de un cálculo por lotes en columnas primitivas.
+ * Cada posición i de las columnas corresponde al consumo i del arreglo de entrada,
+ * de modo que un mismo lote puede reutilizarse para varios cálculos sin crear objetos.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ResultadosLote {
+
+    private final int capacidad;
+    private int tamano;                          // Número de filas válidas
+
+    private final int[] numeroPaneles;           // Entero redondeado hacia arriba
+    private final double[] numeroPanelesExacto;  // Número decimal exacto
+    private final double[] potenciaSistema;      // kW
+    private final double[] ahorroMensual;        // COP
+    private final double[] costoInstalacion;     // COP
+    private final double[] retornoInversion;     // Años
+    private final double[] areaRequerida;        // m²
+    private final double[] produccionMensualSistema; // kWh/mes
+
+    /**
+     * Constructor que reserva todas las columnas con la capacidad indicada.
+     *
+     * @param capacidad Número máximo de consumos que puede almacenar el lote
+     * @throws IllegalArgumentException si la capacidad es negativa
+     */
+    public ResultadosLote(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad del lote no puede ser negativa");
+        }
+        this.capacidad = capacidad;
+        this.numeroPaneles = new int[capacidad];
+        this.numeroPanelesExacto = new double[capacidad];
+        this.potenciaSistema = new double[capacidad];
+        this.ahorroMensual = new double[capacidad];
+        this.costoInstalacion = new double[capacidad];
+        this.retornoInversion = new double[capacidad];
+        this.areaRequerida = new double[capacidad];
+        this.produccionMensualSistema = new double[capacidad];
+    }
+
+    /**
+     * Obtiene el número máximo de filas que admite el lote.
+     *
+     * @return Capacidad del lote
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene el número de filas escritas por el último cálculo.
+     *
+     * @return Filas válidas en las columnas
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Establece el número de filas válidas. Lo usa la calculadora al terminar un lote.
+     *
+     * @param tamano Filas válidas
+     */
+    public void setTamano(int tamano) {
+        if (tamano < 0 || tamano > capacidad) {
+            throw new IllegalArgumentException("Tamaño fuera de la capacidad del lote");
+        }
+        this.tamano = tamano;
+    }
+
+    // Columnas (se devuelven sin copiar para escribir y leer sin asignaciones)
+    public int[] getNumeroPaneles() {
+        return numeroPaneles;
+    }
+
+    public double[] getNumeroPanelesExacto() {
+        return numeroPanelesExacto;
+    }
+
+    public double[] getPotenciaSistema() {
+        return potenciaSistema;
+    }
+
+    public double[] getAhorroMensual() {
+        return ahorroMensual;
+    }
+
+    public double[] getCostoInstalacion() {
+        return costoInstalacion;
+    }
+
+    public double[] getRetornoInversion() {
+        return retornoInversion;
+    }
+
+    public double[] getAreaRequerida() {
+        return areaRequerida;
+    }
+
+    public double[] getProduccionMensualSistema() {
+        return produccionMensualSistema;
+    }
+
+    /**
+     * Construye un objeto CalculosSolares con los valores de una fila.
+     * Útil para mostrar un resultado puntual; crea un objeto nuevo en cada llamada.
+     *
+     * @param indice Fila a leer
+     * @param consumoMensual Consumo que originó la fila, en kWh/mes
+     * @return Objeto CalculosSolares equivalente a la fila
+     */
+    public CalculosSolares obtener(int indice, double consumoMensual) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice fuera del lote: " + indice);
+        }
+        return new CalculosSolares(
+            consumoMensual,
+            potenciaSistema[indice],
+            numeroPaneles[indice],
+            numeroPanelesExacto[indice],
+            ahorroMensual[indice],
+            costoInstalacion[indice],
+            retornoInversion[indice],
+            areaRequerida[indice],
+            produccionMensualSistema[indice]
+        );
+    }
+}
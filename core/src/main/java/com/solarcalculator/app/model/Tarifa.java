@@ -0,0 +1,400 @@
+package com.solarcalculator.app.model;
+
+import java.util.Arrays;
+
+/**
+ * Tarifa de energía compilada en tablas de puntos de corte.
+ *
+ * <p>Una tarifa por bloques guarda el límite superior de cada bloque (kWh/mes), su
+ * precio y el costo acumulado al inicio de cada bloque, así que la factura de un
+ * consumo mensual es una búsqueda binaria y una multiplicación. Una tarifa horaria
+ * guarda la hora del día en que empieza cada franja y su precio; el precio de una hora
+ * también se busca con búsqueda binaria. Evaluar una tarifa no crea objetos.</p>
+ *
+ * <p>Las fábricas cubren los casos colombianos: precio plano, residencial por estrato
+ * (subsidio hasta el consumo de subsistencia, o contribución en estratos 5 y 6),
+ * bloques arbitrarios y franjas horarias para usuarios comerciales.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class Tarifa {
+
+    /** Consumo de subsistencia por debajo de 1000 m s. n. m. (kWh/mes). */
+    public static final double CONSUMO_SUBSISTENCIA_BAJO = 173.0;
+    /** Consumo de subsistencia a 1000 m s. n. m. o más (kWh/mes). */
+    public static final double CONSUMO_SUBSISTENCIA_ALTO = 130.0;
+
+    /** Contribución sobre el costo de los estratos 5 y 6 y de los usuarios comerciales. */
+    public static final double CONTRIBUCION = 0.20;
+
+    // Subsidio máximo sobre el consumo de subsistencia, por estrato (índice 1 a 6)
+    private static final double[] SUBSIDIO_ESTRATO = {0, 0.60, 0.50, 0.15, 0, -CONTRIBUCION, -CONTRIBUCION};
+
+    private static final int HORAS_DIA = 24;
+
+    private final double precioBase;        // COP/kWh antes de subsidios o contribuciones
+
+    // Bloques mensuales: precios.length bloques; limites[k] es el tope del bloque k (kWh/mes)
+    private final double[] limites;
+    private final double[] precios;
+    private final double[] acumulado;       // Costo de todo el consumo anterior al bloque k
+
+    // Franjas horarias (null si la tarifa no es horaria)
+    private final int[] iniciosFranja;      // Hora del día (0-23) en que empieza cada franja
+    private final double[] preciosFranja;   // COP/kWh de cada franja
+
+    private Tarifa(double precioBase, double[] limites, double[] precios,
+                   int[] iniciosFranja, double[] preciosFranja) {
+        this.precioBase = precioBase;
+        this.limites = limites;
+        this.precios = precios;
+        this.iniciosFranja = iniciosFranja;
+        this.preciosFranja = preciosFranja;
+
+        acumulado = new double[precios.length];
+        double anterior = 0;
+        for (int k = 1; k < precios.length; k++) {
+            acumulado[k] = acumulado[k - 1] + (limites[k - 1] - anterior) * precios[k - 1];
+            anterior = limites[k - 1];
+        }
+    }
+
+    /**
+     * Crea una tarifa con un solo precio para todo el consumo.
+     *
+     * @param precioKwh Precio del kWh en COP
+     * @return Tarifa plana
+     */
+    public static Tarifa plana(double precioKwh) {
+        // Sin validar: es la tarifa de cualquier ConfiguracionInmutable, incluso las de barridos
+        return new Tarifa(precioKwh, new double[0], new double[] {precioKwh}, null, null);
+    }
+
+    /**
+     * Crea una tarifa residencial según el estrato. Los estratos 1 a 3 reciben el
+     * subsidio máximo sobre el consumo de subsistencia (60 %, 50 % y 15 %) y pagan el
+     * precio completo por encima; el 4 paga el precio; el 5 y el 6 pagan una
+     * contribución del 20 % sobre todo el consumo.
+     *
+     * @param precioKwh Costo unitario de prestación del servicio en COP/kWh
+     * @param estrato Estrato socioeconómico (1 a 6)
+     * @param consumoSubsistencia Consumo de subsistencia en kWh/mes
+     *        ({@link #CONSUMO_SUBSISTENCIA_BAJO} o {@link #CONSUMO_SUBSISTENCIA_ALTO})
+     * @return Tarifa del estrato
+     * @throws IllegalArgumentException si el estrato no está entre 1 y 6 o los valores no son positivos
+     */
+    public static Tarifa residencial(double precioKwh, int estrato, double consumoSubsistencia) {
+        validarPrecio(precioKwh);
+        if (estrato < 1 || estrato > 6) {
+            throw new IllegalArgumentException("El estrato debe estar entre 1 y 6");
+        }
+        if (!(consumoSubsistencia > 0)) {
+            throw new IllegalArgumentException("El consumo de subsistencia debe ser mayor a 0");
+        }
+        double factor = 1 - SUBSIDIO_ESTRATO[estrato];
+        if (SUBSIDIO_ESTRATO[estrato] > 0) {
+            return new Tarifa(precioKwh, new double[] {consumoSubsistencia},
+                    new double[] {precioKwh * factor, precioKwh}, null, null);
+        }
+        return new Tarifa(precioKwh, new double[0], new double[] {precioKwh * factor}, null, null);
+    }
+
+    /**
+     * Crea una tarifa por bloques de consumo mensual.
+     *
+     * @param limites Tope de cada bloque salvo el último, en kWh/mes, estrictamente creciente
+     * @param precios Precio de cada bloque en COP/kWh (uno más que los límites)
+     * @return Tarifa por bloques; su precio base es el del último bloque
+     * @throws IllegalArgumentException si las tablas no son coherentes
+     */
+    public static Tarifa porBloques(double[] limites, double[] precios) {
+        validarBloques(limites, precios);
+        for (double precio : precios) {
+            validarPrecio(precio);
+        }
+        return new Tarifa(precios[precios.length - 1], limites.clone(), precios.clone(), null, null);
+    }
+
+    /**
+     * Crea una tarifa horaria por franjas del día. Con solo el consumo mensual se
+     * factura al precio promedio de las 24 horas (consumo uniforme).
+     *
+     * @param iniciosFranja Hora del día en que empieza cada franja: la primera es 0 y
+     *        las siguientes son crecientes y menores a 24
+     * @param precios Precio de cada franja en COP/kWh
+     * @return Tarifa horaria; su precio base es el promedio diario
+     * @throws IllegalArgumentException si las tablas no son coherentes
+     */
+    public static Tarifa horaria(int[] iniciosFranja, double[] precios) {
+        validarFranjas(iniciosFranja, precios);
+        double suma = 0;
+        for (int f = 0; f < precios.length; f++) {
+            validarPrecio(precios[f]);
+            int fin = f + 1 < iniciosFranja.length ? iniciosFranja[f + 1] : HORAS_DIA;
+            suma += precios[f] * (fin - iniciosFranja[f]);
+        }
+        double promedio = suma / HORAS_DIA;
+        return new Tarifa(promedio, new double[0], new double[] {promedio},
+                iniciosFranja.clone(), precios.clone());
+    }
+
+    /**
+     * Reconstruye una tarifa a partir de sus tablas, tal como las devuelven los getters;
+     * sirve para leer una tarifa guardada. Como en {@link #plana(double)}, los precios no
+     * se validan; solo la forma de las tablas.
+     *
+     * @param precioBase Precio base en COP/kWh
+     * @param limites Tope de cada bloque salvo el último, estrictamente creciente
+     * @param precios Precio de cada bloque (uno más que los límites)
+     * @param iniciosFranja Inicio de cada franja horaria, o null si no es horaria
+     * @param preciosFranja Precio de cada franja, o null si no es horaria
+     * @return Tarifa con esas tablas
+     * @throws IllegalArgumentException si las tablas no son coherentes
+     */
+    public static Tarifa desdeTablas(double precioBase, double[] limites, double[] precios,
+                                     int[] iniciosFranja, double[] preciosFranja) {
+        validarBloques(limites, precios);
+        if ((iniciosFranja == null) != (preciosFranja == null)) {
+            throw new IllegalArgumentException("Cada franja necesita su precio");
+        }
+        if (iniciosFranja != null) {
+            validarFranjas(iniciosFranja, preciosFranja);
+        }
+        return new Tarifa(precioBase, limites.clone(), precios.clone(),
+                iniciosFranja != null ? iniciosFranja.clone() : null,
+                preciosFranja != null ? preciosFranja.clone() : null);
+    }
+
+    /**
+     * Crea la misma tarifa con todos sus precios multiplicados por un factor, de modo que
+     * su precio base sea el indicado. Los límites de los bloques y las franjas no cambian.
+     * Los precios iguales al precio base toman el valor nuevo exacto, así que escalar una
+     * tarifa plana da la misma tarifa que {@link #plana(double)} con el precio nuevo.
+     *
+     * @param nuevoPrecioBase Precio base de la tarifa escalada en COP/kWh
+     * @return Tarifa escalada
+     * @throws IllegalArgumentException si el precio no es positivo
+     */
+    public Tarifa escalada(double nuevoPrecioBase) {
+        validarPrecio(nuevoPrecioBase);
+        double factor = nuevoPrecioBase / precioBase;
+        return new Tarifa(nuevoPrecioBase, limites, escalar(precios, factor, nuevoPrecioBase),
+                iniciosFranja, preciosFranja != null ? escalar(preciosFranja, factor, nuevoPrecioBase) : null);
+    }
+
+    private double[] escalar(double[] valores, double factor, double nuevoPrecioBase) {
+        double[] escalados = new double[valores.length];
+        for (int k = 0; k < valores.length; k++) {
+            escalados[k] = valores[k] == precioBase ? nuevoPrecioBase : valores[k] * factor;
+        }
+        return escalados;
+    }
+
+    /**
+     * Calcula la factura de un consumo mensual (sin cargos fijos).
+     *
+     * @param consumoMensual Consumo en kWh/mes
+     * @return Costo en COP; 0 si el consumo no es positivo
+     */
+    public double costoMensual(double consumoMensual) {
+        if (!(consumoMensual > 0)) {
+            return 0;
+        }
+        int bloque = bloque(consumoMensual);
+        double inicio = bloque == 0 ? 0 : limites[bloque - 1];
+        return acumulado[bloque] + (consumoMensual - inicio) * precios[bloque];
+    }
+
+    /**
+     * Calcula la factura de un periodo a partir del consumo de cada hora. En una tarifa
+     * horaria cada hora se cobra al precio de su franja; en una por bloques se factura
+     * la suma del periodo.
+     *
+     * @param consumoHorario Consumo de cada hora en kWh; el índice es la hora desde
+     *        la medianoche del primer día (índice % 24 = hora del día)
+     * @param desde Primera hora del periodo (inclusive)
+     * @param hasta Última hora del periodo (exclusiva)
+     * @return Costo en COP
+     */
+    public double costoHorario(double[] consumoHorario, int desde, int hasta) {
+        if (desde < 0 || hasta > consumoHorario.length || desde > hasta) {
+            throw new IllegalArgumentException("Periodo inválido: [" + desde + ", " + hasta + ")");
+        }
+        if (iniciosFranja == null) {
+            double total = 0;
+            for (int h = desde; h < hasta; h++) {
+                total += consumoHorario[h];
+            }
+            return costoMensual(total);
+        }
+        double costo = 0;
+        for (int h = desde; h < hasta; h++) {
+            costo += consumoHorario[h] * preciosFranja[franja(h % HORAS_DIA)];
+        }
+        return costo;
+    }
+
+    /**
+     * Obtiene el precio del kWh en una hora del día.
+     *
+     * @param horaDelDia Hora (0 a 23)
+     * @return Precio de la franja en COP/kWh; en una tarifa por bloques, el precio base
+     */
+    public double precioHora(int horaDelDia) {
+        return iniciosFranja == null ? precioBase : preciosFranja[franja(horaDelDia)];
+    }
+
+    /**
+     * Obtiene el precio antes de subsidios y contribuciones (tarifa residencial), el del
+     * último bloque (por bloques) o el promedio diario (horaria).
+     *
+     * @return Precio en COP/kWh
+     */
+    public double getPrecioBase() {
+        return precioBase;
+    }
+
+    /**
+     * Indica si la tarifa cobra distinto según la hora del día.
+     */
+    public boolean isHoraria() {
+        return iniciosFranja != null;
+    }
+
+    /**
+     * Obtiene el tope de cada bloque salvo el último.
+     *
+     * @return Copia de los límites en kWh/mes (vacía si hay un solo bloque)
+     */
+    public double[] getLimites() {
+        return limites.clone();
+    }
+
+    /**
+     * Obtiene el precio de cada bloque; en una tarifa horaria, el promedio diario.
+     *
+     * @return Copia de los precios en COP/kWh
+     */
+    public double[] getPrecios() {
+        return precios.clone();
+    }
+
+    /**
+     * Obtiene la hora en que empieza cada franja.
+     *
+     * @return Copia de los inicios, o null si la tarifa no es horaria
+     */
+    public int[] getIniciosFranja() {
+        return iniciosFranja != null ? iniciosFranja.clone() : null;
+    }
+
+    /**
+     * Obtiene el precio de cada franja.
+     *
+     * @return Copia de los precios en COP/kWh, o null si la tarifa no es horaria
+     */
+    public double[] getPreciosFranja() {
+        return preciosFranja != null ? preciosFranja.clone() : null;
+    }
+
+    /**
+     * Bloque que contiene un consumo: el primero cuyo tope es >= consumo.
+     */
+    private int bloque(double consumo) {
+        int bajo = 0;
+        int alto = limites.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (limites[medio] < consumo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Franja que contiene una hora: la última que empieza a esa hora o antes.
+     */
+    private int franja(int hora) {
+        int bajo = 0;
+        int alto = iniciosFranja.length - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (iniciosFranja[medio] <= hora) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    private static void validarBloques(double[] limites, double[] precios) {
+        if (precios.length != limites.length + 1) {
+            throw new IllegalArgumentException("Debe haber un precio más que límites");
+        }
+        for (int k = 0; k < limites.length; k++) {
+            if (!(limites[k] > (k == 0 ? 0 : limites[k - 1]))) {
+                throw new IllegalArgumentException("Los límites deben ser positivos y crecientes");
+            }
+        }
+    }
+
+    private static void validarFranjas(int[] iniciosFranja, double[] precios) {
+        if (iniciosFranja.length == 0 || iniciosFranja.length != precios.length || iniciosFranja[0] != 0) {
+            throw new IllegalArgumentException("Cada franja necesita su precio y la primera debe empezar a las 0");
+        }
+        for (int f = 1; f < iniciosFranja.length; f++) {
+            if (iniciosFranja[f] <= iniciosFranja[f - 1] || iniciosFranja[f] >= HORAS_DIA) {
+                throw new IllegalArgumentException("Las franjas deben ser crecientes y menores a 24");
+            }
+        }
+    }
+
+    private static void validarPrecio(double precio) {
+        if (!(precio > 0)) {
+            throw new IllegalArgumentException("El precio del kWh debe ser mayor a 0");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Tarifa)) {
+            return false;
+        }
+        Tarifa otra = (Tarifa) o;
+        return Double.compare(precioBase, otra.precioBase) == 0
+                && Arrays.equals(limites, otra.limites)
+                && Arrays.equals(precios, otra.precios)
+                && Arrays.equals(iniciosFranja, otra.iniciosFranja)
+                && Arrays.equals(preciosFranja, otra.preciosFranja);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(limites);
+        result = 31 * result + Arrays.hashCode(precios);
+        result = 31 * result + Arrays.hashCode(iniciosFranja);
+        result = 31 * result + Arrays.hashCode(preciosFranja);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Tarifa{" +
+                "precioBase=" + precioBase +
+                ", limites=" + Arrays.toString(limites) +
+                ", precios=" + Arrays.toString(precios) +
+                (iniciosFranja != null
+                        ? ", iniciosFranja=" + Arrays.toString(iniciosFranja)
+                          + ", preciosFranja=" + Arrays.toString(preciosFranja)
+                        : "") +
+                '}';
+    }
+}
@@ -0,0 +1,299 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.ResultadoFinanciero;
+import com.solarcalculator.app.model.Tarifa;
+
+/**
+ * Proyección del flujo de caja de un sistema solar a varios años e indicadores
+ * financieros: valor presente neto, tasa interna de retorno, retorno de inversión
+ * descontado y costo nivelado de la energía (LCOE).
+ *
+ * <p>A diferencia de {@code retornoInversion} de {@link CalculadoraSolar}, la proyección
+ * considera el aumento de la tarifa, la degradación de los paneles, el costo de
+ * operación y el reemplazo del inversor. El ahorro de cada año se limita a la
+ * energía que el sistema alcanza a producir.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class AnalisisFinanciero {
+
+    // Convergencia de la TIR: diferencia entre iteraciones en la tasa
+    private static final double TOLERANCIA_TIR = 1e-10;
+    private static final int MAX_ITERACIONES_TIR = 100;
+
+    // La TIR se busca en v = 1 / (1 + tasa); v = 100 equivale a una tasa de -99 %
+    private static final double V_MAXIMO = 100;
+
+    /**
+     * Proyecta el flujo de caja anual y calcula los indicadores financieros.
+     *
+     * @param calculos Resultado de {@link CalculadoraSolar#calcular}
+     * @param parametros Supuestos financieros de la proyección
+     * @return Flujos e indicadores financieros
+     */
+    public static ResultadoFinanciero analizar(CalculosSolares calculos, ParametrosFinancieros parametros) {
+        int anos = parametros.getAnos();
+        double[] flujos = new double[anos + 1];
+
+        double inversion = calculos.getCostoInstalacion();
+        double consumoAnual = calculos.getConsumoMensual() * 12;
+        double ahorroAnual = calculos.getAhorroMensual() * 12;
+        double produccionAnual = calculos.getProduccionMensualSistema() * 12;
+        double costoOperacion = inversion * parametros.getCostoOperacion();
+        double costoReemplazo = inversion * parametros.getCostoReemplazoInversor();
+        int anoReemplazo = parametros.getAnoReemplazoInversor();
+
+        double descuento = 1 / (1 + parametros.getTasaDescuento());
+        double escalamiento = 1 + parametros.getEscalamientoTarifa();
+        double retencion = 1 - parametros.getDegradacionAnual();
+
+        flujos[0] = -inversion;
+        double valorPresenteNeto = -inversion;
+        double costosDescontados = inversion;
+        double energiaDescontada = 0;
+        double retornoDescontado = inversion > 0 ? Double.POSITIVE_INFINITY : 0;
+
+        // Factores acumulados del año t (se actualizan al final de cada año)
+        double factorDescuento = 1;
+        double factorTarifa = 1;
+        double factorProduccion = 1;
+
+        for (int t = 1; t <= anos; t++) {
+            factorDescuento *= descuento;
+
+            double produccion = produccionAnual * factorProduccion;
+            double cobertura = Math.min(1, produccion / consumoAnual);
+            double ahorro = ahorroAnual * cobertura * factorTarifa;
+            double costos = costoOperacion * factorTarifa;
+            if (t == anoReemplazo) {
+                costos += costoReemplazo;
+            }
+            flujos[t] = ahorro - costos;
+
+            double flujoDescontado = flujos[t] * factorDescuento;
+            double anterior = valorPresenteNeto;
+            valorPresenteNeto += flujoDescontado;
+            if (retornoDescontado == Double.POSITIVE_INFINITY && valorPresenteNeto >= 0) {
+                // Interpolar dentro del año en que se recupera la inversión
+                retornoDescontado = (t - 1) + (-anterior / flujoDescontado);
+            }
+
+            costosDescontados += costos * factorDescuento;
+            energiaDescontada += produccion * factorDescuento;
+
+            factorTarifa *= escalamiento;
+            factorProduccion *= retencion;
+        }
+
+        return new ResultadoFinanciero(
+            flujos,
+            valorPresenteNeto,
+            tasaInternaRetorno(flujos),
+            retornoDescontado,
+            costosDescontados / energiaDescontada
+        );
+    }
+
+    /**
+     * Calcula el valor presente neto de la proyección sin construir los flujos.
+     * Usa el mismo modelo que {@link #analizar}, pero permite evaluar sistemas con
+     * cualquier número de paneles (por ejemplo, menos de los necesarios).
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param produccionMensualSistema Producción del sistema en el primer año, en kWh/mes
+     * @param precioKwh Precio del kWh en el primer año, en COP
+     * @param inversion Costo de instalación en COP
+     * @param parametros Supuestos financieros de la proyección
+     * @return Valor presente neto en COP
+     */
+    public static double valorPresenteNeto(double consumoMensual, double produccionMensualSistema,
+                                           double precioKwh, double inversion,
+                                           ParametrosFinancieros parametros) {
+        return valorPresenteNetoConAhorro(consumoMensual, produccionMensualSistema,
+                consumoMensual * precioKwh, inversion, parametros);
+    }
+
+    /**
+     * Calcula el valor presente neto facturando el consumo con una tarifa por bloques,
+     * por estrato u horaria. El ahorro del primer año es {@code tarifa.costoMensual(consumo)}
+     * y, si el sistema no cubre el consumo, se reduce en proporción a la energía producida,
+     * igual que en {@link #analizar}; con la producción y el costo de
+     * {@link CalculadoraSolar#calcular} da el mismo valor presente neto que {@code analizar}.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param produccionMensualSistema Producción del sistema en el primer año, en kWh/mes
+     * @param tarifa Tarifa de energía del primer año
+     * @param inversion Costo de instalación en COP
+     * @param parametros Supuestos financieros de la proyección
+     * @return Valor presente neto en COP
+     */
+    public static double valorPresenteNeto(double consumoMensual, double produccionMensualSistema,
+                                           Tarifa tarifa, double inversion,
+                                           ParametrosFinancieros parametros) {
+        return valorPresenteNetoConAhorro(consumoMensual, produccionMensualSistema,
+                tarifa.costoMensual(consumoMensual), inversion, parametros);
+    }
+
+    /**
+     * Implementación común de valorPresenteNeto(): mismas operaciones, en el mismo orden,
+     * que el ciclo de {@link #analizar}.
+     */
+    private static double valorPresenteNetoConAhorro(double consumoMensual, double produccionMensualSistema,
+                                                     double ahorroMensual, double inversion,
+                                                     ParametrosFinancieros parametros) {
+        double consumoAnual = consumoMensual * 12;
+        double ahorroAnual = ahorroMensual * 12;
+        double produccionAnual = produccionMensualSistema * 12;
+        double costoOperacion = inversion * parametros.getCostoOperacion();
+        double costoReemplazo = inversion * parametros.getCostoReemplazoInversor();
+        int anoReemplazo = parametros.getAnoReemplazoInversor();
+
+        double descuento = 1 / (1 + parametros.getTasaDescuento());
+        double escalamiento = 1 + parametros.getEscalamientoTarifa();
+        double retencion = 1 - parametros.getDegradacionAnual();
+
+        double valorPresenteNeto = -inversion;
+        double factorDescuento = 1;
+        double factorTarifa = 1;
+        double factorProduccion = 1;
+        for (int t = 1; t <= parametros.getAnos(); t++) {
+            factorDescuento *= descuento;
+            double cobertura = Math.min(1, produccionAnual * factorProduccion / consumoAnual);
+            double costos = costoOperacion * factorTarifa;
+            if (t == anoReemplazo) {
+                costos += costoReemplazo;
+            }
+            valorPresenteNeto += (ahorroAnual * cobertura * factorTarifa - costos) * factorDescuento;
+            factorTarifa *= escalamiento;
+            factorProduccion *= retencion;
+        }
+        return valorPresenteNeto;
+    }
+
+    /**
+     * Calcula el valor presente neto de una serie de flujos anuales.
+     *
+     * @param tasa Tasa de descuento anual (mayor a -1)
+     * @param flujos Flujos por año; el índice 0 no se descuenta
+     * @return Valor presente neto
+     */
+    public static double valorPresenteNeto(double tasa, double[] flujos) {
+        double v = 1 / (1 + tasa);
+        double valor = 0;
+        // Horner: flujos[0] + v * (flujos[1] + v * (flujos[2] + ...))
+        for (int t = flujos.length - 1; t >= 0; t--) {
+            valor = valor * v + flujos[t];
+        }
+        return valor;
+    }
+
+    /**
+     * Calcula la tasa interna de retorno de una serie de flujos anuales.
+     *
+     * @param flujos Flujos por año; el índice 0 debe ser distinto de cero
+     * @return Tasa interna de retorno (fracción anual) o NaN si no existe
+     */
+    public static double tasaInternaRetorno(double[] flujos) {
+        return tasaInternaRetorno(flujos, flujos.length);
+    }
+
+    /**
+     * Calcula la tasa interna de retorno de los primeros n flujos, sin crear objetos.
+     *
+     * <p>Resuelve VPN(v) = 0 en v = 1 / (1 + tasa), donde el VPN es un polinomio que se
+     * evalúa con su derivada por Horner. Primero acota la raíz en (0, 1] (tasa positiva)
+     * o en [1, 100) (tasa entre -99 % y 0) y luego aplica Newton; si un paso sale del
+     * intervalo o no lo reduce lo suficiente, usa bisección. Así siempre converge y en
+     * los casos típicos lo hace en 4 a 6 iteraciones.</p>
+     *
+     * <p>Si los flujos cambian de signo varias veces puede haber varias TIR; se devuelve
+     * una de ellas (la que está en el intervalo acotado).</p>
+     *
+     * @param flujos Flujos por año; el índice 0 debe ser distinto de cero
+     * @param n Número de flujos a considerar
+     * @return Tasa interna de retorno (fracción anual) o NaN si no se puede acotar
+     */
+    public static double tasaInternaRetorno(double[] flujos, int n) {
+        if (n < 2 || flujos[0] == 0) {
+            return Double.NaN;
+        }
+
+        // El extremo "a" del intervalo siempre tiene el mismo signo que flujos[0] = VPN(v = 0)
+        boolean negativoEnA = flujos[0] < 0;
+        double enUno = 0;
+        for (int t = 0; t < n; t++) {
+            enUno += flujos[t];
+        }
+        if (enUno == 0) {
+            return 0;
+        }
+
+        double a;
+        double b;
+        double v;
+        if ((enUno < 0) != negativoEnA) {
+            a = 0;
+            b = 1;
+            // Punto de partida: la tasa que recupera la suma de los flujos en la
+            // "duración" media (n + 1) / 2 de la serie
+            v = Math.pow(-flujos[0] / (enUno - flujos[0]), 2.0 / (n + 1));
+            if (!(v > a && v < b)) {
+                v = 0.5;
+            }
+        } else {
+            double enMaximo = 0;
+            for (int t = n - 1; t >= 0; t--) {
+                enMaximo = enMaximo * V_MAXIMO + flujos[t];
+            }
+            if ((enMaximo < 0) == negativoEnA) {
+                return Double.NaN;
+            }
+            a = 1;
+            b = V_MAXIMO;
+            v = 1 / 0.95; // Se parte de una tasa del -5 %
+        }
+
+        double pasoAnterior = b - a;
+        for (int i = 0; i < MAX_ITERACIONES_TIR; i++) {
+            // VPN y su derivada respecto a v por Horner
+            double valor = flujos[n - 1];
+            double derivada = 0;
+            for (int t = n - 2; t >= 0; t--) {
+                derivada = derivada * v + valor;
+                valor = valor * v + flujos[t];
+            }
+            if (valor == 0) {
+                return 1 / v - 1;
+            }
+
+            if ((valor < 0) == negativoEnA) {
+                a = v;
+            } else {
+                b = v;
+            }
+
+            // d(tasa) = -dv / v², así que la tolerancia en v escala con v²
+            double tolerancia = TOLERANCIA_TIR * v * v;
+            double paso = valor / derivada;
+            if (Math.abs(paso) <= tolerancia) {
+                return 1 / (v - paso) - 1;
+            }
+
+            double siguiente = v - paso;
+            if (!(siguiente > Math.min(a, b) && siguiente < Math.max(a, b))
+                    || Math.abs(2 * valor) > Math.abs(pasoAnterior * derivada)) {
+                siguiente = (a + b) / 2;
+                if (Math.abs(b - a) <= tolerancia) {
+                    return 1 / siguiente - 1;
+                }
+            }
+
+            pasoAnterior = siguiente - v;
+            v = siguiente;
+        }
+        return 1 / v - 1;
+    }
+}
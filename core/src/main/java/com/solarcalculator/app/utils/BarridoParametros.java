@@ -0,0 +1,207 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ParametroConfiguracion;
+import com.solarcalculator.app.model.RangoParametro;
+import com.solarcalculator.app.model.ResultadoBarrido;
+import com.solarcalculator.app.model.Tarifa;
+
+import java.util.EnumSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Motor de barrido de parámetros para superficies de retorno de inversión.
+ * Evalúa la rejilla cartesiana completa de los rangos indicados en paralelo
+ * sobre fork-join y devuelve los resultados en un arreglo primitivo denso.
+ * Los parámetros que no se varían toman el valor de la configuración base.
+ *
+ * <p>El ahorro se factura con la tarifa de la configuración base. Si se varía el precio
+ * del kWh, cada valor escala esa tarifa ({@link Tarifa#escalada(double)}), así que cada
+ * celda es igual, bit a bit, al retorno de inversión de
+ * {@link CalculadoraSolar#calcular(double, ConfiguracionInmutable)} con la configuración
+ * de {@link ParametroConfiguracion#aplicar}. Como el consumo es el mismo en toda la
+ * rejilla, la factura se calcula una vez por valor del precio, no por celda.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class BarridoParametros {
+
+    // Celdas que calcula cada tarea hoja antes de dejar de dividirse
+    private static final int CELDAS_POR_TAREA = 16384;
+
+    /**
+     * Calcula el retorno de inversión en toda la rejilla usando el pool común de fork-join.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param base Configuración con los valores de los parámetros que no se varían
+     * @param rangos Un rango por parámetro a variar (sin repetir parámetros)
+     * @return Rejilla densa con el retorno de inversión de cada combinación
+     * @throws IllegalArgumentException si el consumo es <= 0, se repite un parámetro
+     *         o la rejilla supera el tamaño máximo de un arreglo
+     */
+    public static ResultadoBarrido barrer(double consumoMensual, ConfiguracionInmutable base,
+                                          RangoParametro... rangos) {
+        return barrer(ForkJoinPool.commonPool(), consumoMensual, base, rangos);
+    }
+
+    /**
+     * Calcula el retorno de inversión en toda la rejilla con el pool indicado.
+     *
+     * @param pool Pool de fork-join donde se ejecutan las tareas
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param base Configuración con los valores de los parámetros que no se varían
+     * @param rangos Un rango por parámetro a variar (sin repetir parámetros)
+     * @return Rejilla densa con el retorno de inversión de cada combinación
+     */
+    public static ResultadoBarrido barrer(ForkJoinPool pool, double consumoMensual,
+                                          ConfiguracionInmutable base, RangoParametro... rangos) {
+        if (consumoMensual <= 0) {
+            throw new IllegalArgumentException("El consumo mensual debe ser mayor a 0");
+        }
+
+        EnumSet<ParametroConfiguracion> usados = EnumSet.noneOf(ParametroConfiguracion.class);
+        long celdas = 1;
+        for (RangoParametro rango : rangos) {
+            if (!usados.add(rango.getParametro())) {
+                throw new IllegalArgumentException("Parámetro repetido en el barrido: " + rango.getParametro());
+            }
+            celdas *= rango.getPasos();
+            if (celdas > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("La rejilla del barrido es demasiado grande");
+            }
+        }
+
+        ResultadoBarrido resultado = new ResultadoBarrido(rangos, (int) celdas);
+        pool.invoke(new Tarea(new Rejilla(consumoMensual, base, rangos), resultado.getRetornoInversion(),
+                0, (int) celdas));
+        return resultado;
+    }
+
+    /**
+     * Datos compartidos (solo lectura) por todas las tareas de un barrido.
+     */
+    private static final class Rejilla {
+        final double consumoMensual;
+        final double[] valoresBase;   // Indexados por ordinal de ParametroConfiguracion
+        final int[] parametros;       // Ordinal del parámetro de cada dimensión
+        final int[] pasos;
+        final double[][] valores;     // Valores precalculados de cada dimensión
+
+        // Ahorro anual facturado con la tarifa base, o con la tarifa escalada a cada
+        // precio si el precio se varía (indexado por el paso de esa dimensión)
+        final int dimensionPrecio;    // -1 si el precio no se varía
+        final double ahorroAnualBase;
+        final double[] ahorrosAnuales;
+
+        Rejilla(double consumoMensual, ConfiguracionInmutable base, RangoParametro[] rangos) {
+            this.consumoMensual = consumoMensual;
+            ParametroConfiguracion[] todos = ParametroConfiguracion.values();
+            valoresBase = new double[todos.length];
+            for (ParametroConfiguracion parametro : todos) {
+                valoresBase[parametro.ordinal()] = parametro.obtener(base);
+            }
+            parametros = new int[rangos.length];
+            pasos = new int[rangos.length];
+            valores = new double[rangos.length][];
+            for (int d = 0; d < rangos.length; d++) {
+                parametros[d] = rangos[d].getParametro().ordinal();
+                pasos[d] = rangos[d].getPasos();
+                valores[d] = new double[pasos[d]];
+                for (int i = 0; i < pasos[d]; i++) {
+                    valores[d][i] = rangos[d].valor(i);
+                }
+            }
+
+            // Mismas operaciones que CalculadoraSolar.calcular(): factura mensual × 12
+            Tarifa tarifa = base.getTarifa();
+            int dimension = -1;
+            for (int d = 0; d < rangos.length; d++) {
+                if (parametros[d] == ParametroConfiguracion.PRECIO_KWH.ordinal()) {
+                    dimension = d;
+                }
+            }
+            dimensionPrecio = dimension;
+            ahorroAnualBase = tarifa.costoMensual(consumoMensual) * 12;
+            if (dimension < 0) {
+                ahorrosAnuales = null;
+            } else {
+                ahorrosAnuales = new double[pasos[dimension]];
+                for (int i = 0; i < ahorrosAnuales.length; i++) {
+                    ahorrosAnuales[i] = tarifa.escalada(valores[dimension][i]).costoMensual(consumoMensual) * 12;
+                }
+            }
+        }
+
+        /**
+         * Calcula las celdas [desde, hasta) recorriendo los índices como un odómetro,
+         * sin divisiones por celda.
+         */
+        void calcular(double[] destino, int desde, int hasta) {
+            int dimensiones = pasos.length;
+            int[] indices = new int[dimensiones];
+            double[] actuales = valoresBase.clone();
+
+            // Decodificar el índice plano inicial
+            int resto = desde;
+            for (int d = dimensiones - 1; d >= 0; d--) {
+                indices[d] = resto % pasos[d];
+                resto /= pasos[d];
+                actuales[parametros[d]] = valores[d][indices[d]];
+            }
+
+            int produccion = ParametroConfiguracion.PRODUCCION_PANEL.ordinal();
+            int costo = ParametroConfiguracion.COSTO_PANEL.ordinal();
+
+            for (int celda = desde; celda < hasta; celda++) {
+                // Mismas fórmulas que CalculadoraSolar.calcular()
+                double produccionMensualPorPanel = actuales[produccion] * 30;
+                int numeroPaneles = (int) Math.ceil(consumoMensual / produccionMensualPorPanel);
+                double costoInstalacion = numeroPaneles * actuales[costo];
+                double ahorroAnual = dimensionPrecio < 0
+                        ? ahorroAnualBase : ahorrosAnuales[indices[dimensionPrecio]];
+                destino[celda] = costoInstalacion / ahorroAnual;
+
+                // Avanzar al siguiente índice (la última dimensión varía más rápido)
+                for (int d = dimensiones - 1; d >= 0; d--) {
+                    if (++indices[d] < pasos[d]) {
+                        actuales[parametros[d]] = valores[d][indices[d]];
+                        break;
+                    }
+                    indices[d] = 0;
+                    actuales[parametros[d]] = valores[d][0];
+                }
+            }
+        }
+    }
+
+    /**
+     * Tarea fork-join que divide el rango de celdas a la mitad hasta un tamaño mínimo.
+     */
+    private static final class Tarea extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Rejilla rejilla;
+        private final double[] destino;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(Rejilla rejilla, double[] destino, int desde, int hasta) {
+            this.rejilla = rejilla;
+            this.destino = destino;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= CELDAS_POR_TAREA) {
+                rejilla.calcular(destino, desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Tarea(rejilla, destino, desde, medio), new Tarea(rejilla, destino, medio, hasta));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.Configuracion;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU acotada de resultados de {@link CalculadoraSolar#calcular}.
+ * La clave es el consumo mensual junto con la versión de la configuración. Un setter
+ * o restaurarValoresPorDefecto crea una versión nueva, así que los resultados de la
+ * anterior dejan de encontrarse y salen por orden LRU; alternar entre dos
+ * configuraciones conserva los resultados de ambas. Es segura para usarse desde
+ * varios hilos.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CacheCalculos {
+
+    private final int capacidad;
+    private final LinkedHashMap<Clave, CalculosSolares> entradas;
+
+    // Contadores (protegidos por el monitor de la caché)
+    private long aciertos;
+    private long fallos;
+
+    /**
+     * Constructor con el número máximo de resultados a conservar.
+     *
+     * @param capacidad Número máximo de entradas (mayor a 0)
+     * @throws IllegalArgumentException si la capacidad es <= 0
+     */
+    public CacheCalculos(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor a 0");
+        }
+        this.capacidad = capacidad;
+        // accessOrder = true: el orden de iteración va del menos al más usado recientemente
+        this.entradas = new LinkedHashMap<Clave, CalculosSolares>(capacidad * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, CalculosSolares> eldest) {
+                return size() > CacheCalculos.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el resultado en caché o lo calcula y lo guarda.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Configuración con las constantes del sistema
+     * @return Objeto CalculosSolares con todos los resultados
+     * @throws IllegalArgumentException si el consumo es <= 0
+     */
+    public CalculosSolares calcular(double consumoMensual, Configuracion config) {
+        // Una sola instantánea: la versión de la clave y el cálculo salen de los mismos valores
+        ConfiguracionInmutable constantes = config.getConfiguracionInmutable();
+        Clave clave = new Clave(consumoMensual, constantes.getVersion());
+
+        synchronized (this) {
+            CalculosSolares enCache = entradas.get(clave);
+            if (enCache != null) {
+                aciertos++;
+                return enCache;
+            }
+            fallos++;
+        }
+
+        // Se calcula fuera del monitor para no bloquear a otros hilos
+        CalculosSolares calculos = CalculadoraSolar.calcular(consumoMensual, constantes);
+
+        synchronized (this) {
+            entradas.put(clave, calculos);
+        }
+        return calculos;
+    }
+
+    /**
+     * Elimina todos los resultados guardados. Los contadores se conservan.
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+    }
+
+    /**
+     * Obtiene el número de resultados guardados actualmente.
+     */
+    public synchronized int getTamano() {
+        return entradas.size();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene cuántas llamadas se resolvieron desde la caché.
+     */
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Obtiene cuántas llamadas tuvieron que calcular el resultado.
+     */
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Clave de la caché: consumo mensual y versión de la configuración.
+     */
+    private static final class Clave {
+        private final long bitsConsumo;
+        private final long version;
+
+        Clave(double consumoMensual, long version) {
+            this.bitsConsumo = Double.doubleToLongBits(consumoMensual);
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) o;
+            return bitsConsumo == otra.bitsConsumo && version == otra.version;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = bitsConsumo * 31 + version;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
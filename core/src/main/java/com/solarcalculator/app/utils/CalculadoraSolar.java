@@ -0,0 +1,237 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.Configuracion;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.PerfilProduccion;
+import com.solarcalculator.app.model.ResultadosLote;
+import com.solarcalculator.app.model.Tarifa;
+
+/**
+ * Clase utilitaria que contiene la lógica de cálculo del sistema solar fotovoltaico.
+ * Todos los métodos son estáticos y pueden ser probados unitariamente.
+ * 
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CalculadoraSolar {
+    
+    /**
+     * Calcula todos los parámetros del sistema solar basándose en el consumo mensual.
+     * 
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Configuración con las constantes del sistema
+     * @return Objeto CalculosSolares con todos los resultados
+     * @throws IllegalArgumentException si el consumo es <= 0
+     */
+    public static CalculosSolares calcular(double consumoMensual, Configuracion config) {
+        return calcular(consumoMensual, config.getConfiguracionInmutable());
+    }
+    
+    /**
+     * Calcula todos los parámetros del sistema solar usando constantes ya leídas.
+     * 
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Copia inmutable de las constantes del sistema
+     * @return Objeto CalculosSolares con todos los resultados
+     * @throws IllegalArgumentException si el consumo es <= 0
+     */
+    public static CalculosSolares calcular(double consumoMensual, ConfiguracionInmutable config) {
+        double produccion = config.getProduccionMensualPanel();
+        return calcular(consumoMensual, config, produccion, produccion);
+    }
+    
+    /**
+     * Calcula todos los parámetros del sistema usando la producción de una simulación horaria
+     * en lugar de "producción diaria × 30". El número de paneles se elige para el peor mes
+     * del perfil ({@link PerfilProduccion#getProduccionMensualMinima()}), así que el sistema
+     * cubre el consumo también en la temporada de lluvias; la producción del sistema que se
+     * informa es el promedio mensual (producción anual / 12).
+     * 
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Copia inmutable de las constantes del sistema
+     * @param perfil Perfil de un panel ya simulado con {@link SimuladorHorario}
+     * @return Objeto CalculosSolares con todos los resultados
+     * @throws IllegalArgumentException si el consumo es <= 0
+     */
+    public static CalculosSolares calcular(double consumoMensual, ConfiguracionInmutable config,
+                                           PerfilProduccion perfil) {
+        return calcular(consumoMensual, config, perfil.getProduccionMensualMinima(),
+                perfil.getProduccionMensualPromedio());
+    }
+    
+    /**
+     * Implementación común de calcular() con la producción mensual por panel ya resuelta:
+     * la que se usa para dimensionar y la promedio del año.
+     */
+    private static CalculosSolares calcular(double consumoMensual, ConfiguracionInmutable config,
+                                            double produccionDimensionamiento,
+                                            double produccionMensualPorPanel) {
+        if (consumoMensual <= 0) {
+            throw new IllegalArgumentException("El consumo mensual debe ser mayor a 0");
+        }
+        
+        // Obtener constantes de configuración (ya precalculadas)
+        double potenciaPorPanel = config.getPotenciaPanelKw(); // kW
+        double areaPorPanel = config.getAreaPanel();
+        Tarifa tarifa = config.getTarifa();
+        double costoPorPanel = config.getCostoPanel();
+        
+        // Cálculo 1: Número de paneles necesarios
+        double numeroPanelesExacto = consumoMensual / produccionDimensionamiento;
+        int numeroPaneles = (int) Math.ceil(numeroPanelesExacto); // Redondear hacia arriba
+        
+        // Cálculo 2: Potencia total del sistema (kW)
+        double potenciaSistema = numeroPaneles * potenciaPorPanel;
+        
+        // Cálculo 3: Producción mensual total del sistema
+        double produccionMensualSistema = numeroPaneles * produccionMensualPorPanel;
+        
+        // Cálculo 4: Ahorro mensual (COP): la factura que el sistema deja de pagar
+        // (con tarifa plana, consumo × precio del kWh)
+        double ahorroMensual = tarifa.costoMensual(consumoMensual);
+        
+        // Cálculo 5: Costo total de instalación (COP)
+        double costoInstalacion = numeroPaneles * costoPorPanel;
+        
+        // Cálculo 6: Retorno de inversión en años
+        double ahorroAnual = ahorroMensual * 12;
+        double retornoInversion = costoInstalacion / ahorroAnual;
+        
+        // Cálculo 7: Área total requerida (m²)
+        double areaRequerida = numeroPaneles * areaPorPanel;
+        
+        // Crear y retornar el objeto con todos los resultados
+        return new CalculosSolares(
+            consumoMensual,
+            potenciaSistema,
+            numeroPaneles,
+            numeroPanelesExacto,
+            ahorroMensual,
+            costoInstalacion,
+            retornoInversion,
+            areaRequerida,
+            produccionMensualSistema
+        );
+    }
+    
+    /**
+     * Calcula el sistema solar para un lote de consumos mensuales.
+     * Las constantes de configuración se leen una sola vez y los resultados se escriben
+     * en las columnas primitivas del lote, sin crear objetos dentro del ciclo.
+     *
+     * @param consumosMensuales Consumos promedio en kWh/mes
+     * @param config Configuración con las constantes del sistema
+     * @param resultados Lote preasignado donde se escriben los resultados
+     * @throws IllegalArgumentException si el lote no tiene capacidad suficiente
+     *         o algún consumo es <= 0 (en ese caso no se escribe ninguna fila)
+     */
+    public static void calcularLote(double[] consumosMensuales, Configuracion config,
+                                    ResultadosLote resultados) {
+        calcularLote(consumosMensuales, config.getConfiguracionInmutable(), resultados);
+    }
+    
+    /**
+     * Calcula el sistema solar para un lote de consumos usando constantes ya leídas.
+     *
+     * @param consumosMensuales Consumos promedio en kWh/mes
+     * @param config Copia inmutable de las constantes del sistema
+     * @param resultados Lote preasignado donde se escriben los resultados
+     * @throws IllegalArgumentException si el lote no tiene capacidad suficiente
+     *         o algún consumo es <= 0 (en ese caso no se escribe ninguna fila)
+     */
+    public static void calcularLote(double[] consumosMensuales, ConfiguracionInmutable config,
+                                    ResultadosLote resultados) {
+        int n = consumosMensuales.length;
+        if (resultados.getCapacidad() < n) {
+            throw new IllegalArgumentException("El lote de resultados no tiene capacidad suficiente");
+        }
+        for (int i = 0; i < n; i++) {
+            if (consumosMensuales[i] <= 0) {
+                throw new IllegalArgumentException("El consumo mensual debe ser mayor a 0 (fila " + i + ")");
+            }
+        }
+
+        // Obtener constantes de configuración una sola vez para todo el lote
+        double produccionMensualPorPanel = config.getProduccionMensualPanel(); // kWh/mes
+        double potenciaPorPanel = config.getPotenciaPanelKw(); // kW
+        double areaPorPanel = config.getAreaPanel();
+        Tarifa tarifa = config.getTarifa();
+        double costoPorPanel = config.getCostoPanel();
+
+        int[] paneles = resultados.getNumeroPaneles();
+        double[] panelesExacto = resultados.getNumeroPanelesExacto();
+        double[] potencia = resultados.getPotenciaSistema();
+        double[] ahorro = resultados.getAhorroMensual();
+        double[] costo = resultados.getCostoInstalacion();
+        double[] retorno = resultados.getRetornoInversion();
+        double[] area = resultados.getAreaRequerida();
+        double[] produccion = resultados.getProduccionMensualSistema();
+
+        // Mismas fórmulas que calcular(), aplicadas columna por columna
+        for (int i = 0; i < n; i++) {
+            double consumoMensual = consumosMensuales[i];
+            double numeroPanelesExacto = consumoMensual / produccionMensualPorPanel;
+            int numeroPaneles = (int) Math.ceil(numeroPanelesExacto);
+            double ahorroMensual = tarifa.costoMensual(consumoMensual);
+            double costoInstalacion = numeroPaneles * costoPorPanel;
+
+            paneles[i] = numeroPaneles;
+            panelesExacto[i] = numeroPanelesExacto;
+            potencia[i] = numeroPaneles * potenciaPorPanel;
+            produccion[i] = numeroPaneles * produccionMensualPorPanel;
+            ahorro[i] = ahorroMensual;
+            costo[i] = costoInstalacion;
+            retorno[i] = costoInstalacion / (ahorroMensual * 12);
+            area[i] = numeroPaneles * areaPorPanel;
+        }
+
+        resultados.setTamano(n);
+    }
+
+    /**
+     * Valida que un valor sea un número válido y positivo.
+     * 
+     * @param valor Valor a validar
+     * @return true si es válido, false en caso contrario
+     */
+    public static boolean esValorValido(String valor) {
+        ParserNumeros parser = new ParserNumeros();
+        return parser.parsear(valor) == ParserNumeros.VALIDO && parser.getValor() > 0;
+    }
+    
+    /**
+     * Convierte un string a double, manejando comas y puntos decimales
+     * y separadores de miles colombianos (ej: "1.234,5").
+     * Para evitar excepciones en valores inválidos usar {@link ParserNumeros} directamente.
+     * 
+     * @param valor String a convertir
+     * @return Valor convertido a double
+     * @throws NumberFormatException si el valor no es un número válido
+     */
+    public static double parseDouble(String valor) throws NumberFormatException {
+        ParserNumeros parser = new ParserNumeros();
+        int resultado = parser.parsear(valor);
+        if (resultado == ParserNumeros.ERROR_VACIO) {
+            throw new NumberFormatException("Valor vacío");
+        }
+        if (resultado != ParserNumeros.VALIDO) {
+            throw new NumberFormatException("Valor inválido: " + valor);
+        }
+        return parser.getValor();
+    }
+    
+    /**
+     * Calcula el porcentaje de cobertura del sistema respecto al consumo.
+     * 
+     * @param produccionSistema Producción mensual del sistema en kWh
+     * @param consumoMensual Consumo mensual en kWh
+     * @return Porcentaje de cobertura (0-100+)
+     */
+    public static double calcularPorcentajeCobertura(double produccionSistema, double consumoMensual) {
+        if (consumoMensual == 0) {
+            return 0;
+        }
+        return (produccionSistema / consumoMensual) * 100.0;
+    }
+}
@@ -0,0 +1,414 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ModeloPanel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogo de modelos de panel guardado en columnas primitivas, con un índice ordenado
+ * por cada característica consultable: potencia, área, costo por watt y eficiencia.
+ *
+ * <p>Los índices son permutaciones de los modelos ordenadas por la columna, así que un
+ * rango ("paneles entre 400 y 600 W") se resuelve con dos búsquedas binarias, y
+ * {@link #masBaratoQueCubre} descarta por área los modelos que no caben y recorre el
+ * resto de menor a mayor costo por kWh, deteniéndose en cuanto ninguno de los restantes
+ * puede ser más barato. Los
+ * {@link ModeloPanel} se crean solo al pedirlos.</p>
+ *
+ * <p>Formato del archivo de datos (UTF-8, una línea por modelo, separado por ';'):</p>
+ * <pre>
+ * # comentario
+ * nombre;potencia (W);producción (kWh/día);área (m²);costo instalado (COP)
+ * </pre>
+ * <p>La primera línea que no es comentario es el encabezado y se ignora. Los números
+ * aceptan los formatos de {@link ParserNumeros}.</p>
+ *
+ * <p>Es inmutable y seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class CatalogoPaneles {
+
+    /** Índice ordenado por potencia nominal. */
+    public static final int POR_POTENCIA = 0;
+    /** Índice ordenado por área. */
+    public static final int POR_AREA = 1;
+    /** Índice ordenado por costo por watt. */
+    public static final int POR_COSTO_POR_WATT = 2;
+    /** Índice ordenado por eficiencia. */
+    public static final int POR_EFICIENCIA = 3;
+
+    // Irradiancia de referencia (condiciones estándar de prueba) para la eficiencia
+    private static final double IRRADIANCIA_STC = 1000.0; // W/m²
+    private static final char SEPARADOR = ';';
+
+    // Holgura relativa del filtro por área frente a errores de redondeo; el filtro solo
+    // descarta modelos, la comprobación exacta se hace después
+    private static final double HOLGURA_AREA = 1e-9;
+
+    // Columnas
+    private final String[] nombres;
+    private final double[] potencias;        // W
+    private final double[] producciones;     // kWh/día
+    private final double[] areas;            // m²
+    private final double[] costos;           // COP
+    private final double[] costosPorWatt;    // COP/W
+    private final double[] eficiencias;      // Fracción (0-1)
+    private final double[] costosPorKwhMes;  // COP por kWh/mes producido
+    private final double[] areasPorKwhMes;   // m² por kWh/mes producido
+
+    // Índices: indices[columna][posición] = modelo; claves[columna] es la columna indexada
+    private final int[][] indices;
+    private final double[][] claves;
+    private final int[] porCostoPorKwhMes;
+    private final int[] porAreaPorKwhMes;
+
+    /**
+     * Crea el catálogo a partir de una lista de modelos.
+     *
+     * @param modelos Modelos del catálogo
+     * @throws IllegalArgumentException si algún modelo tiene potencia no positiva
+     */
+    public CatalogoPaneles(List<ModeloPanel> modelos) {
+        int n = modelos.size();
+        nombres = new String[n];
+        potencias = new double[n];
+        producciones = new double[n];
+        areas = new double[n];
+        costos = new double[n];
+        costosPorWatt = new double[n];
+        eficiencias = new double[n];
+        costosPorKwhMes = new double[n];
+        areasPorKwhMes = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            ModeloPanel modelo = modelos.get(i);
+            if (!(modelo.getPotencia() > 0)) {
+                throw new IllegalArgumentException("La potencia del panel debe ser mayor a 0: " + modelo.getNombre());
+            }
+            nombres[i] = modelo.getNombre();
+            potencias[i] = modelo.getPotencia();
+            producciones[i] = modelo.getProduccionPanel();
+            areas[i] = modelo.getArea();
+            costos[i] = modelo.getCosto();
+            costosPorWatt[i] = modelo.getCosto() / modelo.getPotencia();
+            eficiencias[i] = modelo.getPotencia() / (modelo.getArea() * IRRADIANCIA_STC);
+            costosPorKwhMes[i] = modelo.getCosto() / modelo.getProduccionMensualPanel();
+            areasPorKwhMes[i] = modelo.getArea() / modelo.getProduccionMensualPanel();
+        }
+
+        claves = new double[][] {potencias, areas, costosPorWatt, eficiencias};
+        indices = new int[claves.length][];
+        for (int columna = 0; columna < claves.length; columna++) {
+            indices[columna] = ordenar(claves[columna]);
+        }
+        porCostoPorKwhMes = ordenar(costosPorKwhMes);
+        porAreaPorKwhMes = ordenar(areasPorKwhMes);
+    }
+
+    /**
+     * Lee un catálogo en el formato descrito en la clase.
+     *
+     * @param entrada Texto del archivo de datos
+     * @return Catálogo con todos los modelos del archivo
+     * @throws IOException si falla la lectura o alguna línea es inválida
+     */
+    public static CatalogoPaneles leer(Reader entrada) throws IOException {
+        BufferedReader lector = entrada instanceof BufferedReader
+                ? (BufferedReader) entrada : new BufferedReader(entrada);
+        ParserNumeros parser = new ParserNumeros();
+        double[] valores = new double[4];
+        List<ModeloPanel> modelos = new ArrayList<>();
+        boolean encabezado = true;
+        int numeroLinea = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            if (linea.trim().isEmpty() || linea.trim().charAt(0) == '#') {
+                continue;
+            }
+            if (encabezado) {
+                encabezado = false;
+                continue;
+            }
+
+            int fin = linea.indexOf(SEPARADOR);
+            if (fin <= 0) {
+                throw new IOException("Línea " + numeroLinea + " inválida en el catálogo de paneles");
+            }
+            String nombre = linea.substring(0, fin).trim();
+            for (int campo = 0; campo < valores.length; campo++) {
+                int inicio = fin + 1;
+                fin = linea.indexOf(SEPARADOR, inicio);
+                if (fin < 0) {
+                    fin = linea.length();
+                }
+                if (inicio > linea.length()
+                        || parser.parsear(linea, inicio, fin) != ParserNumeros.VALIDO
+                        || !(parser.getValor() > 0)) {
+                    throw new IOException("Línea " + numeroLinea + " inválida en el catálogo de paneles");
+                }
+                valores[campo] = parser.getValor();
+            }
+            modelos.add(new ModeloPanel(nombre, valores[0], valores[1], valores[2], valores[3]));
+        }
+        return new CatalogoPaneles(modelos);
+    }
+
+    /**
+     * Obtiene el número de modelos del catálogo.
+     */
+    public int getTamano() {
+        return nombres.length;
+    }
+
+    /**
+     * Crea el {@link ModeloPanel} de un modelo del catálogo.
+     *
+     * @param indice Índice del modelo (0 a getTamano() - 1)
+     * @return Modelo con sus características
+     */
+    public ModeloPanel getModelo(int indice) {
+        return new ModeloPanel(nombres[indice], potencias[indice], producciones[indice],
+                areas[indice], costos[indice]);
+    }
+
+    public String getNombre(int indice) {
+        return nombres[indice];
+    }
+
+    public double getPotencia(int indice) {
+        return potencias[indice];
+    }
+
+    public double getArea(int indice) {
+        return areas[indice];
+    }
+
+    public double getCosto(int indice) {
+        return costos[indice];
+    }
+
+    public double getCostoPorWatt(int indice) {
+        return costosPorWatt[indice];
+    }
+
+    /**
+     * Obtiene la eficiencia de un modelo: potencia nominal / (área × 1000 W/m²).
+     *
+     * @param indice Índice del modelo
+     * @return Eficiencia como fracción (por ejemplo 0.21)
+     */
+    public double getEficiencia(int indice) {
+        return eficiencias[indice];
+    }
+
+    /**
+     * Obtiene el modelo que ocupa una posición en el orden de un índice.
+     *
+     * @param columna POR_POTENCIA, POR_AREA, POR_COSTO_POR_WATT o POR_EFICIENCIA
+     * @param posicion Posición en el orden ascendente (0 a getTamano() - 1)
+     * @return Índice del modelo
+     */
+    public int modeloEn(int columna, int posicion) {
+        return indices[columna][posicion];
+    }
+
+    /**
+     * Busca la primera posición de un índice con valor mayor o igual al dado.
+     *
+     * @param columna POR_POTENCIA, POR_AREA, POR_COSTO_POR_WATT o POR_EFICIENCIA
+     * @param minimo Valor buscado
+     * @return Posición en el orden ascendente; getTamano() si todos son menores
+     */
+    public int primeraPosicion(int columna, double minimo) {
+        return limiteInferior(indices[columna], claves[columna], minimo);
+    }
+
+    /**
+     * Cuenta los modelos con valor en [minimo, maximo] en una columna.
+     *
+     * @param columna POR_POTENCIA, POR_AREA, POR_COSTO_POR_WATT o POR_EFICIENCIA
+     * @param minimo Valor mínimo (inclusive)
+     * @param maximo Valor máximo (inclusive)
+     * @return Número de modelos en el rango
+     */
+    public int contarEnRango(int columna, double minimo, double maximo) {
+        return Math.max(0, limiteSuperior(indices[columna], claves[columna], maximo)
+                - limiteInferior(indices[columna], claves[columna], minimo));
+    }
+
+    /**
+     * Obtiene los modelos con valor en [minimo, maximo] en una columna, en orden
+     * ascendente; por ejemplo, para pasarlos a {@link OptimizadorPaneles}.
+     *
+     * @param columna POR_POTENCIA, POR_AREA, POR_COSTO_POR_WATT o POR_EFICIENCIA
+     * @param minimo Valor mínimo (inclusive)
+     * @param maximo Valor máximo (inclusive)
+     * @return Modelos en el rango
+     */
+    public List<ModeloPanel> modelosEnRango(int columna, double minimo, double maximo) {
+        int desde = limiteInferior(indices[columna], claves[columna], minimo);
+        int hasta = limiteSuperior(indices[columna], claves[columna], maximo);
+        List<ModeloPanel> modelos = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int posicion = desde; posicion < hasta; posicion++) {
+            modelos.add(getModelo(indices[columna][posicion]));
+        }
+        return modelos;
+    }
+
+    /**
+     * Busca el modelo con el que cubrir un consumo cuesta menos, sin pasar de un área.
+     * El número de paneles se redondea hacia arriba, igual que en {@link CalculadoraSolar}.
+     * Entre modelos del mismo costo se prefiere el de menor área y luego el de menor índice.
+     *
+     * <p>Un modelo nunca ocupa menos que consumo × área por kWh/mes, así que con una
+     * búsqueda binaria en ese índice se separan los modelos que pueden caber. Si son pocos
+     * (menos de un cuarto del catálogo) se evalúan solo esos. Si no, se recorren los
+     * modelos de menor a mayor costo por kWh/mes, saltando sin calcular los que no caben:
+     * como el costo de un sistema nunca es menor que consumo × costo por kWh/mes, en cuanto
+     * esa cota supera al mejor sistema encontrado, ningún modelo restante puede mejorarlo.
+     * El peor caso sigue siendo O(n): casi todo el catálogo cabe y los modelos baratos por
+     * kWh no caben, o sus costos por kWh/mes están muy juntos.</p>
+     *
+     * @param consumoMensual Consumo a cubrir en kWh/mes
+     * @param areaMaxima Área disponible en m²
+     * @return Índice del modelo, o -1 si ninguno cabe en el área
+     * @throws IllegalArgumentException si el consumo o el área no son positivos
+     */
+    public int masBaratoQueCubre(double consumoMensual, double areaMaxima) {
+        if (!(consumoMensual > 0) || !(areaMaxima > 0)) {
+            throw new IllegalArgumentException("El consumo y el área deben ser mayores a 0");
+        }
+        double limiteArea = areaMaxima / consumoMensual * (1 + HOLGURA_AREA);
+        int caben = limiteSuperior(porAreaPorKwhMes, areasPorKwhMes, limiteArea);
+        boolean soloLosQueCaben = caben < porCostoPorKwhMes.length / 4;
+        int[] orden = soloLosQueCaben ? porAreaPorKwhMes : porCostoPorKwhMes;
+        int fin = soloLosQueCaben ? caben : orden.length;
+
+        int mejor = -1;
+        double mejorCosto = Double.POSITIVE_INFINITY;
+        double mejorArea = Double.POSITIVE_INFINITY;
+        for (int posicion = 0; posicion < fin; posicion++) {
+            int i = orden[posicion];
+            if (!soloLosQueCaben) {
+                if (consumoMensual * costosPorKwhMes[i] > mejorCosto) {
+                    break;
+                }
+                if (areasPorKwhMes[i] > limiteArea) {
+                    continue;
+                }
+            }
+            int paneles = (int) Math.ceil(consumoMensual / (producciones[i] * 30));
+            double area = paneles * areas[i];
+            if (area > areaMaxima) {
+                continue;
+            }
+            double costo = paneles * costos[i];
+            if (costo < mejorCosto || (costo == mejorCosto
+                    && (area < mejorArea || (area == mejorArea && i < mejor)))) {
+                mejor = i;
+                mejorCosto = costo;
+                mejorArea = area;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Crea la configuración de un modelo del catálogo, lista para
+     * {@link CalculadoraSolar#calcular(double, ConfiguracionInmutable)}.
+     *
+     * @param indice Índice del modelo
+     * @param precioKwh Precio del kWh en COP
+     * @return Constantes del sistema con el panel del modelo
+     */
+    public ConfiguracionInmutable configuracionPara(int indice, double precioKwh) {
+        return new ConfiguracionInmutable(producciones[indice], potencias[indice], areas[indice],
+                precioKwh, costos[indice]);
+    }
+
+    /**
+     * Crea la permutación de los modelos ordenada por (clave, índice) con heapsort.
+     */
+    private static int[] ordenar(double[] clave) {
+        int n = clave.length;
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hundir(orden, clave, i, n);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            int mayor = orden[0];
+            orden[0] = orden[fin];
+            orden[fin] = mayor;
+            hundir(orden, clave, 0, fin);
+        }
+        return orden;
+    }
+
+    private static void hundir(int[] orden, double[] clave, int i, int n) {
+        int elemento = orden[i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= n) {
+                break;
+            }
+            if (hijo + 1 < n && mayor(clave, orden[hijo + 1], orden[hijo])) {
+                hijo++;
+            }
+            if (!mayor(clave, orden[hijo], elemento)) {
+                break;
+            }
+            orden[i] = orden[hijo];
+            i = hijo;
+        }
+        orden[i] = elemento;
+    }
+
+    private static boolean mayor(double[] clave, int a, int b) {
+        return clave[a] > clave[b] || (clave[a] == clave[b] && a > b);
+    }
+
+    /**
+     * Primera posición con clave >= valor.
+     */
+    private static int limiteInferior(int[] orden, double[] clave, double valor) {
+        int bajo = 0;
+        int alto = orden.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (clave[orden[medio]] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Primera posición con clave > valor.
+     */
+    private static int limiteSuperior(int[] orden, double[] clave, double valor) {
+        int bajo = 0;
+        int alto = orden.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (clave[orden[medio]] <= valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+}
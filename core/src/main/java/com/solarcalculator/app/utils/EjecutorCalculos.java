@@ -0,0 +1,217 @@
+package com.solarcalculator.app.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ejecuta cálculos fuera del hilo principal y entrega sus resultados en él.
+ *
+ * <p>Solo hay una solicitud vigente: enviar una nueva cancela la anterior, cuyo
+ * progreso y resultado se descartan. El resultado se entrega al receptor vinculado; si
+ * no hay ninguno (la actividad está detenida o se está recreando) se guarda y se
+ * entrega al vincular el siguiente receptor, así no se pierde ni se entrega a una
+ * actividad destruida.</p>
+ *
+ * <p>El hilo principal es un {@link Executor} cualquiera: en Android publica en el
+ * Looper principal y en pruebas de JVM puede ser {@code Runnable::run} o una cola que
+ * se vacía a mano. Todos los métodos públicos deben llamarse desde ese hilo.</p>
+ *
+ * @param <T> Tipo del resultado
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EjecutorCalculos<T> {
+
+    /**
+     * Cálculo que se ejecuta en segundo plano.
+     */
+    public interface Tarea<T> {
+        /**
+         * @param progreso Canal para informar el avance y consultar la cancelación
+         * @return Resultado del cálculo
+         */
+        T ejecutar(ProgresoCalculo progreso) throws Exception;
+    }
+
+    /**
+     * Recibe en el hilo principal el progreso y el resultado de la solicitud vigente.
+     */
+    public interface Receptor<T> {
+        /**
+         * @param fraccion Avance entre 0 y 1
+         */
+        void alProgresar(double fraccion);
+
+        void alTerminar(T resultado);
+
+        void alFallar(Exception error);
+    }
+
+    private final ExecutorService fondo;
+    private final Executor principal;
+
+    // Estado del hilo principal
+    private Receptor<T> receptor;
+    private Solicitud vigente;      // En ejecución
+    private Solicitud pendiente;    // Terminada y sin entregar
+
+    /**
+     * Constructor con los dos ejecutores.
+     *
+     * @param fondo Pool donde se ejecutan los cálculos
+     * @param principal Ejecutor del hilo principal
+     */
+    public EjecutorCalculos(ExecutorService fondo, Executor principal) {
+        this.fondo = fondo;
+        this.principal = principal;
+    }
+
+    /**
+     * Envía un cálculo, cancelando el que estuviera en curso.
+     *
+     * @param tarea Cálculo a ejecutar
+     */
+    public void enviar(Tarea<T> tarea) {
+        cancelar();
+        Solicitud solicitud = new Solicitud(tarea);
+        vigente = solicitud;
+        solicitud.futuro = fondo.submit(solicitud);
+    }
+
+    /**
+     * Cancela la solicitud en curso y descarta un resultado pendiente de entrega.
+     * Los cálculos se detienen de forma cooperativa (ver {@link ProgresoCalculo#isCancelado()}):
+     * no se interrumpe el hilo para no cerrar canales de archivo abiertos por la tarea.
+     */
+    public void cancelar() {
+        if (vigente != null) {
+            vigente.cancelada = true;
+            vigente.futuro.cancel(false);
+            vigente = null;
+        }
+        pendiente = null;
+    }
+
+    /**
+     * Vincula el receptor y le entrega el resultado que haya quedado pendiente.
+     * Llamar en onStart.
+     */
+    public void vincular(Receptor<T> receptor) {
+        this.receptor = receptor;
+        if (pendiente != null) {
+            Solicitud solicitud = pendiente;
+            pendiente = null;
+            solicitud.entregarA(receptor);
+        }
+    }
+
+    /**
+     * Desvincula el receptor; el cálculo en curso continúa. Llamar en onStop.
+     */
+    public void desvincular() {
+        this.receptor = null;
+    }
+
+    /**
+     * Indica si hay un cálculo en curso.
+     */
+    public boolean isOcupado() {
+        return vigente != null;
+    }
+
+    /**
+     * Cancela lo pendiente y detiene el pool.
+     */
+    public void cerrar() {
+        cancelar();
+        receptor = null;
+        fondo.shutdown();
+    }
+
+    /**
+     * Una solicitud: se ejecuta en el pool y publica en el hilo principal.
+     */
+    private final class Solicitud implements Runnable, ProgresoCalculo {
+        private final Tarea<T> tarea;
+        private final AtomicBoolean progresoPublicado = new AtomicBoolean();
+        volatile boolean cancelada;
+        volatile double fraccion;
+        Future<?> futuro;
+        private T resultado;
+        private Exception error;
+
+        Solicitud(Tarea<T> tarea) {
+            this.tarea = tarea;
+        }
+
+        @Override
+        public void run() {
+            if (cancelada) {
+                return;
+            }
+            try {
+                resultado = tarea.ejecutar(this);
+            } catch (CancellationException e) {
+                return;
+            } catch (Exception e) {
+                error = e;
+            }
+            if (!cancelada) {
+                principal.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        terminar();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void reportar(long hecho, long total) {
+            fraccion = total > 0 ? Math.min(1.0, (double) hecho / total) : 0;
+            // Solo una publicación en vuelo: los avances intermedios se combinan
+            if (!cancelada && progresoPublicado.compareAndSet(false, true)) {
+                principal.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        progresoPublicado.set(false);
+                        if (Solicitud.this == vigente && receptor != null) {
+                            receptor.alProgresar(fraccion);
+                        }
+                    }
+                });
+            }
+        }
+
+        @Override
+        public boolean isCancelado() {
+            return cancelada;
+        }
+
+        /**
+         * En el hilo principal: entrega el resultado o lo guarda hasta que haya receptor.
+         */
+        void terminar() {
+            if (this != vigente) {
+                return; // Reemplazada o cancelada mientras se publicaba
+            }
+            vigente = null;
+            if (receptor != null) {
+                entregarA(receptor);
+            } else {
+                pendiente = this;
+            }
+        }
+
+        void entregarA(Receptor<T> destino) {
+            if (error != null) {
+                destino.alFallar(error);
+            } else {
+                destino.alTerminar(resultado);
+            }
+        }
+    }
+}
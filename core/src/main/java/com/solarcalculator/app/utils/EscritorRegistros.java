@@ -0,0 +1,185 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ResultadosLote;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Escritor de solo anexado de resultados en formato binario de ancho fijo
+ * (ver {@link RegistroCalculos}). Los registros se acumulan en un buffer y se
+ * escriben en bloques; el número de registros se deduce del tamaño del archivo,
+ * así que no hay un encabezado que actualizar.
+ *
+ * <p>Si el archivo termina con un registro incompleto (por ejemplo, tras un cierre
+ * inesperado) se recorta al abrirlo. Un archivo más corto que el encabezado solo se
+ * reinicia si sus bytes son el comienzo de un encabezado válido; si no, se rechaza.
+ * No es seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EscritorRegistros implements Closeable {
+
+    // Registros que se acumulan antes de escribir
+    private static final int REGISTROS_POR_ESCRITURA = 1024;
+
+    private final RandomAccessFile archivo;
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private long registros;
+
+    /**
+     * Abre (o crea) un archivo de registros para anexar.
+     *
+     * @param ruta Archivo de registros
+     * @throws IOException si no se puede abrir o no tiene el formato esperado
+     */
+    public EscritorRegistros(File ruta) throws IOException {
+        this.archivo = new RandomAccessFile(ruta, "rw");
+        this.canal = archivo.getChannel();
+        this.buffer = ByteBuffer.allocateDirect(REGISTROS_POR_ESCRITURA * RegistroCalculos.TAMANO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            long tamano = canal.size();
+            if (tamano < RegistroCalculos.TAMANO_ENCABEZADO) {
+                // Archivo nuevo, o encabezado a medio escribir al crearlo: empezar de cero.
+                // Cualquier otro archivo corto es ajeno y no se toca.
+                validarInicioEncabezado((int) tamano);
+                canal.truncate(0);
+                buffer.putInt(RegistroCalculos.MAGIA);
+                buffer.putInt(RegistroCalculos.VERSION_FORMATO);
+                buffer.putInt(RegistroCalculos.TAMANO);
+                buffer.putInt(0);
+                vaciar();
+                registros = 0;
+            } else {
+                LectorRegistros.validarEncabezado(canal);
+                registros = (tamano - RegistroCalculos.TAMANO_ENCABEZADO) / RegistroCalculos.TAMANO;
+                long tamanoValido = RegistroCalculos.TAMANO_ENCABEZADO + registros * RegistroCalculos.TAMANO;
+                if (tamanoValido != tamano) {
+                    canal.truncate(tamanoValido);
+                }
+            }
+            canal.position(canal.size());
+        } catch (IOException e) {
+            archivo.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Agrega un resultado al final del archivo.
+     *
+     * @param calculos Resultado a guardar
+     */
+    public void agregar(CalculosSolares calculos) throws IOException {
+        if (buffer.remaining() < RegistroCalculos.TAMANO) {
+            vaciar();
+        }
+        RegistroCalculos.escribir(buffer,
+            calculos.getConsumoMensual(),
+            calculos.getPotenciaSistema(),
+            calculos.getNumeroPaneles(),
+            calculos.getNumeroPanelesExacto(),
+            calculos.getAhorroMensual(),
+            calculos.getCostoInstalacion(),
+            calculos.getRetornoInversion(),
+            calculos.getAreaRequerida(),
+            calculos.getProduccionMensualSistema());
+        registros++;
+    }
+
+    /**
+     * Agrega todas las filas de un lote calculado, sin crear objetos por fila.
+     *
+     * @param consumosMensuales Consumos con los que se calculó el lote
+     * @param lote Resultados de {@link CalculadoraSolar#calcularLote}
+     * @throws IllegalArgumentException si el número de consumos no coincide con el tamaño del lote
+     */
+    public void agregar(double[] consumosMensuales, ResultadosLote lote) throws IOException {
+        if (consumosMensuales.length != lote.getTamano()) {
+            throw new IllegalArgumentException("Hay " + consumosMensuales.length
+                    + " consumos para un lote de " + lote.getTamano() + " filas");
+        }
+        int[] paneles = lote.getNumeroPaneles();
+        double[] panelesExacto = lote.getNumeroPanelesExacto();
+        double[] potencia = lote.getPotenciaSistema();
+        double[] ahorro = lote.getAhorroMensual();
+        double[] costo = lote.getCostoInstalacion();
+        double[] retorno = lote.getRetornoInversion();
+        double[] area = lote.getAreaRequerida();
+        double[] produccion = lote.getProduccionMensualSistema();
+
+        for (int i = 0; i < lote.getTamano(); i++) {
+            if (buffer.remaining() < RegistroCalculos.TAMANO) {
+                vaciar();
+            }
+            RegistroCalculos.escribir(buffer, consumosMensuales[i], potencia[i], paneles[i],
+                    panelesExacto[i], ahorro[i], costo[i], retorno[i], area[i], produccion[i]);
+        }
+        registros += lote.getTamano();
+    }
+
+    /**
+     * Obtiene el número de registros del archivo, incluidos los que aún están en el buffer.
+     */
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Escribe en el archivo los registros pendientes del buffer.
+     */
+    public void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Comprueba que los primeros bytes de un archivo corto coincidan con el encabezado.
+     *
+     * @throws IOException si el archivo no es un archivo de registros
+     */
+    private void validarInicioEncabezado(int tamano) throws IOException {
+        if (tamano == 0) {
+            return;
+        }
+        ByteBuffer esperado = ByteBuffer.allocate(RegistroCalculos.TAMANO_ENCABEZADO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        esperado.putInt(RegistroCalculos.MAGIA)
+                .putInt(RegistroCalculos.VERSION_FORMATO)
+                .putInt(RegistroCalculos.TAMANO)
+                .putInt(0);
+        ByteBuffer leido = ByteBuffer.allocate(tamano);
+        while (leido.hasRemaining()) {
+            if (canal.read(leido, leido.position()) < 0) {
+                break;
+            }
+        }
+        for (int i = 0; i < leido.position(); i++) {
+            if (leido.get(i) != esperado.get(i)) {
+                throw new IOException("No es un archivo de registros de cálculos");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            vaciar();
+        } finally {
+            archivo.close();
+        }
+    }
+}
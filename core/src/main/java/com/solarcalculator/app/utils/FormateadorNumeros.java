@@ -0,0 +1,191 @@
+package com.solarcalculator.app.utils;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.util.Locale;
+
+/**
+ * Formateador de números con formato colombiano (es-CO) que reutiliza sus instancias.
+ * Crea los DecimalFormat una sola vez y escribe directamente en un StringBuilder,
+ * de modo que formatear muchos valores no crea objetos por cada llamada.
+ * Los enteros y la moneda se escriben dígito a dígito con el mismo resultado que "#,###".
+ *
+ * <p>No es seguro entre hilos: cada hilo debe usar su propia instancia,
+ * por ejemplo la que entrega {@link FormatoUtils#getFormateador()}.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class FormateadorNumeros {
+
+    // Locale para Colombia
+    private static final Locale LOCALE_COLOMBIA = new Locale("es", "CO");
+
+    // Número de decimales con patrón precalculado en formatearDecimal
+    private static final int MAX_DECIMALES_CACHE = 6;
+
+    private final DecimalFormatSymbols simbolos;
+    private final char separadorMiles;
+    private final char signoMenos;
+    private final DecimalFormat[] formatosDecimales;   // "#0", "#0.0", "#0.00", ...
+
+    // Búferes reutilizados (DecimalFormat solo escribe en StringBuffer)
+    private final StringBuffer bufer = new StringBuffer(32);
+    private final FieldPosition posicion = new FieldPosition(0);
+    private final StringBuilder temporal = new StringBuilder(32);
+
+    /**
+     * Constructor que prepara todos los formatos con separadores es-CO.
+     */
+    public FormateadorNumeros() {
+        simbolos = new DecimalFormatSymbols(LOCALE_COLOMBIA);
+        simbolos.setGroupingSeparator('.');
+        simbolos.setDecimalSeparator(',');
+
+        separadorMiles = simbolos.getGroupingSeparator();
+        signoMenos = simbolos.getMinusSign();
+        formatosDecimales = new DecimalFormat[MAX_DECIMALES_CACHE + 1];
+        for (int i = 0; i <= MAX_DECIMALES_CACHE; i++) {
+            formatosDecimales[i] = new DecimalFormat(patronDecimal(i), simbolos);
+        }
+    }
+
+    /**
+     * Agrega un valor monetario en COP redondeado y con separadores de miles.
+     * Ejemplo: 417000 -> "417.000"
+     *
+     * @param destino StringBuilder donde se escribe el resultado
+     * @param valor Valor a formatear
+     * @return El mismo StringBuilder, para encadenar llamadas
+     */
+    public StringBuilder agregarMoneda(StringBuilder destino, double valor) {
+        return agregarEntero(destino, Math.round(valor));
+    }
+
+    /**
+     * Agrega un valor monetario con el símbolo de pesos.
+     * Ejemplo: 417000 -> "$417.000 COP"
+     *
+     * @param destino StringBuilder donde se escribe el resultado
+     * @param valor Valor a formatear
+     * @return El mismo StringBuilder, para encadenar llamadas
+     */
+    public StringBuilder agregarMonedaCompleta(StringBuilder destino, double valor) {
+        destino.append('$');
+        return agregarMoneda(destino, valor).append(" COP");
+    }
+
+    /**
+     * Agrega un número decimal con n decimales.
+     *
+     * @param destino StringBuilder donde se escribe el resultado
+     * @param valor Valor a formatear
+     * @param decimales Número de decimales a mostrar
+     * @return El mismo StringBuilder, para encadenar llamadas
+     */
+    public StringBuilder agregarDecimal(StringBuilder destino, double valor, int decimales) {
+        DecimalFormat formato = decimales >= 0 && decimales <= MAX_DECIMALES_CACHE
+                ? formatosDecimales[decimales]
+                : new DecimalFormat(patronDecimal(decimales), simbolos);
+        bufer.setLength(0);
+        formato.format(valor, bufer, posicion);
+        return destino.append(bufer);
+    }
+
+    /**
+     * Agrega un número entero con separadores de miles.
+     *
+     * @param destino StringBuilder donde se escribe el resultado
+     * @param valor Valor a formatear
+     * @return El mismo StringBuilder, para encadenar llamadas
+     */
+    public StringBuilder agregarEntero(StringBuilder destino, long valor) {
+        // Equivale a DecimalFormat("#,###") pero escribe los dígitos sin búferes intermedios.
+        // Se trabaja con el valor negativo para cubrir también Long.MIN_VALUE.
+        long negativo = valor < 0 ? valor : -valor;
+        int digitos = 0;
+        for (long resto = negativo; resto != 0; resto /= 10) {
+            digitos++;
+        }
+        if (digitos == 0) {
+            return destino.append('0');
+        }
+        if (valor < 0) {
+            destino.append(signoMenos);
+        }
+
+        int inicio = destino.length();
+        int longitud = digitos + (digitos - 1) / 3;
+        destino.setLength(inicio + longitud);
+        int posicionDigito = inicio + longitud - 1;
+        for (int i = 0; i < digitos; i++) {
+            if (i > 0 && i % 3 == 0) {
+                destino.setCharAt(posicionDigito--, separadorMiles);
+            }
+            destino.setCharAt(posicionDigito--, (char) ('0' - (negativo % 10)));
+            negativo /= 10;
+        }
+        return destino;
+    }
+
+    /**
+     * Agrega un porcentaje con un decimal (ej: "85,5%").
+     */
+    public StringBuilder agregarPorcentaje(StringBuilder destino, double valor) {
+        return agregarDecimal(destino, valor, 1).append('%');
+    }
+
+    /**
+     * Agrega potencia en kW con 2 decimales (ej: "3,85 kW").
+     */
+    public StringBuilder agregarPotencia(StringBuilder destino, double potencia) {
+        return agregarDecimal(destino, potencia, 2).append(" kW");
+    }
+
+    /**
+     * Agrega área en m² con 0 decimales (ej: "14 m²").
+     */
+    public StringBuilder agregarArea(StringBuilder destino, double area) {
+        return agregarEntero(destino, (int) Math.round(area)).append(" m²");
+    }
+
+    /**
+     * Agrega años con 1 decimal (ej: "2,9 años").
+     */
+    public StringBuilder agregarAnos(StringBuilder destino, double anos) {
+        return agregarDecimal(destino, anos, 1).append(" años");
+    }
+
+    /**
+     * Agrega energía en kWh con 2 decimales (ej: "450,00 kWh").
+     */
+    public StringBuilder agregarEnergia(StringBuilder destino, double energia) {
+        return agregarDecimal(destino, energia, 2).append(" kWh");
+    }
+
+    /**
+     * Obtiene el StringBuilder interno vacío, para que FormatoUtils construya
+     * un String sin crear un StringBuilder nuevo en cada llamada.
+     *
+     * @return StringBuilder reutilizable del hilo actual
+     */
+    StringBuilder temporal() {
+        temporal.setLength(0);
+        return temporal;
+    }
+
+    /**
+     * Construye el patrón de DecimalFormat para n decimales ("#0", "#0.0", ...).
+     */
+    private static String patronDecimal(int decimales) {
+        StringBuilder pattern = new StringBuilder("#0");
+        if (decimales > 0) {
+            pattern.append(".");
+            for (int i = 0; i < decimales; i++) {
+                pattern.append("0");
+            }
+        }
+        return pattern.toString();
+    }
+}
@@ -1,21 +1,32 @@
 package com.solarcalculator.app.utils;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.NumberFormat;
-import java.util.Locale;
-
 /**
  * Clase utilitaria para formatear números, monedas y otros valores.
  * Utiliza formato colombiano para moneda (COP).
+ * Delega en un {@link FormateadorNumeros} por hilo, que reutiliza los DecimalFormat.
  * 
  * @author SolarCalculatorApp
  * @version 1.0
  */
 public class FormatoUtils {
     
-    // Locale para Colombia
-    private static final Locale LOCALE_COLOMBIA = new Locale("es", "CO");
+    // Un formateador por hilo (ThreadLocal.withInitial requiere API 26)
+    private static final ThreadLocal<FormateadorNumeros> FORMATEADOR = new ThreadLocal<FormateadorNumeros>() {
+        @Override
+        protected FormateadorNumeros initialValue() {
+            return new FormateadorNumeros();
+        }
+    };
+    
+    /**
+     * Obtiene el formateador del hilo actual, para escribir varios valores
+     * en un mismo StringBuilder sin crear Strings intermedios.
+     * 
+     * @return Formateador confinado al hilo actual
+     */
+    public static FormateadorNumeros getFormateador() {
+        return FORMATEADOR.get();
+    }
     
     /**
      * Formatea un valor monetario en pesos colombianos (COP).
@@ -25,12 +36,8 @@ public class FormatoUtils {
      * @return String formateado con separadores de miles
      */
     public static String formatearMoneda(double valor) {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
-        symbols.setGroupingSeparator('.');
-        symbols.setDecimalSeparator(',');
-        
-        DecimalFormat formatter = new DecimalFormat("#,###", symbols);
-        return formatter.format(Math.round(valor));
+        FormateadorNumeros f = getFormateador();
+        return f.agregarMoneda(f.temporal(), valor).toString();
     }
     
     /**
@@ -41,19 +48,8 @@ public class FormatoUtils {
      * @return String formateado
      */
     public static String formatearDecimal(double valor, int decimales) {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
-        symbols.setDecimalSeparator(',');
-        
-        StringBuilder pattern = new StringBuilder("#0");
-        if (decimales > 0) {
-            pattern.append(".");
-            for (int i = 0; i < decimales; i++) {
-                pattern.append("0");
-            }
-        }
-        
-        DecimalFormat formatter = new DecimalFormat(pattern.toString(), symbols);
-        return formatter.format(valor);
+        FormateadorNumeros f = getFormateador();
+        return f.agregarDecimal(f.temporal(), valor, decimales).toString();
     }
     
     /**
@@ -63,11 +59,8 @@ public class FormatoUtils {
      * @return String formateado
      */
     public static String formatearEntero(int valor) {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
-        symbols.setGroupingSeparator('.');
-        
-        DecimalFormat formatter = new DecimalFormat("#,###", symbols);
-        return formatter.format(valor);
+        FormateadorNumeros f = getFormateador();
+        return f.agregarEntero(f.temporal(), valor).toString();
     }
     
     /**
@@ -77,7 +70,8 @@ public class FormatoUtils {
      * @return String formateado (ej: "85,5%")
      */
     public static String formatearPorcentaje(double valor) {
-        return formatearDecimal(valor, 1) + "%";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarPorcentaje(f.temporal(), valor).toString();
     }
     
     /**
@@ -87,7 +81,8 @@ public class FormatoUtils {
      * @return String formateado (ej: "3,85 kW")
      */
     public static String formatearPotencia(double potencia) {
-        return formatearDecimal(potencia, 2) + " kW";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarPotencia(f.temporal(), potencia).toString();
     }
     
     /**
@@ -97,7 +92,8 @@ public class FormatoUtils {
      * @return String formateado (ej: "14 m²")
      */
     public static String formatearArea(double area) {
-        return formatearEntero((int) Math.round(area)) + " m²";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarArea(f.temporal(), area).toString();
     }
     
     /**
@@ -107,7 +103,8 @@ public class FormatoUtils {
      * @return String formateado (ej: "2,9 años")
      */
     public static String formatearAnos(double anos) {
-        return formatearDecimal(anos, 1) + " años";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarAnos(f.temporal(), anos).toString();
     }
     
     /**
@@ -117,7 +114,8 @@ public class FormatoUtils {
      * @return String formateado (ej: "450,00 kWh")
      */
     public static String formatearEnergia(double energia) {
-        return formatearDecimal(energia, 2) + " kWh";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarEnergia(f.temporal(), energia).toString();
     }
     
     /**
@@ -127,6 +125,7 @@ public class FormatoUtils {
      * @return String formateado (ej: "$417.000 COP")
      */
     public static String formatearMonedaCompleta(double valor) {
-        return "$" + formatearMoneda(valor) + " COP";
+        FormateadorNumeros f = getFormateador();
+        return f.agregarMonedaCompleta(f.temporal(), valor).toString();
     }
 }
@@ -0,0 +1,648 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.EntradaHistorial;
+import com.solarcalculator.app.model.Tarifa;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historial local de cotizaciones: un diario de solo anexado con cada resultado y la
+ * configuración que lo produjo, más un índice compacto en memoria.
+ *
+ * <p>{@link #agregar} actualiza el índice de inmediato en O(1) y deja la escritura del
+ * registro a un hilo de fondo, así que se puede llamar desde el hilo principal. El índice
+ * guarda solo arreglos primitivos: la marca de tiempo y el consumo de cada registro
+ * (ordenados por tiempo) y una permutación ordenada por consumo. Las entradas nuevas se
+ * anexan al final de la permutación sin ordenar; la primera consulta por consumo las
+ * ordena y las intercala con el resto en O(n + k log k). Como los registros son de ancho
+ * fijo, una página se lee con una sola lectura posicional: el costo es proporcional al
+ * tamaño de la página, no al del historial.</p>
+ *
+ * <p>Formato: encabezado de 16 bytes ("CHIS", versión, tamaño del registro, reservado)
+ * y registros de 272 bytes little-endian: marca de tiempo (long), los nueve campos de
+ * CalculosSolares con el formato de {@link RegistroCalculos}, la producción, la potencia,
+ * el área y el costo del panel (double) y la tarifa con el formato de
+ * {@link RegistroTarifa}. Un archivo de la versión 1 (sin tarifa, solo el precio del
+ * kWh) se convierte a la versión actual al abrirlo.</p>
+ *
+ * <p>Es seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class HistorialCotizaciones implements Closeable {
+
+    /** Tamaño de cada registro en bytes. */
+    public static final int TAMANO_REGISTRO = 272;
+
+    private static final int MAGIA = 0x53494843; // "CHIS"
+    private static final int VERSION_FORMATO = 2;
+    private static final int TAMANO_ENCABEZADO = 16;
+
+    // Versión 1: las cinco constantes de la configuración, con el precio plano del kWh
+    private static final int VERSION_SIN_TARIFA = 1;
+    private static final int TAMANO_REGISTRO_SIN_TARIFA = 120;
+
+    // Posiciones dentro del registro
+    private static final int MARCA_TIEMPO = 0;
+    private static final int CALCULOS = 8;
+    private static final int CONFIGURACION = CALCULOS + RegistroCalculos.TAMANO;
+    private static final int TARIFA = CONFIGURACION + 4 * 8;
+
+    // Registros por lectura al cargar el índice
+    private static final int REGISTROS_POR_LECTURA = 8192;
+
+    private final RandomAccessFile archivo;
+    private final FileChannel canal;
+    private final ExecutorService escritor;
+
+    // Índice en memoria (protegido por el monitor del historial)
+    private long[] marcasTiempo;
+    private double[] consumos;
+    private int[] porConsumo;   // Índices ordenados por (consumo, índice) hasta "ordenados"
+    private int[] auxiliar;     // Entradas nuevas durante la intercalación
+    private int ordenados;
+    private int tamano;
+    private boolean cerrado;
+
+    // Estado del hilo escritor
+    private volatile int escritos;
+    private volatile IOException errorEscritura;
+
+    /**
+     * Abre (o crea) el historial y carga su índice.
+     *
+     * @param ruta Archivo del historial
+     * @throws IOException si no se puede abrir o no tiene el formato esperado
+     */
+    public HistorialCotizaciones(File ruta) throws IOException {
+        convertirVersionSinTarifa(ruta);
+        this.archivo = new RandomAccessFile(ruta, "rw");
+        this.canal = archivo.getChannel();
+        int registros;
+        try {
+            registros = abrirArchivo();
+            int capacidad = Math.max(64, registros + registros / 2);
+            marcasTiempo = new long[capacidad];
+            consumos = new double[capacidad];
+            porConsumo = new int[capacidad];
+            cargarIndice(registros);
+        } catch (IOException e) {
+            archivo.close();
+            throw e;
+        }
+        this.tamano = registros;
+        this.ordenados = registros;
+        this.escritos = registros;
+
+        this.escritor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable tarea) {
+                Thread hilo = new Thread(tarea, "historial-cotizaciones");
+                hilo.setDaemon(true);
+                return hilo;
+            }
+        });
+    }
+
+    /**
+     * Reescribe un historial de la versión 1 en el formato actual, con la tarifa plana de
+     * su precio del kWh. Escribe un archivo temporal y lo renombra sobre el original, de
+     * modo que una interrupción deja intacto el historial anterior.
+     */
+    private static void convertirVersionSinTarifa(File ruta) throws IOException {
+        if (!ruta.exists() || ruta.length() < TAMANO_ENCABEZADO) {
+            return;
+        }
+        File temporal = new File(ruta.getPath() + ".tmp");
+        try (RandomAccessFile anterior = new RandomAccessFile(ruta, "r")) {
+            FileChannel entrada = anterior.getChannel();
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+            leerCompleto(entrada, encabezado, 0);
+            if (encabezado.getInt(0) != MAGIA || encabezado.getInt(4) != VERSION_SIN_TARIFA
+                    || encabezado.getInt(8) != TAMANO_REGISTRO_SIN_TARIFA) {
+                return; // Lo valida abrirArchivo()
+            }
+
+            long registros = (entrada.size() - TAMANO_ENCABEZADO) / TAMANO_REGISTRO_SIN_TARIFA;
+            ByteBuffer bloque = ByteBuffer.allocate(REGISTROS_POR_LECTURA * TAMANO_REGISTRO_SIN_TARIFA)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer convertido = ByteBuffer.allocate(REGISTROS_POR_LECTURA * TAMANO_REGISTRO)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            try (FileOutputStream salida = new FileOutputStream(temporal)) {
+                FileChannel destino = salida.getChannel();
+                encabezado.clear();
+                encabezado.putInt(MAGIA).putInt(VERSION_FORMATO).putInt(TAMANO_REGISTRO).putInt(0);
+                encabezado.flip();
+                escribirCompleto(destino, encabezado);
+
+                for (long leidos = 0; leidos < registros; ) {
+                    int cantidad = (int) Math.min(REGISTROS_POR_LECTURA, registros - leidos);
+                    bloque.clear();
+                    bloque.limit(cantidad * TAMANO_REGISTRO_SIN_TARIFA);
+                    leerCompleto(entrada, bloque, TAMANO_ENCABEZADO + leidos * TAMANO_REGISTRO_SIN_TARIFA);
+                    convertido.clear();
+                    for (int j = 0; j < cantidad; j++) {
+                        int base = j * TAMANO_REGISTRO_SIN_TARIFA;
+                        // Marca de tiempo, cálculos, producción, potencia y área no cambian
+                        convertido.put(bloque.array(), base, CONFIGURACION + 24);
+                        convertido.putDouble(bloque.getDouble(base + CONFIGURACION + 32)); // Costo
+                        RegistroTarifa.escribir(convertido,
+                                Tarifa.plana(bloque.getDouble(base + CONFIGURACION + 24)));
+                    }
+                    convertido.flip();
+                    escribirCompleto(destino, convertido);
+                    leidos += cantidad;
+                }
+                salida.getFD().sync();
+            }
+        } catch (IOException e) {
+            temporal.delete();
+            throw e;
+        }
+        if (!temporal.renameTo(ruta)) {
+            temporal.delete();
+            throw new IOException("No se pudo convertir el historial de cotizaciones: " + ruta);
+        }
+    }
+
+    /**
+     * Valida o escribe el encabezado y recorta un registro incompleto al final.
+     *
+     * @return Número de registros completos
+     */
+    private int abrirArchivo() throws IOException {
+        long tamanoArchivo = canal.size();
+        ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+        if (tamanoArchivo < TAMANO_ENCABEZADO) {
+            canal.truncate(0);
+            encabezado.putInt(MAGIA).putInt(VERSION_FORMATO).putInt(TAMANO_REGISTRO).putInt(0);
+            encabezado.flip();
+            escribirCompleto(canal, encabezado, 0);
+            return 0;
+        }
+
+        leerCompleto(canal, encabezado, 0);
+        if (encabezado.getInt(0) != MAGIA) {
+            throw new IOException("No es un archivo de historial de cotizaciones");
+        }
+        if (encabezado.getInt(4) != VERSION_FORMATO || encabezado.getInt(8) != TAMANO_REGISTRO) {
+            throw new IOException("Versión del historial no compatible: " + encabezado.getInt(4));
+        }
+        long registros = (tamanoArchivo - TAMANO_ENCABEZADO) / TAMANO_REGISTRO;
+        if (registros > Integer.MAX_VALUE - 8) {
+            throw new IOException("El historial tiene demasiados registros");
+        }
+        long tamanoValido = TAMANO_ENCABEZADO + registros * TAMANO_REGISTRO;
+        if (tamanoValido != tamanoArchivo) {
+            canal.truncate(tamanoValido); // Escritura interrumpida
+        }
+        return (int) registros;
+    }
+
+    /**
+     * Lee la marca de tiempo y el consumo de todos los registros en bloques grandes
+     * y ordena la permutación por consumo.
+     */
+    private void cargarIndice(int registros) throws IOException {
+        ByteBuffer bloque = ByteBuffer.allocate(REGISTROS_POR_LECTURA * TAMANO_REGISTRO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int leidos = 0;
+        while (leidos < registros) {
+            int cantidad = Math.min(REGISTROS_POR_LECTURA, registros - leidos);
+            bloque.clear();
+            bloque.limit(cantidad * TAMANO_REGISTRO);
+            leerCompleto(canal, bloque, posicion(leidos));
+            for (int j = 0; j < cantidad; j++, leidos++) {
+                int base = j * TAMANO_REGISTRO;
+                marcasTiempo[leidos] = bloque.getLong(base + MARCA_TIEMPO);
+                consumos[leidos] = bloque.getDouble(base + CALCULOS + RegistroCalculos.CONSUMO_MENSUAL);
+                porConsumo[leidos] = leidos;
+            }
+        }
+        ordenarPorConsumo(0, registros);
+    }
+
+    /**
+     * Agrega una cotización. El índice se actualiza de inmediato; el registro se escribe
+     * en un hilo de fondo.
+     *
+     * @param calculos Resultado de la cotización
+     * @param configuracion Configuración con la que se calculó
+     * @return Índice de la nueva entrada
+     * @throws IllegalStateException si el historial ya se cerró
+     * @throws IllegalArgumentException si la tarifa tiene más bloques o franjas de los que
+     *         guarda {@link RegistroTarifa} (la cotización no se agrega)
+     */
+    public synchronized int agregar(CalculosSolares calculos, ConfiguracionInmutable configuracion) {
+        if (cerrado) {
+            throw new IllegalStateException("El historial de cotizaciones está cerrado");
+        }
+        RegistroTarifa.validar(configuracion.getTarifa());
+        if (tamano == marcasTiempo.length) {
+            int capacidad = tamano + tamano / 2;
+            marcasTiempo = Arrays.copyOf(marcasTiempo, capacidad);
+            consumos = Arrays.copyOf(consumos, capacidad);
+            porConsumo = Arrays.copyOf(porConsumo, capacidad);
+        }
+
+        // Las marcas de tiempo nunca retroceden, así el índice queda ordenado por tiempo
+        long marcaTiempo = System.currentTimeMillis();
+        if (tamano > 0 && marcaTiempo < marcasTiempo[tamano - 1]) {
+            marcaTiempo = marcasTiempo[tamano - 1];
+        }
+
+        final int indice = tamano;
+        double consumo = calculos.getConsumoMensual();
+        marcasTiempo[indice] = marcaTiempo;
+        consumos[indice] = consumo;
+        porConsumo[indice] = indice; // Se ordena en la próxima consulta por consumo
+        tamano++;
+
+        final ByteBuffer registro = ByteBuffer.allocate(TAMANO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        registro.putLong(marcaTiempo);
+        RegistroCalculos.escribir(registro,
+            consumo,
+            calculos.getPotenciaSistema(),
+            calculos.getNumeroPaneles(),
+            calculos.getNumeroPanelesExacto(),
+            calculos.getAhorroMensual(),
+            calculos.getCostoInstalacion(),
+            calculos.getRetornoInversion(),
+            calculos.getAreaRequerida(),
+            calculos.getProduccionMensualSistema());
+        registro.putDouble(configuracion.getProduccionPanel());
+        registro.putDouble(configuracion.getPotenciaPanel());
+        registro.putDouble(configuracion.getAreaPanel());
+        registro.putDouble(configuracion.getCostoPanel());
+        RegistroTarifa.escribir(registro, configuracion.getTarifa());
+        registro.flip();
+
+        escritor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    escribirCompleto(canal, registro, posicion(indice));
+                    escritos = indice + 1;
+                } catch (IOException e) {
+                    errorEscritura = e;
+                }
+            }
+        });
+        return indice;
+    }
+
+    /**
+     * Obtiene el número de cotizaciones del historial.
+     */
+    public synchronized int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Lee una página del historial, de la cotización más reciente a la más antigua.
+     *
+     * @param pagina Número de página (0 = las más recientes)
+     * @param tamanoPagina Entradas por página (mayor a 0)
+     * @return Entradas de la página; vacía si la página no existe
+     * @throws IOException si falla la lectura o falló una escritura anterior
+     */
+    public List<EntradaHistorial> leerPagina(int pagina, int tamanoPagina) throws IOException {
+        if (pagina < 0 || tamanoPagina <= 0) {
+            throw new IllegalArgumentException("Página o tamaño de página inválidos");
+        }
+        int total = getTamano();
+        long fin = total - (long) pagina * tamanoPagina;
+        if (fin <= 0) {
+            return new ArrayList<>();
+        }
+        int hasta = (int) fin;
+        int desde = Math.max(0, hasta - tamanoPagina);
+        esperarEscritura(hasta);
+
+        // Los registros de la página son contiguos: una sola lectura
+        ByteBuffer datos = ByteBuffer.allocate((hasta - desde) * TAMANO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        leerCompleto(canal, datos, posicion(desde));
+        List<EntradaHistorial> entradas = new ArrayList<>(hasta - desde);
+        for (int i = hasta - 1; i >= desde; i--) {
+            entradas.add(decodificar(datos, (i - desde) * TAMANO_REGISTRO, i));
+        }
+        return entradas;
+    }
+
+    /**
+     * Lee una sola cotización.
+     *
+     * @param indice Índice de la cotización (0 a getTamano() - 1)
+     * @return Entrada del historial
+     * @throws IndexOutOfBoundsException si el índice está fuera del historial
+     * @throws IOException si falla la lectura o falló una escritura anterior
+     */
+    public EntradaHistorial leer(int indice) throws IOException {
+        int total = getTamano();
+        if (indice < 0 || indice >= total) {
+            throw new IndexOutOfBoundsException("Cotización " + indice + " fuera de [0, " + total + ")");
+        }
+        esperarEscritura(indice + 1);
+        ByteBuffer registro = ByteBuffer.allocate(TAMANO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        leerCompleto(canal, registro, posicion(indice));
+        return decodificar(registro, 0, indice);
+    }
+
+    /**
+     * Cuenta las cotizaciones con consumo en [minimo, maximo] en O(log n).
+     *
+     * @param minimo Consumo mínimo en kWh/mes (inclusive)
+     * @param maximo Consumo máximo en kWh/mes (inclusive)
+     * @return Número de cotizaciones en el rango
+     */
+    public synchronized int contarPorConsumo(double minimo, double maximo) {
+        completarOrden();
+        return Math.max(0, limiteSuperior(maximo) - limiteInferior(minimo));
+    }
+
+    /**
+     * Lee una página de las cotizaciones con consumo en [minimo, maximo],
+     * ordenadas de menor a mayor consumo.
+     *
+     * @param minimo Consumo mínimo en kWh/mes (inclusive)
+     * @param maximo Consumo máximo en kWh/mes (inclusive)
+     * @param pagina Número de página (0 = la primera)
+     * @param tamanoPagina Entradas por página (mayor a 0)
+     * @return Entradas de la página; vacía si la página no existe
+     * @throws IOException si falla la lectura o falló una escritura anterior
+     */
+    public List<EntradaHistorial> buscarPorConsumo(double minimo, double maximo, int pagina,
+                                                   int tamanoPagina) throws IOException {
+        if (pagina < 0 || tamanoPagina <= 0) {
+            throw new IllegalArgumentException("Página o tamaño de página inválidos");
+        }
+        int[] indices;
+        int total;
+        synchronized (this) {
+            completarOrden();
+            long desde = limiteInferior(minimo) + (long) pagina * tamanoPagina;
+            int hasta = limiteSuperior(maximo);
+            if (desde >= hasta) {
+                return new ArrayList<>();
+            }
+            indices = Arrays.copyOfRange(porConsumo, (int) desde, (int) Math.min(hasta, desde + tamanoPagina));
+            total = tamano;
+        }
+        esperarEscritura(total);
+
+        ByteBuffer registro = ByteBuffer.allocate(TAMANO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        List<EntradaHistorial> entradas = new ArrayList<>(indices.length);
+        for (int indice : indices) {
+            registro.clear();
+            leerCompleto(canal, registro, posicion(indice));
+            entradas.add(decodificar(registro, 0, indice));
+        }
+        return entradas;
+    }
+
+    /**
+     * Busca la primera cotización hecha en o después de un momento.
+     *
+     * @param marcaTiempo Milisegundos desde 1970 (UTC)
+     * @return Índice de la cotización, o getTamano() si no hay ninguna
+     */
+    public synchronized int indiceDesde(long marcaTiempo) {
+        int bajo = 0;
+        int alto = tamano;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (marcasTiempo[medio] < marcaTiempo) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Espera a que todas las cotizaciones agregadas estén escritas en el archivo.
+     *
+     * @throws IOException si falló alguna escritura
+     */
+    public void vaciar() throws IOException {
+        esperarEscritura(getTamano());
+    }
+
+    /**
+     * Escribe las cotizaciones pendientes y cierra el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        }
+        escritor.shutdown();
+        try {
+            escritor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            archivo.close();
+        }
+        if (errorEscritura != null) {
+            throw errorEscritura;
+        }
+    }
+
+    private EntradaHistorial decodificar(ByteBuffer datos, int base, int indice) throws IOException {
+        RegistroCalculos vista = new RegistroCalculos();
+        vista.posicionar(datos, base + CALCULOS);
+        ConfiguracionInmutable configuracion = new ConfiguracionInmutable(
+            datos.getDouble(base + CONFIGURACION),
+            datos.getDouble(base + CONFIGURACION + 8),
+            datos.getDouble(base + CONFIGURACION + 16),
+            RegistroTarifa.leer(datos, base + TARIFA),
+            datos.getDouble(base + CONFIGURACION + 24)
+        );
+        return new EntradaHistorial(indice, datos.getLong(base + MARCA_TIEMPO),
+                vista.aCalculosSolares(), configuracion);
+    }
+
+    /**
+     * Bloquea hasta que el hilo escritor haya escrito los primeros n registros.
+     */
+    private void esperarEscritura(int registros) throws IOException {
+        synchronized (this) {
+            if (cerrado) {
+                throw new IOException("El historial de cotizaciones está cerrado");
+            }
+        }
+        if (escritos < registros) {
+            try {
+                // Las tareas se ejecutan en orden: al terminar esta, las anteriores ya se escribieron
+                escritor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrumpido esperando la escritura del historial");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        if (errorEscritura != null) {
+            throw errorEscritura;
+        }
+    }
+
+    /**
+     * Primera posición de porConsumo con consumo >= valor.
+     */
+    private int limiteInferior(double valor) {
+        int bajo = 0;
+        int alto = tamano;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (consumos[porConsumo[medio]] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Primera posición de porConsumo con consumo > valor.
+     */
+    private int limiteSuperior(double valor) {
+        int bajo = 0;
+        int alto = tamano;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (consumos[porConsumo[medio]] <= valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Ordena las entradas agregadas desde la última consulta y las intercala con las ya
+     * ordenadas. Como sus índices son mayores, en un empate de consumo quedan después.
+     */
+    private void completarOrden() {
+        int nuevos = tamano - ordenados;
+        if (nuevos == 0) {
+            return;
+        }
+        ordenarPorConsumo(ordenados, tamano);
+        if (auxiliar == null || auxiliar.length < nuevos) {
+            auxiliar = new int[Math.max(nuevos, 64)];
+        }
+        System.arraycopy(porConsumo, ordenados, auxiliar, 0, nuevos);
+
+        // Intercalación desde el final: las posiciones libres siempre quedan a la derecha
+        int i = ordenados - 1;
+        int j = nuevos - 1;
+        for (int destino = tamano - 1; j >= 0; destino--) {
+            if (i >= 0 && mayor(porConsumo[i], auxiliar[j])) {
+                porConsumo[destino] = porConsumo[i--];
+            } else {
+                porConsumo[destino] = auxiliar[j--];
+            }
+        }
+        ordenados = tamano;
+    }
+
+    /**
+     * Ordena porConsumo[desde, hasta) por (consumo, índice) con heapsort, sin objetos.
+     */
+    private void ordenarPorConsumo(int desde, int hasta) {
+        int n = hasta - desde;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            hundir(desde, i, n);
+        }
+        for (int fin = n - 1; fin > 0; fin--) {
+            int mayor = porConsumo[desde];
+            porConsumo[desde] = porConsumo[desde + fin];
+            porConsumo[desde + fin] = mayor;
+            hundir(desde, 0, fin);
+        }
+    }
+
+    /**
+     * Hunde el elemento i del montículo que empieza en porConsumo[base] y tiene n elementos.
+     */
+    private void hundir(int base, int i, int n) {
+        int elemento = porConsumo[base + i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= n) {
+                break;
+            }
+            if (hijo + 1 < n && mayor(porConsumo[base + hijo + 1], porConsumo[base + hijo])) {
+                hijo++;
+            }
+            if (!mayor(porConsumo[base + hijo], elemento)) {
+                break;
+            }
+            porConsumo[base + i] = porConsumo[base + hijo];
+            i = hijo;
+        }
+        porConsumo[base + i] = elemento;
+    }
+
+    private boolean mayor(int a, int b) {
+        return consumos[a] > consumos[b] || (consumos[a] == consumos[b] && a > b);
+    }
+
+    private static long posicion(int indice) {
+        return TAMANO_ENCABEZADO + (long) indice * TAMANO_REGISTRO;
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, posicion);
+            if (leidos < 0) {
+                throw new EOFException("Fin inesperado del historial");
+            }
+            posicion += leidos;
+        }
+    }
+
+    private static void escribirCompleto(FileChannel canal, ByteBuffer origen, long posicion) throws IOException {
+        while (origen.hasRemaining()) {
+            posicion += canal.write(origen, posicion);
+        }
+    }
+
+    private static void escribirCompleto(FileChannel canal, ByteBuffer origen) throws IOException {
+        while (origen.hasRemaining()) {
+            canal.write(origen);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Lector de un archivo de registros binarios (ver {@link RegistroCalculos}) mapeado en
+ * memoria. Abrirlo no lee los datos: el sistema operativo carga las páginas a medida
+ * que se accede a ellas, así que un archivo con millones de resultados se abre al
+ * instante y se lee por índice en O(1).
+ *
+ * <p>Solo ve los registros que existían al abrirlo. Un archivo mapeado admite hasta
+ * 2 GB (unos 29 millones de registros). Los accesos solo leen, así que varios hilos
+ * pueden usar el mismo lector, cada uno con su propio {@link RegistroCalculos}.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class LectorRegistros implements Closeable {
+
+    private final RandomAccessFile archivo;
+    private final ByteBuffer datos;
+    private final int registros;
+
+    /**
+     * Abre y mapea un archivo de registros.
+     *
+     * @param ruta Archivo escrito con {@link EscritorRegistros}
+     * @throws IOException si no se puede leer, no tiene el formato esperado o supera 2 GB
+     */
+    public LectorRegistros(File ruta) throws IOException {
+        this.archivo = new RandomAccessFile(ruta, "r");
+        try {
+            FileChannel canal = archivo.getChannel();
+            validarEncabezado(canal);
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                throw new IOException("El archivo de registros supera 2 GB: " + ruta);
+            }
+            // Un registro incompleto al final (escritura interrumpida) se ignora
+            this.registros = (int) ((tamano - RegistroCalculos.TAMANO_ENCABEZADO) / RegistroCalculos.TAMANO);
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+            this.datos = mapa.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            archivo.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Comprueba el encabezado del archivo.
+     *
+     * @throws IOException si el archivo no es un archivo de registros compatible
+     */
+    static void validarEncabezado(FileChannel canal) throws IOException {
+        ByteBuffer encabezado = ByteBuffer.allocate(RegistroCalculos.TAMANO_ENCABEZADO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long posicion = 0;
+        while (encabezado.hasRemaining()) {
+            int leidos = canal.read(encabezado, posicion);
+            if (leidos < 0) {
+                throw new IOException("Archivo de registros sin encabezado");
+            }
+            posicion += leidos;
+        }
+        if (encabezado.getInt(0) != RegistroCalculos.MAGIA) {
+            throw new IOException("No es un archivo de registros de cálculos");
+        }
+        if (encabezado.getInt(4) != RegistroCalculos.VERSION_FORMATO
+                || encabezado.getInt(8) != RegistroCalculos.TAMANO) {
+            throw new IOException("Versión del formato de registros no compatible: " + encabezado.getInt(4));
+        }
+    }
+
+    /**
+     * Obtiene el número de registros completos del archivo.
+     */
+    public int getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Apunta una vista reutilizable al registro indicado, sin crear objetos.
+     *
+     * @param indice Índice del registro (0 a getRegistros() - 1)
+     * @param destino Vista a reposicionar
+     * @return La misma vista, apuntando al registro
+     * @throws IndexOutOfBoundsException si el índice está fuera del archivo
+     */
+    public RegistroCalculos leer(int indice, RegistroCalculos destino) {
+        destino.posicionar(datos, base(indice));
+        return destino;
+    }
+
+    /**
+     * Copia un registro a un objeto CalculosSolares.
+     *
+     * @param indice Índice del registro
+     * @return Nuevo objeto con los nueve campos
+     */
+    public CalculosSolares obtener(int indice) {
+        return leer(indice, new RegistroCalculos()).aCalculosSolares();
+    }
+
+    /**
+     * Lee solo el retorno de inversión de un registro (útil para agregados de portafolio).
+     *
+     * @param indice Índice del registro
+     * @return Retorno de inversión en años
+     */
+    public double getRetornoInversion(int indice) {
+        return datos.getDouble(base(indice) + RegistroCalculos.RETORNO_INVERSION);
+    }
+
+    /**
+     * Lee solo el costo de instalación de un registro.
+     *
+     * @param indice Índice del registro
+     * @return Costo en COP
+     */
+    public double getCostoInstalacion(int indice) {
+        return datos.getDouble(base(indice) + RegistroCalculos.COSTO_INSTALACION);
+    }
+
+    private int base(int indice) {
+        if (indice < 0 || indice >= registros) {
+            throw new IndexOutOfBoundsException("Registro " + indice + " fuera de [0, " + registros + ")");
+        }
+        return RegistroCalculos.TAMANO_ENCABEZADO + indice * RegistroCalculos.TAMANO;
+    }
+
+    /**
+     * Cierra el archivo. El mapeo se libera cuando el recolector de basura lo reclama,
+     * por lo que las vistas obtenidas antes no deben usarse después de cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        archivo.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.solarcalculator.app.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas del arranque en frío: cuánto tarda la configuración en estar en memoria,
+ * cuánto tarda la primera pantalla en dibujarse y cuántas veces el hilo principal
+ * tuvo que esperar la carga. En un arranque correcto la última es 0.
+ *
+ * <p>Los tiempos se miden con {@link System#nanoTime()} desde {@link #registrarInicio()}
+ * y valen -1 mientras el evento no haya ocurrido. Cada evento se registra una sola
+ * vez; las llamadas siguientes se ignoran. Es seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class MetricasArranque {
+
+    private static final long SIN_REGISTRAR = Long.MIN_VALUE;
+
+    private volatile long inicio = SIN_REGISTRAR;
+    private volatile long configuracionLista = SIN_REGISTRAR;
+    private volatile long primeraPantalla = SIN_REGISTRAR;
+    private final AtomicInteger esperasHiloPrincipal = new AtomicInteger();
+
+    /**
+     * Marca el inicio del proceso (Application.onCreate).
+     */
+    public synchronized void registrarInicio() {
+        if (inicio == SIN_REGISTRAR) {
+            inicio = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marca el momento en que la configuración quedó cargada.
+     */
+    public synchronized void registrarConfiguracionLista() {
+        if (configuracionLista == SIN_REGISTRAR) {
+            configuracionLista = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marca el momento en que se dibujó la primera pantalla.
+     */
+    public synchronized void registrarPrimeraPantalla() {
+        if (primeraPantalla == SIN_REGISTRAR) {
+            primeraPantalla = System.nanoTime();
+        }
+    }
+
+    /**
+     * Cuenta una espera del hilo principal por la carga en segundo plano.
+     */
+    public void registrarEsperaHiloPrincipal() {
+        esperasHiloPrincipal.incrementAndGet();
+    }
+
+    /**
+     * Milisegundos desde el inicio hasta que la configuración quedó cargada, o -1.
+     */
+    public double getTiempoConfiguracionMs() {
+        return milisegundos(configuracionLista);
+    }
+
+    /**
+     * Milisegundos desde el inicio hasta la primera pantalla dibujada, o -1.
+     */
+    public double getTiempoPrimeraPantallaMs() {
+        return milisegundos(primeraPantalla);
+    }
+
+    /**
+     * Número de veces que el hilo principal esperó la carga.
+     */
+    public int getEsperasHiloPrincipal() {
+        return esperasHiloPrincipal.get();
+    }
+
+    private double milisegundos(long momento) {
+        long desde = inicio;
+        if (desde == SIN_REGISTRAR || momento == SIN_REGISTRAR) {
+            return -1;
+        }
+        return (momento - desde) / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricasArranque{" +
+                "configuracionMs=" + getTiempoConfiguracionMs() +
+                ", primeraPantallaMs=" + getTiempoPrimeraPantallaMs() +
+                ", esperasHiloPrincipal=" + getEsperasHiloPrincipal() +
+                '}';
+    }
+}
@@ -0,0 +1,309 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ModeloPanel;
+import com.solarcalculator.app.model.ObjetivoOptimizacion;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.ResultadoOptimizacion;
+import com.solarcalculator.app.model.Tarifa;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimizador del número de paneles (y opcionalmente del modelo) con límites de
+ * área y presupuesto. {@link CalculadoraSolar#calcular} siempre cubre todo el consumo;
+ * con un techo pequeño o un presupuesto fijo esa instalación puede no caber o no ser
+ * la más rentable.
+ *
+ * <p>Para cada modelo se calcula en O(1) una cota del mejor valor alcanzable y los
+ * modelos se evalúan de la mejor cota a la peor; en cuanto una cota no supera la mejor
+ * instalación encontrada se descarta el resto del catálogo. El valor presente neto es
+ * cóncavo en el número de paneles (el ahorro se satura al cubrir el consumo), así que
+ * el mejor número de paneles de un modelo se encuentra por búsqueda binaria.</p>
+ *
+ * <p>El ahorro es la factura del consumo con la tarifa de la configuración, como en
+ * {@code calcular}; si la instalación no cubre el consumo se reduce en proporción a la
+ * energía producida, como en {@link AnalisisFinanciero}. El retorno de inversión es el
+ * simple de {@code calcular} con ese ahorro. Si varios números de paneles dan el mismo
+ * retorno, se elige el que más ahorra.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class OptimizadorPaneles {
+
+    // Holgura relativa de las cotas frente a errores de redondeo
+    private static final double HOLGURA_COTA = 1e-9;
+
+    private final ParametrosFinancieros financieros;
+    private final ObjetivoOptimizacion objetivo;
+
+    // Sumas descontadas del horizonte, precalculadas para las cotas
+    private final double factorAhorro;    // Σ escalamiento^(t-1) · retención^(t-1) · descuento^t
+    private final double factorTarifa;    // Σ escalamiento^(t-1) · descuento^t
+    private final double factorCosto;     // Valor presente de los costos por COP invertido
+    private final double retencionFinal;  // Producción del último año relativa al primero
+
+    /**
+     * Constructor con los supuestos financieros y el criterio de optimización.
+     *
+     * @param financieros Supuestos para calcular el valor presente neto
+     * @param objetivo Criterio para comparar instalaciones
+     */
+    public OptimizadorPaneles(ParametrosFinancieros financieros, ObjetivoOptimizacion objetivo) {
+        this.financieros = financieros;
+        this.objetivo = objetivo;
+
+        double descuento = 1 / (1 + financieros.getTasaDescuento());
+        double escalamiento = 1 + financieros.getEscalamientoTarifa();
+        double retencion = 1 - financieros.getDegradacionAnual();
+
+        double ahorro = 0;
+        double tarifa = 0;
+        double reemplazo = 0;
+        double factorDescuento = 1;
+        double factorEscalamiento = 1;
+        double factorRetencion = 1;
+        for (int t = 1; t <= financieros.getAnos(); t++) {
+            factorDescuento *= descuento;
+            ahorro += factorEscalamiento * factorRetencion * factorDescuento;
+            tarifa += factorEscalamiento * factorDescuento;
+            if (t == financieros.getAnoReemplazoInversor()) {
+                reemplazo = factorDescuento;
+            }
+            if (t < financieros.getAnos()) {
+                factorEscalamiento *= escalamiento;
+                factorRetencion *= retencion;
+            }
+        }
+        this.factorAhorro = ahorro;
+        this.factorTarifa = tarifa;
+        this.factorCosto = 1 + financieros.getCostoOperacion() * tarifa
+                + financieros.getCostoReemplazoInversor() * reemplazo;
+        this.retencionFinal = factorRetencion;
+    }
+
+    /**
+     * Optimiza el número de paneles del panel configurado.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Configuración con la tarifa y las características del panel
+     * @param areaMaxima Área disponible en m² (Double.POSITIVE_INFINITY si no hay límite)
+     * @param presupuestoMaximo Presupuesto en COP (Double.POSITIVE_INFINITY si no hay límite)
+     * @return Mejor instalación, o null si no cabe ni un panel
+     * @throws IllegalArgumentException si el consumo, el área o el presupuesto son <= 0
+     */
+    public ResultadoOptimizacion optimizar(double consumoMensual, ConfiguracionInmutable config,
+                                           double areaMaxima, double presupuestoMaximo) {
+        return optimizar(consumoMensual, config, areaMaxima, presupuestoMaximo,
+                Collections.singletonList(ModeloPanel.desde(config)));
+    }
+
+    /**
+     * Optimiza el modelo y el número de paneles dentro de un catálogo.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Configuración con la tarifa de energía
+     * @param areaMaxima Área disponible en m² (Double.POSITIVE_INFINITY si no hay límite)
+     * @param presupuestoMaximo Presupuesto en COP (Double.POSITIVE_INFINITY si no hay límite)
+     * @param modelos Catálogo de modelos de panel a considerar
+     * @return Mejor instalación, o null si ningún modelo cabe
+     * @throws IllegalArgumentException si el consumo, el área o el presupuesto son <= 0
+     */
+    public ResultadoOptimizacion optimizar(double consumoMensual, ConfiguracionInmutable config,
+                                           double areaMaxima, double presupuestoMaximo,
+                                           List<ModeloPanel> modelos) {
+        if (consumoMensual <= 0) {
+            throw new IllegalArgumentException("El consumo mensual debe ser mayor a 0");
+        }
+        if (!(areaMaxima > 0) || !(presupuestoMaximo > 0)) {
+            throw new IllegalArgumentException("El área y el presupuesto máximos deben ser mayores a 0");
+        }
+
+        Tarifa tarifa = config.getTarifa();
+        double ahorroMensual = tarifa.costoMensual(consumoMensual); // Con todo el consumo cubierto
+        int cantidad = modelos.size();
+        int[] maximos = new int[cantidad];
+        double[] cotas = new double[cantidad];
+        int[] orden = new int[cantidad];
+
+        for (int i = 0; i < cantidad; i++) {
+            ModeloPanel modelo = modelos.get(i);
+            maximos[i] = maximoPaneles(modelo, consumoMensual, areaMaxima, presupuestoMaximo);
+            cotas[i] = maximos[i] < 1 ? Double.NEGATIVE_INFINITY
+                    : cota(modelo, maximos[i], consumoMensual, ahorroMensual);
+            orden[i] = i;
+        }
+
+        // Montículo de máximos por cota: solo se extraen los modelos que se evalúan,
+        // así que con poda el costo es O(modelos) en lugar de ordenar todo el catálogo
+        for (int i = cantidad / 2 - 1; i >= 0; i--) {
+            hundir(orden, cotas, i, cantidad);
+        }
+
+        ModeloPanel mejorModelo = null;
+        int mejorNumero = 0;
+        double mejorPuntaje = Double.NEGATIVE_INFINITY;
+        int evaluados = 0;
+
+        for (int restantes = cantidad; restantes > 0; restantes--) {
+            int indice = orden[0];
+            if (maximos[indice] < 1 || cotas[indice] <= mejorPuntaje) {
+                break;
+            }
+            orden[0] = orden[restantes - 1];
+            hundir(orden, cotas, 0, restantes - 1);
+            evaluados++;
+            ModeloPanel modelo = modelos.get(indice);
+            int numero = objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO
+                    ? mejorNumeroPorValorPresente(modelo, maximos[indice], consumoMensual, tarifa)
+                    : mejorNumeroPorRetorno(modelo, maximos[indice], consumoMensual);
+            double puntaje = puntaje(modelo, numero, consumoMensual, tarifa, ahorroMensual);
+            if (puntaje > mejorPuntaje) {
+                mejorPuntaje = puntaje;
+                mejorModelo = modelo;
+                mejorNumero = numero;
+            }
+        }
+
+        if (mejorModelo == null) {
+            return null;
+        }
+
+        double produccionMensualSistema = mejorNumero * mejorModelo.getProduccionMensualPanel();
+        double costoInstalacion = mejorNumero * mejorModelo.getCosto();
+        return new ResultadoOptimizacion(
+            mejorModelo,
+            mejorNumero,
+            mejorNumero * mejorModelo.getArea(),
+            costoInstalacion,
+            produccionMensualSistema,
+            AnalisisFinanciero.valorPresenteNeto(consumoMensual, produccionMensualSistema, tarifa,
+                    costoInstalacion, financieros),
+            retornoInversion(mejorModelo, mejorNumero, consumoMensual, ahorroMensual),
+            evaluados
+        );
+    }
+
+    /**
+     * Restaura la propiedad de montículo de máximos desde la posición i.
+     */
+    private static void hundir(int[] monticulo, double[] cotas, int i, int tamano) {
+        int elemento = monticulo[i];
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && cotas[monticulo[hijo + 1]] > cotas[monticulo[hijo]]) {
+                hijo++;
+            }
+            if (cotas[monticulo[hijo]] <= cotas[elemento]) {
+                break;
+            }
+            monticulo[i] = monticulo[hijo];
+            i = hijo;
+        }
+        monticulo[i] = elemento;
+    }
+
+    /**
+     * Número máximo de paneles que vale la pena considerar: lo que cabe en el área y el
+     * presupuesto, y no más de los que cubren el consumo todos los años.
+     */
+    private int maximoPaneles(ModeloPanel modelo, double consumoMensual, double areaMaxima,
+                              double presupuestoMaximo) {
+        double produccionUtil = modelo.getProduccionMensualPanel();
+        if (objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO) {
+            produccionUtil *= retencionFinal;
+        }
+        double maximo = Math.min(Math.floor(areaMaxima / modelo.getArea()),
+                Math.floor(presupuestoMaximo / modelo.getCosto()));
+        maximo = Math.min(maximo, Math.ceil(consumoMensual / produccionUtil));
+        return (int) Math.min(maximo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cota superior del puntaje de un modelo (mayor es mejor). El ahorro es proporcional
+     * a la energía producida, así que cada kWh ahorra a lo sumo ahorroMensual / consumo.
+     */
+    private double cota(ModeloPanel modelo, int maximo, double consumoMensual, double ahorroMensual) {
+        double precioEfectivo = ahorroMensual / consumoMensual;
+        double cota;
+        if (objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO) {
+            // El ahorro de cada año no supera ni la producción ni el consumo:
+            // VPN(n) <= n·k  y  VPN(n) <= S - n·g
+            double g = modelo.getCosto() * factorCosto;
+            double k = modelo.getProduccionMensualPanel() * 12 * precioEfectivo * factorAhorro - g;
+            double s = ahorroMensual * 12 * factorTarifa;
+            if (k <= 0) {
+                cota = k;
+            } else {
+                double cruce = s / (k + g);
+                if (maximo <= cruce) {
+                    cota = maximo * k;
+                } else if (cruce < 1) {
+                    cota = s - g;
+                } else {
+                    cota = cruce * k;
+                }
+            }
+        } else {
+            // El retorno nunca es menor que costo / ahorro anual de un panel
+            cota = -modelo.getCosto() / (modelo.getProduccionMensualPanel() * precioEfectivo * 12);
+        }
+        return cota + Math.abs(cota) * HOLGURA_COTA;
+    }
+
+    /**
+     * Búsqueda binaria del máximo de una función cóncava en [1, maximo].
+     */
+    private int mejorNumeroPorValorPresente(ModeloPanel modelo, int maximo, double consumoMensual,
+                                            Tarifa tarifa) {
+        int bajo = 1;
+        int alto = maximo;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (valorPresenteNeto(modelo, medio + 1, consumoMensual, tarifa)
+                    > valorPresenteNeto(modelo, medio, consumoMensual, tarifa)) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * El retorno es constante mientras la producción no supera el consumo y crece después,
+     * así que el mejor número es el mayor que no produce de más.
+     */
+    private int mejorNumeroPorRetorno(ModeloPanel modelo, int maximo, double consumoMensual) {
+        double sinExcedente = Math.floor(consumoMensual / modelo.getProduccionMensualPanel());
+        return (int) Math.max(1, Math.min(sinExcedente, maximo));
+    }
+
+    private double puntaje(ModeloPanel modelo, int numero, double consumoMensual, Tarifa tarifa,
+                           double ahorroMensual) {
+        return objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO
+                ? valorPresenteNeto(modelo, numero, consumoMensual, tarifa)
+                : -retornoInversion(modelo, numero, consumoMensual, ahorroMensual);
+    }
+
+    private double valorPresenteNeto(ModeloPanel modelo, int numero, double consumoMensual, Tarifa tarifa) {
+        return AnalisisFinanciero.valorPresenteNeto(consumoMensual,
+                numero * modelo.getProduccionMensualPanel(), tarifa,
+                numero * modelo.getCosto(), financieros);
+    }
+
+    /**
+     * Retorno simple con el ahorro reducido por la cobertura; con todo el consumo
+     * cubierto es el mismo de {@code calcular}.
+     */
+    private static double retornoInversion(ModeloPanel modelo, int numero, double consumoMensual,
+                                           double ahorroMensual) {
+        double cobertura = Math.min(1, numero * modelo.getProduccionMensualPanel() / consumoMensual);
+        return numero * modelo.getCosto() / (ahorroMensual * cobertura * 12);
+    }
+}
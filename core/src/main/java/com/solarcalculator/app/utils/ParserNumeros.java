@@ -0,0 +1,253 @@
+package com.solarcalculator.app.utils;
+
+/**
+ * Convierte texto a double en una sola pasada, aceptando formato colombiano (es-CO)
+ * y formato con punto decimal. No lanza excepciones: devuelve un código de resultado
+ * y deja el número en {@link #getValor()}.
+ *
+ * <p>Formatos aceptados (con espacios al inicio o al final):</p>
+ * <ul>
+ *     <li>"450", "450,5", "450.5", "-3", "1.0E7"</li>
+ *     <li>Separadores de miles: "1.234,5", "1,234.5", "1.234.567"</li>
+ * </ul>
+ * <p>Si aparece un solo separador se toma como decimal ("2.2" y "2,2" valen 2,2).
+ * Si hay varios del mismo tipo, o de ambos tipos, los de miles deben agrupar de a 3 dígitos
+ * y el decimal debe ser el último.</p>
+ *
+ * <p>No es seguro entre hilos: cada hilo debe usar su propia instancia.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class ParserNumeros {
+
+    // Códigos de resultado
+    public static final int VALIDO = 0;
+    public static final int ERROR_VACIO = 1;
+    public static final int ERROR_FORMATO = 2;
+    public static final int ERROR_RANGO = 3;
+
+    // Potencias de 10 representables exactamente en double
+    private static final double[] POTENCIAS_10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_MANTISA_EXACTA = 1L << 53;
+    private static final int MAX_DIGITOS_MANTISA = 18;
+    private static final int MAX_EXPONENTE = 100000;
+
+    private double valor;
+    private char[] respaldo;
+
+    /**
+     * Convierte un texto completo.
+     *
+     * @param texto Texto a convertir (puede ser null)
+     * @return VALIDO, ERROR_VACIO, ERROR_FORMATO o ERROR_RANGO
+     */
+    public int parsear(CharSequence texto) {
+        if (texto == null) {
+            return ERROR_VACIO;
+        }
+        return parsear(texto, 0, texto.length());
+    }
+
+    /**
+     * Convierte un fragmento de texto, por ejemplo un campo de una línea CSV.
+     *
+     * @param texto Texto que contiene el número
+     * @param inicio Índice del primer carácter (inclusive)
+     * @param fin Índice final (exclusive)
+     * @return VALIDO, ERROR_VACIO, ERROR_FORMATO o ERROR_RANGO
+     */
+    public int parsear(CharSequence texto, int inicio, int fin) {
+        // Recortar espacios igual que String.trim()
+        while (inicio < fin && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        if (inicio == fin) {
+            return ERROR_VACIO;
+        }
+
+        int i = inicio;
+        boolean negativo = false;
+        char c = texto.charAt(i);
+        if (c == '-' || c == '+') {
+            negativo = c == '-';
+            i++;
+        }
+
+        long mantisa = 0;
+        int digitosMantisa = 0;     // Dígitos significativos guardados en la mantisa
+        int digitosDescartados = 0; // Dígitos que no caben en la mantisa
+        int digitosTotales = 0;
+
+        // Estado de los separadores ('.' o ',')
+        char primerSeparador = 0;
+        char ultimoSeparador = 0;
+        int separadores = 0;
+        int separadoresUltimoTipo = 0;
+        int cambiosDeTipo = 0;
+        int digitosPrimerGrupo = 0;
+        int digitosGrupoActual = 0;
+        boolean gruposDeTres = true;
+
+        for (; i < fin; i++) {
+            c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitosTotales++;
+                digitosGrupoActual++;
+                if (mantisa == 0 && c == '0') {
+                    continue; // Ceros a la izquierda no son significativos
+                }
+                if (digitosMantisa < MAX_DIGITOS_MANTISA) {
+                    mantisa = mantisa * 10 + (c - '0');
+                    digitosMantisa++;
+                } else {
+                    digitosDescartados++;
+                }
+            } else if (c == '.' || c == ',') {
+                if (separadores == 0) {
+                    primerSeparador = c;
+                    digitosPrimerGrupo = digitosGrupoActual;
+                    separadoresUltimoTipo = 1;
+                } else {
+                    if (digitosGrupoActual != 3) {
+                        gruposDeTres = false;
+                    }
+                    if (c != ultimoSeparador) {
+                        cambiosDeTipo++;
+                        separadoresUltimoTipo = 1;
+                    } else {
+                        separadoresUltimoTipo++;
+                    }
+                }
+                ultimoSeparador = c;
+                separadores++;
+                digitosGrupoActual = 0;
+            } else if (c == 'e' || c == 'E') {
+                break;
+            } else {
+                return ERROR_FORMATO;
+            }
+        }
+
+        if (digitosTotales == 0) {
+            return ERROR_FORMATO;
+        }
+
+        // Decidir el papel de los separadores
+        int decimales = 0;
+        char separadorDecimal = 0;
+        if (separadores == 1) {
+            decimales = digitosGrupoActual;
+            separadorDecimal = ultimoSeparador;
+        } else if (separadores > 1) {
+            boolean gruposValidos = gruposDeTres && digitosPrimerGrupo >= 1 && digitosPrimerGrupo <= 3;
+            if (cambiosDeTipo == 0) {
+                // Todos iguales: son separadores de miles
+                if (!gruposValidos || digitosGrupoActual != 3) {
+                    return ERROR_FORMATO;
+                }
+            } else if (cambiosDeTipo == 1 && separadoresUltimoTipo == 1 && primerSeparador != ultimoSeparador) {
+                // Miles con un tipo y un único decimal al final con el otro
+                if (!gruposValidos) {
+                    return ERROR_FORMATO;
+                }
+                decimales = digitosGrupoActual;
+                separadorDecimal = ultimoSeparador;
+            } else {
+                return ERROR_FORMATO;
+            }
+        }
+
+        // Exponente opcional
+        int exponente = 0;
+        if (i < fin) {
+            i++; // Saltar 'e' o 'E'
+            boolean exponenteNegativo = false;
+            if (i < fin && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+                exponenteNegativo = texto.charAt(i) == '-';
+                i++;
+            }
+            if (i == fin) {
+                return ERROR_FORMATO;
+            }
+            for (; i < fin; i++) {
+                c = texto.charAt(i);
+                if (c < '0' || c > '9') {
+                    return ERROR_FORMATO;
+                }
+                if (exponente < MAX_EXPONENTE) {
+                    exponente = exponente * 10 + (c - '0');
+                }
+            }
+            if (exponenteNegativo) {
+                exponente = -exponente;
+            }
+        }
+
+        int exponente10 = exponente + digitosDescartados - decimales;
+        double resultado;
+        if (mantisa == 0) {
+            resultado = 0.0;
+        } else if (digitosDescartados == 0 && mantisa <= MAX_MANTISA_EXACTA
+                && exponente10 >= -22 && exponente10 <= 22) {
+            // Camino rápido exacto: mantisa y potencia de 10 son exactas en double
+            resultado = exponente10 >= 0
+                    ? mantisa * POTENCIAS_10[exponente10]
+                    : mantisa / POTENCIAS_10[-exponente10];
+        } else {
+            resultado = parsearLento(texto, inicio, fin, separadorDecimal);
+        }
+
+        if (Double.isInfinite(resultado)) {
+            return ERROR_RANGO;
+        }
+        valor = negativo ? -resultado : resultado;
+        return VALIDO;
+    }
+
+    /**
+     * Obtiene el valor de la última conversión válida.
+     *
+     * @return Número convertido
+     */
+    public double getValor() {
+        return valor;
+    }
+
+    /**
+     * Camino lento para números que no caben en el cálculo exacto (muchos dígitos
+     * o exponentes grandes). Normaliza el texto y usa Double.parseDouble.
+     *
+     * @param separadorDecimal Carácter que actúa como decimal, o 0 si no hay decimales
+     * @return Valor absoluto convertido
+     */
+    private double parsearLento(CharSequence texto, int inicio, int fin, char separadorDecimal) {
+        if (respaldo == null || respaldo.length < fin - inicio) {
+            respaldo = new char[Math.max(32, fin - inicio)];
+        }
+        int n = 0;
+        boolean enExponente = false;
+        for (int i = inicio; i < fin; i++) {
+            char c = texto.charAt(i);
+            if (c == 'e' || c == 'E') {
+                enExponente = true;
+                respaldo[n++] = 'E';
+            } else if (!enExponente && (c == '-' || c == '+')) {
+                // El signo se aplica al final
+            } else if (c == '.' || c == ',') {
+                if (c == separadorDecimal) {
+                    respaldo[n++] = '.';
+                }
+            } else {
+                respaldo[n++] = c;
+            }
+        }
+        return Double.parseDouble(new String(respaldo, 0, n));
+    }
+}
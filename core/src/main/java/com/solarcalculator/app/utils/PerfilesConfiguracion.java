@@ -0,0 +1,222 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Tarifa;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Perfiles con nombre de las constantes del sistema (por ejemplo, un proveedor de
+ * paneles o una región tarifaria), guardados juntos en un solo archivo compacto.
+ *
+ * <p>El archivo se lee completo la primera vez que se consulta un perfil, no al crear
+ * el objeto. Cada perfil se guarda en memoria como {@link ConfiguracionInmutable}, con
+ * sus valores derivados ya calculados, así que cambiar de perfil es solo tomar una
+ * referencia del mapa. Guardar o eliminar reescribe el archivo entero en uno temporal
+ * y lo renombra, de modo que nunca queda a medio escribir.</p>
+ *
+ * <p>Formato (little-endian): encabezado de 16 bytes ("CPRF", versión, cantidad de
+ * perfiles, reservado) y, por perfil, el largo del nombre en UTF-8 (short), el nombre,
+ * la producción, la potencia, el área y el costo del panel (double) y la tarifa con el
+ * formato de {@link RegistroTarifa}. Los archivos de la versión 1 guardaban el precio
+ * plano del kWh en lugar de la tarifa; se siguen leyendo y se reescriben en el formato
+ * actual al guardar.</p>
+ *
+ * <p>Es seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class PerfilesConfiguracion {
+
+    /** Largo máximo de un nombre en bytes UTF-8. */
+    public static final int MAX_BYTES_NOMBRE = 255;
+
+    private static final int MAGIA = 0x46525043; // "CPRF"
+    private static final int VERSION_FORMATO = 2;
+    private static final int VERSION_SIN_TARIFA = 1;
+    private static final int TAMANO_ENCABEZADO = 16;
+    private static final int TAMANO_VALORES = 4 * 8 + RegistroTarifa.TAMANO;
+    private static final int TAMANO_VALORES_SIN_TARIFA = 5 * 8;
+
+    private final File archivo;
+
+    // Perfiles en orden de creación; null hasta la primera consulta
+    private Map<String, ConfiguracionInmutable> perfiles;
+
+    /**
+     * Crea los perfiles respaldados por un archivo. No lee el disco.
+     *
+     * @param archivo Archivo de perfiles (puede no existir todavía)
+     */
+    public PerfilesConfiguracion(File archivo) {
+        this.archivo = archivo;
+    }
+
+    /**
+     * Obtiene los nombres de los perfiles en orden de creación.
+     *
+     * @return Copia de la lista de nombres
+     * @throws IOException si el archivo no puede leerse
+     */
+    public synchronized List<String> getNombres() throws IOException {
+        return new ArrayList<>(cargar().keySet());
+    }
+
+    /**
+     * Obtiene las constantes de un perfil.
+     *
+     * @param nombre Nombre del perfil
+     * @return Constantes del perfil, o null si no existe
+     * @throws IOException si el archivo no puede leerse
+     */
+    public synchronized ConfiguracionInmutable obtener(String nombre) throws IOException {
+        return cargar().get(nombre);
+    }
+
+    /**
+     * Guarda un perfil nuevo o reemplaza el que tenga el mismo nombre.
+     *
+     * @param nombre Nombre del perfil
+     * @param configuracion Constantes del perfil
+     * @throws IllegalArgumentException si el nombre está vacío o es demasiado largo, o la
+     *         tarifa tiene más bloques o franjas de los que guarda {@link RegistroTarifa}
+     * @throws IOException si el archivo no puede escribirse
+     */
+    public synchronized void guardar(String nombre, ConfiguracionInmutable configuracion) throws IOException {
+        if (nombre == null || nombre.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre del perfil no puede estar vacío");
+        }
+        if (nombre.getBytes(StandardCharsets.UTF_8).length > MAX_BYTES_NOMBRE) {
+            throw new IllegalArgumentException("El nombre del perfil es demasiado largo");
+        }
+        RegistroTarifa.validar(configuracion.getTarifa());
+        Map<String, ConfiguracionInmutable> nuevos = new LinkedHashMap<>(cargar());
+        nuevos.put(nombre, configuracion);
+        escribir(nuevos);
+        perfiles = nuevos;
+    }
+
+    /**
+     * Elimina un perfil.
+     *
+     * @param nombre Nombre del perfil
+     * @return true si el perfil existía
+     * @throws IOException si el archivo no puede escribirse
+     */
+    public synchronized boolean eliminar(String nombre) throws IOException {
+        if (!cargar().containsKey(nombre)) {
+            return false;
+        }
+        Map<String, ConfiguracionInmutable> nuevos = new LinkedHashMap<>(perfiles);
+        nuevos.remove(nombre);
+        escribir(nuevos);
+        perfiles = nuevos;
+        return true;
+    }
+
+    /**
+     * Lee el archivo completo la primera vez; después devuelve el mapa en memoria.
+     */
+    private Map<String, ConfiguracionInmutable> cargar() throws IOException {
+        if (perfiles != null) {
+            return perfiles;
+        }
+        Map<String, ConfiguracionInmutable> leidos = new LinkedHashMap<>();
+        if (archivo.exists()) {
+            ByteBuffer buffer;
+            try (RandomAccessFile entrada = new RandomAccessFile(archivo, "r")) {
+                byte[] contenido = new byte[(int) entrada.length()];
+                entrada.readFully(contenido);
+                buffer = ByteBuffer.wrap(contenido).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (buffer.remaining() < TAMANO_ENCABEZADO || buffer.getInt() != MAGIA) {
+                throw new IOException("No es un archivo de perfiles: " + archivo);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION_FORMATO && version != VERSION_SIN_TARIFA) {
+                throw new IOException("Versión de perfiles no soportada: " + version);
+            }
+            int tamanoValores = version == VERSION_FORMATO ? TAMANO_VALORES : TAMANO_VALORES_SIN_TARIFA;
+            int cantidad = buffer.getInt();
+            buffer.getInt(); // Reservado
+
+            byte[] bytesNombre = new byte[MAX_BYTES_NOMBRE];
+            for (int i = 0; i < cantidad; i++) {
+                if (buffer.remaining() < 2) {
+                    throw new IOException("Archivo de perfiles truncado: " + archivo);
+                }
+                int largo = buffer.getShort() & 0xFFFF;
+                if (largo > MAX_BYTES_NOMBRE || buffer.remaining() < largo + tamanoValores) {
+                    throw new IOException("Archivo de perfiles truncado: " + archivo);
+                }
+                buffer.get(bytesNombre, 0, largo);
+                String nombre = new String(bytesNombre, 0, largo, StandardCharsets.UTF_8);
+                double produccionPanel = buffer.getDouble();
+                double potenciaPanel = buffer.getDouble();
+                double areaPanel = buffer.getDouble();
+                Tarifa tarifa;
+                double costoPanel;
+                if (version == VERSION_SIN_TARIFA) {
+                    tarifa = Tarifa.plana(buffer.getDouble());
+                    costoPanel = buffer.getDouble();
+                } else {
+                    costoPanel = buffer.getDouble();
+                    tarifa = RegistroTarifa.leer(buffer, buffer.position());
+                    buffer.position(buffer.position() + RegistroTarifa.TAMANO);
+                }
+                leidos.put(nombre, new ConfiguracionInmutable(
+                        produccionPanel, potenciaPanel, areaPanel, tarifa, costoPanel));
+            }
+        }
+        perfiles = leidos;
+        return leidos;
+    }
+
+    /**
+     * Escribe todos los perfiles en un archivo temporal y lo renombra sobre el original.
+     */
+    private void escribir(Map<String, ConfiguracionInmutable> datos) throws IOException {
+        int tamano = TAMANO_ENCABEZADO;
+        List<byte[]> nombres = new ArrayList<>(datos.size());
+        for (String nombre : datos.keySet()) {
+            byte[] bytes = nombre.getBytes(StandardCharsets.UTF_8);
+            nombres.add(bytes);
+            tamano += 2 + bytes.length + TAMANO_VALORES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(tamano).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIA).putInt(VERSION_FORMATO).putInt(datos.size()).putInt(0);
+        int i = 0;
+        for (ConfiguracionInmutable configuracion : datos.values()) {
+            byte[] bytes = nombres.get(i++);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+            buffer.putDouble(configuracion.getProduccionPanel());
+            buffer.putDouble(configuracion.getPotenciaPanel());
+            buffer.putDouble(configuracion.getAreaPanel());
+            buffer.putDouble(configuracion.getCostoPanel());
+            RegistroTarifa.escribir(buffer, configuracion.getTarifa());
+        }
+
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try (FileOutputStream salida = new FileOutputStream(temporal)) {
+            salida.write(buffer.array());
+            salida.getFD().sync();
+        }
+        if (!temporal.renameTo(archivo)) {
+            temporal.delete();
+            throw new IOException("No se pudo reemplazar el archivo de perfiles: " + archivo);
+        }
+    }
+}
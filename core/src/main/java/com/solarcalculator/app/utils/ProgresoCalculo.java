@@ -0,0 +1,38 @@
+package com.solarcalculator.app.utils;
+
+/**
+ * Canal entre un cálculo largo y quien lo ejecuta: el cálculo informa su avance y
+ * consulta si ya no se necesita su resultado para detenerse cuanto antes.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public interface ProgresoCalculo {
+
+    /**
+     * Progreso que ignora los avances y nunca se cancela.
+     */
+    ProgresoCalculo NINGUNO = new ProgresoCalculo() {
+        @Override
+        public void reportar(long hecho, long total) {
+        }
+
+        @Override
+        public boolean isCancelado() {
+            return false;
+        }
+    };
+
+    /**
+     * Informa el avance. Puede llamarse desde cualquier hilo y con mucha frecuencia.
+     *
+     * @param hecho Unidades de trabajo terminadas
+     * @param total Unidades de trabajo totales
+     */
+    void reportar(long hecho, long total);
+
+    /**
+     * Indica si el cálculo fue cancelado y su resultado se descartará.
+     */
+    boolean isCancelado();
+}
@@ -0,0 +1,135 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vista reutilizable (flyweight) de un registro binario de {@link CalculosSolares}.
+ * Los getters leen directamente del buffer mapeado, así que recorrer millones de
+ * registros no crea objetos: el mismo registro se reposiciona con
+ * {@link LectorRegistros#leer(int, RegistroCalculos)}.
+ *
+ * <p>Formato de cada registro (72 bytes, little-endian):</p>
+ * <pre>
+ *  0 consumoMensual           double
+ *  8 potenciaSistema          double
+ * 16 numeroPanelesExacto      double
+ * 24 ahorroMensual            double
+ * 32 costoInstalacion         double
+ * 40 retornoInversion         double
+ * 48 areaRequerida            double
+ * 56 produccionMensualSistema double
+ * 64 numeroPaneles            int
+ * 68 (relleno)                4 bytes
+ * </pre>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class RegistroCalculos {
+
+    /** Tamaño de cada registro en bytes. */
+    public static final int TAMANO = 72;
+
+    // Encabezado del archivo (16 bytes): "CSOL", versión del formato, tamaño del registro, reservado
+    static final int MAGIA = 0x4C4F5343;
+    static final int VERSION_FORMATO = 1;
+    static final int TAMANO_ENCABEZADO = 16;
+
+    // Posiciones de los campos dentro del registro
+    static final int CONSUMO_MENSUAL = 0;
+    static final int POTENCIA_SISTEMA = 8;
+    static final int NUMERO_PANELES_EXACTO = 16;
+    static final int AHORRO_MENSUAL = 24;
+    static final int COSTO_INSTALACION = 32;
+    static final int RETORNO_INVERSION = 40;
+    static final int AREA_REQUERIDA = 48;
+    static final int PRODUCCION_MENSUAL_SISTEMA = 56;
+    static final int NUMERO_PANELES = 64;
+
+    private ByteBuffer buffer;
+    private int base;
+
+    /**
+     * Apunta la vista a un registro del buffer.
+     */
+    void posicionar(ByteBuffer buffer, int base) {
+        this.buffer = buffer;
+        this.base = base;
+    }
+
+    public double getConsumoMensual() {
+        return buffer.getDouble(base + CONSUMO_MENSUAL);
+    }
+
+    public double getPotenciaSistema() {
+        return buffer.getDouble(base + POTENCIA_SISTEMA);
+    }
+
+    public int getNumeroPaneles() {
+        return buffer.getInt(base + NUMERO_PANELES);
+    }
+
+    public double getNumeroPanelesExacto() {
+        return buffer.getDouble(base + NUMERO_PANELES_EXACTO);
+    }
+
+    public double getAhorroMensual() {
+        return buffer.getDouble(base + AHORRO_MENSUAL);
+    }
+
+    public double getCostoInstalacion() {
+        return buffer.getDouble(base + COSTO_INSTALACION);
+    }
+
+    public double getRetornoInversion() {
+        return buffer.getDouble(base + RETORNO_INVERSION);
+    }
+
+    public double getAreaRequerida() {
+        return buffer.getDouble(base + AREA_REQUERIDA);
+    }
+
+    public double getProduccionMensualSistema() {
+        return buffer.getDouble(base + PRODUCCION_MENSUAL_SISTEMA);
+    }
+
+    /**
+     * Copia el registro a un objeto CalculosSolares independiente del archivo.
+     *
+     * @return Nuevo objeto con los nueve campos
+     */
+    public CalculosSolares aCalculosSolares() {
+        return new CalculosSolares(
+            getConsumoMensual(),
+            getPotenciaSistema(),
+            getNumeroPaneles(),
+            getNumeroPanelesExacto(),
+            getAhorroMensual(),
+            getCostoInstalacion(),
+            getRetornoInversion(),
+            getAreaRequerida(),
+            getProduccionMensualSistema()
+        );
+    }
+
+    /**
+     * Escribe los nueve campos en el buffer a partir de su posición actual y la avanza.
+     */
+    static void escribir(ByteBuffer destino, double consumoMensual, double potenciaSistema,
+                         int numeroPaneles, double numeroPanelesExacto, double ahorroMensual,
+                         double costoInstalacion, double retornoInversion, double areaRequerida,
+                         double produccionMensualSistema) {
+        destino.putDouble(consumoMensual);
+        destino.putDouble(potenciaSistema);
+        destino.putDouble(numeroPanelesExacto);
+        destino.putDouble(ahorroMensual);
+        destino.putDouble(costoInstalacion);
+        destino.putDouble(retornoInversion);
+        destino.putDouble(areaRequerida);
+        destino.putDouble(produccionMensualSistema);
+        destino.putInt(numeroPaneles);
+        destino.putInt(0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.Tarifa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario de ancho fijo de una {@link Tarifa}, compartido por
+ * {@link HistorialCotizaciones} y {@link PerfilesConfiguracion}. Guarda las tablas tal
+ * cual, así que la tarifa leída factura exactamente igual que la guardada.
+ *
+ * <p>Formato (160 bytes; el orden de bytes lo fija el buffer):</p>
+ * <pre>
+ *   0 bloques          int (1 a MAX_BLOQUES)
+ *   4 franjas          int (0 si no es horaria, 1 a MAX_FRANJAS)
+ *   8 precioBase       double
+ *  16 limites          MAX_BLOQUES - 1 doubles
+ *  56 precios          MAX_BLOQUES doubles
+ * 104 preciosFranja    MAX_FRANJAS doubles
+ * 152 iniciosFranja    MAX_FRANJAS bytes
+ * 158 (relleno)        2 bytes
+ * </pre>
+ * Las posiciones que la tarifa no usa se escriben en cero.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+final class RegistroTarifa {
+
+    /** Número máximo de bloques de consumo que se pueden guardar. */
+    static final int MAX_BLOQUES = 6;
+    /** Número máximo de franjas horarias que se pueden guardar. */
+    static final int MAX_FRANJAS = 6;
+
+    /** Tamaño del registro en bytes. */
+    static final int TAMANO = 160;
+
+    private static final int BLOQUES = 0;
+    private static final int FRANJAS = 4;
+    private static final int PRECIO_BASE = 8;
+    private static final int LIMITES = 16;
+    private static final int PRECIOS = LIMITES + (MAX_BLOQUES - 1) * 8;
+    private static final int PRECIOS_FRANJA = PRECIOS + MAX_BLOQUES * 8;
+    private static final int INICIOS_FRANJA = PRECIOS_FRANJA + MAX_FRANJAS * 8;
+
+    private RegistroTarifa() {
+    }
+
+    /**
+     * Comprueba que una tarifa quepa en el registro.
+     *
+     * @throws IllegalArgumentException si tiene más bloques o franjas de los que se guardan
+     */
+    static void validar(Tarifa tarifa) {
+        int[] inicios = tarifa.getIniciosFranja();
+        if (tarifa.getPrecios().length > MAX_BLOQUES || (inicios != null && inicios.length > MAX_FRANJAS)) {
+            throw new IllegalArgumentException("Solo se pueden guardar tarifas de hasta " + MAX_BLOQUES
+                    + " bloques y " + MAX_FRANJAS + " franjas: " + tarifa);
+        }
+    }
+
+    /**
+     * Escribe la tarifa a partir de la posición actual del buffer y la avanza TAMANO bytes.
+     *
+     * @throws IllegalArgumentException si la tarifa no cabe (no se escribe nada)
+     */
+    static void escribir(ByteBuffer destino, Tarifa tarifa) {
+        validar(tarifa);
+        double[] limites = tarifa.getLimites();
+        double[] precios = tarifa.getPrecios();
+        int[] inicios = tarifa.getIniciosFranja();
+        double[] preciosFranja = tarifa.getPreciosFranja();
+        int franjas = inicios != null ? inicios.length : 0;
+
+        destino.putInt(precios.length);
+        destino.putInt(franjas);
+        destino.putDouble(tarifa.getPrecioBase());
+        for (int k = 0; k < MAX_BLOQUES - 1; k++) {
+            destino.putDouble(k < limites.length ? limites[k] : 0);
+        }
+        for (int k = 0; k < MAX_BLOQUES; k++) {
+            destino.putDouble(k < precios.length ? precios[k] : 0);
+        }
+        for (int f = 0; f < MAX_FRANJAS; f++) {
+            destino.putDouble(f < franjas ? preciosFranja[f] : 0);
+        }
+        for (int f = 0; f < MAX_FRANJAS; f++) {
+            destino.put((byte) (f < franjas ? inicios[f] : 0));
+        }
+        destino.putShort((short) 0);
+    }
+
+    /**
+     * Lee una tarifa escrita con {@link #escribir} sin mover la posición del buffer.
+     *
+     * @param origen Buffer con el registro
+     * @param base Posición del registro dentro del buffer
+     * @return Tarifa guardada
+     * @throws IOException si el registro está dañado
+     */
+    static Tarifa leer(ByteBuffer origen, int base) throws IOException {
+        int bloques = origen.getInt(base + BLOQUES);
+        int franjas = origen.getInt(base + FRANJAS);
+        if (bloques < 1 || bloques > MAX_BLOQUES || franjas < 0 || franjas > MAX_FRANJAS) {
+            throw new IOException("Tarifa dañada: " + bloques + " bloques, " + franjas + " franjas");
+        }
+        double[] limites = new double[bloques - 1];
+        double[] precios = new double[bloques];
+        for (int k = 0; k < bloques; k++) {
+            if (k < bloques - 1) {
+                limites[k] = origen.getDouble(base + LIMITES + k * 8);
+            }
+            precios[k] = origen.getDouble(base + PRECIOS + k * 8);
+        }
+        int[] inicios = null;
+        double[] preciosFranja = null;
+        if (franjas > 0) {
+            inicios = new int[franjas];
+            preciosFranja = new double[franjas];
+            for (int f = 0; f < franjas; f++) {
+                inicios[f] = origen.get(base + INICIOS_FRANJA + f);
+                preciosFranja[f] = origen.getDouble(base + PRECIOS_FRANJA + f * 8);
+            }
+        }
+        try {
+            return Tarifa.desdeTablas(origen.getDouble(base + PRECIO_BASE), limites, precios,
+                    inicios, preciosFranja);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Tarifa dañada: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.EntradaHistorial;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Repositorio de resultados dentro del proceso. Las pantallas se pasan un identificador
+ * pequeño en lugar del resultado completo, así el tamaño del Intent no crece con el
+ * resultado.
+ *
+ * <p>Los resultados se guardan con referencias suaves: el recolector de basura puede
+ * liberarlos si falta memoria. El identificador es el índice de la cotización en el
+ * {@link HistorialCotizaciones}, que guarda el consumo y la configuración usados; si el
+ * resultado ya no está en memoria (o el proceso se reinició), se vuelve a calcular a
+ * partir de esas entradas.</p>
+ *
+ * <p>Si no hay historial (no se pudo abrir), los últimos {@link #MAXIMO_SIN_RESPALDO}
+ * resultados se conservan con referencias fuertes y con identificadores negativos; los
+ * más antiguos se descartan y no sobreviven al proceso.</p>
+ *
+ * <p>Es seguro entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class RepositorioResultados {
+
+    /** Resultados que se conservan sin historial; los menos usados se descartan. */
+    public static final int MAXIMO_SIN_RESPALDO = 32;
+
+    private final HistorialCotizaciones historial;
+
+    // Protegidos por el monitor del repositorio
+    private final HashMap<Integer, Referencia> referencias = new HashMap<>();
+    private final ReferenceQueue<CalculosSolares> liberadas = new ReferenceQueue<>();
+    // accessOrder = true: el orden de iteración va del menos al más usado recientemente
+    private final LinkedHashMap<Integer, CalculosSolares> sinRespaldo =
+            new LinkedHashMap<Integer, CalculosSolares>(MAXIMO_SIN_RESPALDO * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, CalculosSolares> eldest) {
+                    return size() > MAXIMO_SIN_RESPALDO;
+                }
+            };
+    private int siguienteSinRespaldo = -1;
+
+    /**
+     * Constructor con el historial que sirve de respaldo en disco.
+     *
+     * @param historial Historial de cotizaciones, o null para trabajar solo en memoria
+     */
+    public RepositorioResultados(HistorialCotizaciones historial) {
+        this.historial = historial;
+    }
+
+    /**
+     * Guarda un resultado y lo agrega al historial.
+     *
+     * @param calculos Resultado a guardar
+     * @param configuracion Configuración con la que se calculó
+     * @return Identificador del resultado
+     */
+    public synchronized int guardar(CalculosSolares calculos, ConfiguracionInmutable configuracion) {
+        purgar();
+        if (historial == null) {
+            int id = siguienteSinRespaldo--;
+            sinRespaldo.put(id, calculos);
+            return id;
+        }
+        int id = historial.agregar(calculos, configuracion);
+        referencias.put(id, new Referencia(id, calculos, liberadas));
+        return id;
+    }
+
+    /**
+     * Busca un resultado solo en memoria, sin leer el disco.
+     *
+     * @param id Identificador devuelto por {@link #guardar}
+     * @return El resultado, o null si no está en memoria (o, sin historial, si ya se descartó)
+     */
+    public synchronized CalculosSolares obtenerEnMemoria(int id) {
+        if (id < 0) {
+            return sinRespaldo.get(id);
+        }
+        Referencia referencia = referencias.get(id);
+        return referencia != null ? referencia.get() : null;
+    }
+
+    /**
+     * Obtiene un resultado; si no está en memoria lo recalcula a partir del consumo y la
+     * configuración guardados en el historial. Puede leer el disco: no llamar desde el
+     * hilo principal.
+     *
+     * @param id Identificador devuelto por {@link #guardar}
+     * @return El resultado, o null si el identificador no existe
+     * @throws IOException si falla la lectura del historial
+     */
+    public CalculosSolares obtener(int id) throws IOException {
+        CalculosSolares calculos = obtenerEnMemoria(id);
+        if (calculos != null || id < 0 || historial == null || id >= historial.getTamano()) {
+            return calculos;
+        }
+
+        EntradaHistorial entrada = historial.leer(id);
+        calculos = CalculadoraSolar.calcular(entrada.getCalculos().getConsumoMensual(),
+                entrada.getConfiguracion());
+        synchronized (this) {
+            purgar();
+            referencias.put(id, new Referencia(id, calculos, liberadas));
+        }
+        return calculos;
+    }
+
+    /**
+     * Quita del mapa las referencias cuyo resultado ya fue liberado.
+     */
+    private void purgar() {
+        Referencia referencia;
+        while ((referencia = (Referencia) liberadas.poll()) != null) {
+            // Solo si no fue reemplazada por un resultado recalculado
+            if (referencias.get(referencia.id) == referencia) {
+                referencias.remove(referencia.id);
+            }
+        }
+    }
+
+    /**
+     * Referencia suave que recuerda su identificador para poder purgarla.
+     */
+    private static final class Referencia extends SoftReference<CalculosSolares> {
+        final int id;
+
+        Referencia(int id, CalculosSolares calculos, ReferenceQueue<CalculosSolares> cola) {
+            super(calculos, cola);
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.PerfilProduccion;
+
+/**
+ * Motor de simulación horaria (8760 horas) de la producción de un panel.
+ * Reemplaza el cálculo plano "producción diaria × 30" con un perfil que considera
+ * la hora del día (elevación solar) y la estacionalidad mensual del sitio.
+ *
+ * <p>La forma del perfil depende solo del sitio, así que se calcula una vez en el
+ * constructor y se normaliza para que el promedio diario del año sea igual a la
+ * producción diaria configurada. Cada simulación es luego un solo recorrido que
+ * escala la forma sobre arreglos reutilizados.</p>
+ *
+ * <p>Las instancias son inmutables y se pueden compartir entre hilos.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class SimuladorHorario {
+
+    public static final int DIAS_ANO = 365;
+    public static final int HORAS_DIA = 24;
+
+    // Latitud de Bogotá, usada como sitio por defecto
+    public static final double LATITUD_POR_DEFECTO = 4.6;
+
+    // Régimen bimodal colombiano: temporadas secas (dic-feb, jul-ago) con más radiación
+    private static final double[] FACTORES_MENSUALES_POR_DEFECTO = {
+        1.08, 1.06, 1.00, 0.92, 0.94, 1.00, 1.06, 1.06, 1.00, 0.92, 0.92, 1.02
+    };
+
+    private static final SimuladorHorario POR_DEFECTO =
+            new SimuladorHorario(LATITUD_POR_DEFECTO, FACTORES_MENSUALES_POR_DEFECTO);
+
+    // Fracción de la producción anual que corresponde a cada hora (suma = 1)
+    private final double[] formaHoraria = new double[PerfilProduccion.HORAS_ANO];
+
+    /**
+     * Constructor que precalcula la forma del perfil para un sitio.
+     *
+     * @param latitudGrados Latitud del sitio en grados (positiva al norte)
+     * @param factoresMensuales 12 factores relativos de nubosidad (1.0 = cielo promedio)
+     * @throws IllegalArgumentException si no hay 12 factores o alguno es negativo
+     */
+    public SimuladorHorario(double latitudGrados, double[] factoresMensuales) {
+        if (factoresMensuales.length != PerfilProduccion.MESES_ANO) {
+            throw new IllegalArgumentException("Se requieren 12 factores mensuales");
+        }
+
+        double latitud = Math.toRadians(latitudGrados);
+        double senoLatitud = Math.sin(latitud);
+        double cosenoLatitud = Math.cos(latitud);
+
+        // Coseno del ángulo horario en la mitad de cada hora solar (se repite todos los días)
+        double[] cosenoAnguloHorario = new double[HORAS_DIA];
+        for (int h = 0; h < HORAS_DIA; h++) {
+            cosenoAnguloHorario[h] = Math.cos(Math.toRadians((h + 0.5 - 12.0) * 15.0));
+        }
+
+        double total = 0;
+        int hora = 0;
+        int dia = 0;
+        for (int mes = 0; mes < PerfilProduccion.MESES_ANO; mes++) {
+            double factor = factoresMensuales[mes];
+            if (factor < 0) {
+                throw new IllegalArgumentException("Los factores mensuales no pueden ser negativos");
+            }
+            for (int d = 0; d < PerfilProduccion.diasDelMes(mes); d++, dia++) {
+                // Declinación solar (fórmula de Cooper)
+                double declinacion = Math.toRadians(23.45 * Math.sin(2 * Math.PI * (284 + dia + 1) / DIAS_ANO));
+                double a = senoLatitud * Math.sin(declinacion);
+                double b = cosenoLatitud * Math.cos(declinacion);
+                for (int h = 0; h < HORAS_DIA; h++, hora++) {
+                    // Seno de la elevación solar; de noche es negativo y no hay producción
+                    double senoElevacion = a + b * cosenoAnguloHorario[h];
+                    double valor = senoElevacion > 0 ? senoElevacion * factor : 0;
+                    formaHoraria[hora] = valor;
+                    total += valor;
+                }
+            }
+        }
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("El sitio no recibe radiación en el año");
+        }
+        double inverso = 1.0 / total;
+        for (int i = 0; i < formaHoraria.length; i++) {
+            formaHoraria[i] *= inverso;
+        }
+    }
+
+    /**
+     * Obtiene el simulador del sitio por defecto (Bogotá, régimen bimodal).
+     *
+     * @return Simulador compartido
+     */
+    public static SimuladorHorario porDefecto() {
+        return POR_DEFECTO;
+    }
+
+    /**
+     * Simula un año de producción de un panel y escribe el resultado en el perfil.
+     * Los totales mensuales se obtienen sumando las horas de cada mes.
+     * No crea objetos: solo recorre los arreglos del perfil.
+     *
+     * @param produccionDiariaPanel Producción diaria promedio de un panel en kWh/día
+     * @param perfil Perfil preasignado donde se escriben las 8760 horas y los 12 meses
+     */
+    public void simular(double produccionDiariaPanel, PerfilProduccion perfil) {
+        double produccionAnual = produccionDiariaPanel * DIAS_ANO;
+        double[] horas = perfil.getProduccionHoraria();
+        double[] meses = perfil.getProduccionMensual();
+
+        // Escalar la forma y acumular los totales mensuales en el mismo recorrido
+        int hora = 0;
+        for (int mes = 0; mes < PerfilProduccion.MESES_ANO; mes++) {
+            int finMes = hora + PerfilProduccion.diasDelMes(mes) * HORAS_DIA;
+            double totalMes = 0;
+            for (; hora < finMes; hora++) {
+                double valor = formaHoraria[hora] * produccionAnual;
+                horas[hora] = valor;
+                totalMes += valor;
+            }
+            meses[mes] = totalMes;
+        }
+
+        perfil.setProduccionAnual(produccionAnual);
+    }
+}
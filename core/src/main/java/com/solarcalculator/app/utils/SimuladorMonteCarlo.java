@@ -0,0 +1,326 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Distribucion;
+import com.solarcalculator.app.model.ResultadoMonteCarlo;
+import com.solarcalculator.app.model.Tarifa;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor Monte Carlo de riesgo para el retorno de inversión.
+ * En cada ensayo se muestrean la producción del panel, el precio del kWh y el costo
+ * por panel alrededor de los valores de la configuración y se calcula el retorno
+ * de inversión con las mismas fórmulas que {@link CalculadoraSolar#calcular}.
+ *
+ * <p>El ahorro es la factura del consumo con la tarifa de la configuración. El precio
+ * muestreado es el precio base de la tarifa: todos sus bloques o franjas se escalan en
+ * la misma proporción, como {@link Tarifa#escalada}, sin
+ * crear una tarifa por ensayo.</p>
+ *
+ * <p>El número de paneles se dimensiona con la producción nominal (como en la
+ * cotización); si la producción real resulta menor que el consumo, el ahorro se
+ * reduce en proporción a la energía producida, como en {@link AnalisisFinanciero}.
+ * Con distribuciones fijas cada ensayo da el mismo retorno de inversión que
+ * {@code calcular}.</p>
+ *
+ * <p>Los ensayos se reparten en bloques de tamaño fijo y cada bloque usa su propio
+ * flujo de {@link SplittableRandom} derivado de la semilla, por lo que el resultado es
+ * idéntico con cualquier número de hilos. Los percentiles se calculan sobre un
+ * histograma interno con precisión relativa de 0,2 %, sin guardar los ensayos, así
+ * que la memoria no crece con el número de ensayos.</p>
+ *
+ * <p>En Android, SplittableRandom requiere API 24.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class SimuladorMonteCarlo {
+
+    /** Número de clases del histograma del resultado. */
+    public static final int CLASES_HISTOGRAMA = 20;
+
+    // Ensayos de cada bloque; fija la división de los flujos aleatorios
+    private static final int ENSAYOS_POR_BLOQUE = 65536;
+
+    // Histograma interno: el índice son los bits altos del double (exponente y
+    // 9 bits de mantisa), es decir, 512 clases por octava entre 1/128 y 16384 años
+    private static final int DESPLAZAMIENTO = 52 - 9;
+    private static final long BASE = Double.doubleToRawLongBits(1.0 / 128) >>> DESPLAZAMIENTO;
+    private static final int CLASES_INTERNAS =
+            (int) ((Double.doubleToRawLongBits(16384.0) >>> DESPLAZAMIENTO) - BASE);
+
+    private final Distribucion produccion;
+    private final Distribucion precio;
+    private final Distribucion costo;
+
+    /**
+     * Constructor con la distribución de cada parámetro incierto.
+     *
+     * @param produccion Distribución de la producción de un panel
+     * @param precio Distribución del precio del kWh
+     * @param costo Distribución del costo por panel
+     */
+    public SimuladorMonteCarlo(Distribucion produccion, Distribucion precio, Distribucion costo) {
+        this.produccion = produccion;
+        this.precio = precio;
+        this.costo = costo;
+    }
+
+    /**
+     * Ejecuta la simulación usando el pool común de fork-join.
+     *
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Constantes del sistema (centros de las distribuciones)
+     * @param ensayos Número de ensayos (mayor a 0)
+     * @param semilla Semilla; la misma semilla da el mismo resultado
+     * @return Percentiles, estadísticos e histograma del retorno de inversión
+     * @throws IllegalArgumentException si el consumo, el número de ensayos o alguno de los
+     *         centros (producción, precio o costo por panel) es <= 0
+     */
+    public ResultadoMonteCarlo simular(double consumoMensual, ConfiguracionInmutable config,
+                                       int ensayos, long semilla) {
+        return simular(ForkJoinPool.commonPool(), consumoMensual, config, ensayos, semilla);
+    }
+
+    /**
+     * Ejecuta la simulación con el pool indicado.
+     *
+     * @param pool Pool de fork-join donde se ejecutan los bloques
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Constantes del sistema (centros de las distribuciones)
+     * @param ensayos Número de ensayos (mayor a 0)
+     * @param semilla Semilla; la misma semilla da el mismo resultado
+     * @return Percentiles, estadísticos e histograma del retorno de inversión
+     */
+    public ResultadoMonteCarlo simular(ForkJoinPool pool, double consumoMensual,
+                                       ConfiguracionInmutable config, int ensayos, long semilla) {
+        return simular(pool, consumoMensual, config, ensayos, semilla, ProgresoCalculo.NINGUNO);
+    }
+
+    /**
+     * Ejecuta la simulación con el pool indicado, informando el avance por bloque.
+     *
+     * @param pool Pool de fork-join donde se ejecutan los bloques
+     * @param consumoMensual Consumo promedio en kWh/mes
+     * @param config Constantes del sistema (centros de las distribuciones)
+     * @param ensayos Número de ensayos (mayor a 0)
+     * @param semilla Semilla; la misma semilla da el mismo resultado
+     * @param progreso Recibe los bloques terminados; si se cancela, los bloques restantes no se simulan
+     * @return Percentiles, estadísticos e histograma del retorno de inversión
+     * @throws java.util.concurrent.CancellationException si el progreso se cancela antes de terminar
+     */
+    public ResultadoMonteCarlo simular(ForkJoinPool pool, double consumoMensual,
+                                       ConfiguracionInmutable config, int ensayos, long semilla,
+                                       ProgresoCalculo progreso) {
+        if (consumoMensual <= 0) {
+            throw new IllegalArgumentException("El consumo mensual debe ser mayor a 0");
+        }
+        if (ensayos <= 0) {
+            throw new IllegalArgumentException("El número de ensayos debe ser mayor a 0");
+        }
+        // La configuración no valida sus valores; un centro en 0 se rechaza aquí y no en los hilos
+        if (!(config.getProduccionPanel() > 0) || !(config.getPrecioKwh() > 0) || !(config.getCostoPanel() > 0)) {
+            throw new IllegalArgumentException("La producción, el precio del kWh y el costo por panel deben ser mayores a 0");
+        }
+
+        // Los flujos se derivan en orden desde la semilla, independientemente de los hilos
+        int bloques = (ensayos + ENSAYOS_POR_BLOQUE - 1) / ENSAYOS_POR_BLOQUE;
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        SplittableRandom[] flujos = new SplittableRandom[bloques];
+        for (int b = 0; b < bloques; b++) {
+            flujos[b] = raiz.split();
+        }
+
+        Lote lote = new Lote(consumoMensual, config, ensayos, flujos, progreso);
+        Acumulador total = pool.invoke(new Tarea(lote, 0, bloques));
+
+        // Las sumas se combinan siempre en orden de bloque para que la media sea reproducible
+        double suma = 0;
+        for (double sumaBloque : lote.sumas) {
+            suma += sumaBloque;
+        }
+
+        double p01 = total.percentil(0.01, ensayos);
+        double p99 = total.percentil(0.99, ensayos);
+        double anchoClase = (p99 - p01) / CLASES_HISTOGRAMA;
+        long[] histograma = total.histograma(p01, anchoClase);
+
+        return new ResultadoMonteCarlo(
+            ensayos,
+            suma / ensayos,
+            total.minimo,
+            total.maximo,
+            total.percentil(0.10, ensayos),
+            total.percentil(0.50, ensayos),
+            total.percentil(0.90, ensayos),
+            histograma,
+            p01,
+            anchoClase
+        );
+    }
+
+    /**
+     * Datos compartidos por los bloques de una simulación.
+     */
+    private final class Lote {
+        final double consumoMensual;
+        final int numeroPaneles;
+        final double produccionMensualPanel;
+        final double precioKwh;     // Precio base de la tarifa (centro del muestreo)
+        final double facturaConsumo; // Factura del consumo con la tarifa sin escalar
+        final double costoPanel;
+        final int ensayos;
+        final SplittableRandom[] flujos;
+        final double[] sumas; // Suma de los retornos de cada bloque
+        final ProgresoCalculo progreso;
+        final AtomicInteger terminados = new AtomicInteger();
+
+        Lote(double consumoMensual, ConfiguracionInmutable config, int ensayos, SplittableRandom[] flujos,
+             ProgresoCalculo progreso) {
+            this.consumoMensual = consumoMensual;
+            this.produccionMensualPanel = config.getProduccionMensualPanel();
+            this.numeroPaneles = (int) Math.ceil(consumoMensual / produccionMensualPanel);
+            this.precioKwh = config.getPrecioKwh();
+            this.facturaConsumo = config.getTarifa().costoMensual(consumoMensual);
+            this.costoPanel = config.getCostoPanel();
+            this.ensayos = ensayos;
+            this.flujos = flujos;
+            this.sumas = new double[flujos.length];
+            this.progreso = progreso;
+        }
+
+        void simularBloque(int bloque, Acumulador acumulador) {
+            SplittableRandom aleatorio = flujos[bloque];
+            int inicio = bloque * ENSAYOS_POR_BLOQUE;
+            int fin = Math.min(inicio + ENSAYOS_POR_BLOQUE, ensayos);
+            double suma = 0;
+
+            for (int i = inicio; i < fin; i++) {
+                // El orden de las muestras es fijo para que cada flujo sea reproducible
+                double produccionSistema = numeroPaneles * produccion.muestrear(produccionMensualPanel, aleatorio);
+                double precioReal = precio.muestrear(precioKwh, aleatorio);
+                double costoInstalacion = numeroPaneles * costo.muestrear(costoPanel, aleatorio);
+
+                // Con distribuciones fijas el factor y la cobertura son 1 y el ahorro es el de calcular()
+                double cobertura = Math.min(1, produccionSistema / consumoMensual);
+                double ahorroMensual = facturaConsumo * (precioReal / precioKwh) * cobertura;
+                double ahorroAnual = ahorroMensual * 12;
+                double retornoInversion = costoInstalacion / ahorroAnual;
+
+                acumulador.registrar(retornoInversion);
+                suma += retornoInversion;
+            }
+            sumas[bloque] = suma;
+        }
+    }
+
+    /**
+     * Histograma interno con mínimo y máximo. La combinación es conmutativa, así que el
+     * resultado no depende del orden en que terminan las tareas.
+     */
+    private static final class Acumulador {
+        final int[] conteos = new int[CLASES_INTERNAS];
+        double minimo = Double.POSITIVE_INFINITY;
+        double maximo = Double.NEGATIVE_INFINITY;
+
+        void registrar(double valor) {
+            long indice = (Double.doubleToRawLongBits(valor) >>> DESPLAZAMIENTO) - BASE;
+            if (indice < 0) {
+                indice = 0;
+            } else if (indice >= CLASES_INTERNAS) {
+                indice = CLASES_INTERNAS - 1;
+            }
+            conteos[(int) indice]++;
+            if (valor < minimo) {
+                minimo = valor;
+            }
+            if (valor > maximo) {
+                maximo = valor;
+            }
+        }
+
+        void combinar(Acumulador otro) {
+            for (int i = 0; i < CLASES_INTERNAS; i++) {
+                conteos[i] += otro.conteos[i];
+            }
+            minimo = Math.min(minimo, otro.minimo);
+            maximo = Math.max(maximo, otro.maximo);
+        }
+
+        /**
+         * Percentil por rango más cercano; devuelve el centro de la clase interna.
+         */
+        double percentil(double p, int total) {
+            long rango = Math.max(1, (long) Math.ceil(p * total));
+            long acumulado = 0;
+            for (int i = 0; i < CLASES_INTERNAS; i++) {
+                acumulado += conteos[i];
+                if (acumulado >= rango) {
+                    return Math.max(minimo, Math.min(maximo, centro(i)));
+                }
+            }
+            return maximo;
+        }
+
+        /**
+         * Reagrupa el histograma interno en las clases del resultado.
+         */
+        long[] histograma(double limiteInferior, double anchoClase) {
+            long[] clases = new long[CLASES_HISTOGRAMA];
+            for (int i = 0; i < CLASES_INTERNAS; i++) {
+                if (conteos[i] == 0) {
+                    continue;
+                }
+                int clase = anchoClase > 0 ? (int) ((centro(i) - limiteInferior) / anchoClase) : 0;
+                clase = Math.max(0, Math.min(CLASES_HISTOGRAMA - 1, clase));
+                clases[clase] += conteos[i];
+            }
+            return clases;
+        }
+
+        private static double centro(int indice) {
+            return Double.longBitsToDouble(((indice + BASE) << DESPLAZAMIENTO) | (1L << (DESPLAZAMIENTO - 1)));
+        }
+    }
+
+    /**
+     * Tarea fork-join que divide los bloques a la mitad hasta llegar a uno solo.
+     */
+    private static final class Tarea extends RecursiveTask<Acumulador> {
+        private static final long serialVersionUID = 1L;
+
+        private final Lote lote;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(Lote lote, int desde, int hasta) {
+            this.lote = lote;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Acumulador compute() {
+            if (hasta - desde == 1) {
+                if (lote.progreso.isCancelado()) {
+                    throw new CancellationException();
+                }
+                Acumulador acumulador = new Acumulador();
+                lote.simularBloque(desde, acumulador);
+                lote.progreso.reportar(lote.terminados.incrementAndGet(), lote.flujos.length);
+                return acumulador;
+            }
+            int medio = (desde + hasta) >>> 1;
+            Tarea izquierda = new Tarea(lote, desde, medio);
+            izquierda.fork();
+            Acumulador acumulador = new Tarea(lote, medio, hasta).compute();
+            acumulador.combinar(izquierda.join());
+            return acumulador;
+        }
+    }
+}
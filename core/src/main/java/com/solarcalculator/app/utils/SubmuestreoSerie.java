@@ -0,0 +1,161 @@
+package com.solarcalculator.app.utils;
+
+/**
+ * Reduce series largas (por ejemplo, las 8760 horas de un año) a tantos puntos como
+ * píxeles tiene el gráfico, conservando su forma visual.
+ *
+ * <p>Dos métodos, ambos en O(n) sobre la ventana y sin crear objetos: el llamador
+ * pasa los arreglos de salida, que se reutilizan en cada redibujado.</p>
+ * <ul>
+ *   <li>{@link #lttb}: Largest-Triangle-Three-Buckets. Elige en cada grupo el punto que
+ *       forma el triángulo más grande con sus vecinos; conserva picos y tendencias.</li>
+ *   <li>{@link #minMax}: el mínimo y el máximo de cada grupo, en orden. Garantiza que
+ *       ningún extremo desaparezca, a costa de dos puntos por grupo.</li>
+ * </ul>
+ *
+ * <p>La coordenada x de cada punto es su índice en la serie.</p>
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public final class SubmuestreoSerie {
+
+    private SubmuestreoSerie() {
+    }
+
+    /**
+     * Submuestrea la ventana [desde, hasta) con LTTB.
+     *
+     * @param serie Valores de la serie
+     * @param desde Primer índice de la ventana (inclusive)
+     * @param hasta Último índice de la ventana (exclusivo)
+     * @param puntos Número de puntos deseado (al menos 3)
+     * @param x Destino de los índices elegidos (largo >= puntos)
+     * @param y Destino de los valores elegidos (largo >= puntos)
+     * @return Número de puntos escritos: min(puntos, hasta - desde)
+     * @throws IllegalArgumentException si la ventana no está dentro de la serie o puntos < 3
+     */
+    public static int lttb(double[] serie, int desde, int hasta, int puntos, float[] x, float[] y) {
+        validar(serie, desde, hasta, puntos, 3, x, y);
+        int n = hasta - desde;
+        if (n <= puntos) {
+            return copiar(serie, desde, hasta, x, y);
+        }
+
+        // El primer y el último punto siempre se conservan; el resto se reparte en puntos - 2 grupos
+        double anchoGrupo = (double) (n - 2) / (puntos - 2);
+        int elegido = desde;
+        int escritos = 0;
+        x[escritos] = desde;
+        y[escritos++] = (float) serie[desde];
+
+        for (int grupo = 0; grupo < puntos - 2; grupo++) {
+            // Promedio del grupo siguiente (el tercer vértice del triángulo)
+            int inicioSiguiente = desde + 1 + (int) ((grupo + 1) * anchoGrupo);
+            int finSiguiente = Math.min(hasta, desde + 1 + (int) ((grupo + 2) * anchoGrupo));
+            double promedioX;
+            double promedioY = 0;
+            if (inicioSiguiente >= finSiguiente || grupo == puntos - 3) {
+                promedioX = hasta - 1;
+                promedioY = serie[hasta - 1];
+            } else {
+                for (int i = inicioSiguiente; i < finSiguiente; i++) {
+                    promedioY += serie[i];
+                }
+                promedioX = (inicioSiguiente + finSiguiente - 1) * 0.5;
+                promedioY /= finSiguiente - inicioSiguiente;
+            }
+
+            // Punto del grupo actual con el triángulo de mayor área
+            int inicio = desde + 1 + (int) (grupo * anchoGrupo);
+            int fin = desde + 1 + (int) ((grupo + 1) * anchoGrupo);
+            double ax = elegido;
+            double ay = serie[elegido];
+            double areaMaxima = -1;
+            int mejor = inicio;
+            for (int i = inicio; i < fin; i++) {
+                // Doble del área; el factor 1/2 no cambia cuál es el máximo
+                double area = Math.abs((ax - promedioX) * (serie[i] - ay) - (ax - i) * (promedioY - ay));
+                if (area > areaMaxima) {
+                    areaMaxima = area;
+                    mejor = i;
+                }
+            }
+            x[escritos] = mejor;
+            y[escritos++] = (float) serie[mejor];
+            elegido = mejor;
+        }
+
+        x[escritos] = hasta - 1;
+        y[escritos++] = (float) serie[hasta - 1];
+        return escritos;
+    }
+
+    /**
+     * Submuestrea la ventana [desde, hasta) tomando el mínimo y el máximo de cada grupo.
+     *
+     * @param serie Valores de la serie
+     * @param desde Primer índice de la ventana (inclusive)
+     * @param hasta Último índice de la ventana (exclusivo)
+     * @param puntos Número máximo de puntos (al menos 2); se usan puntos / 2 grupos
+     * @param x Destino de los índices elegidos (largo >= puntos)
+     * @param y Destino de los valores elegidos (largo >= puntos)
+     * @return Número de puntos escritos (a lo sumo puntos)
+     * @throws IllegalArgumentException si la ventana no está dentro de la serie o puntos < 2
+     */
+    public static int minMax(double[] serie, int desde, int hasta, int puntos, float[] x, float[] y) {
+        validar(serie, desde, hasta, puntos, 2, x, y);
+        int n = hasta - desde;
+        if (n <= puntos) {
+            return copiar(serie, desde, hasta, x, y);
+        }
+
+        int grupos = puntos / 2;
+        int escritos = 0;
+        for (int grupo = 0; grupo < grupos; grupo++) {
+            int inicio = desde + (int) ((long) grupo * n / grupos);
+            int fin = desde + (int) ((long) (grupo + 1) * n / grupos);
+            int indiceMinimo = inicio;
+            int indiceMaximo = inicio;
+            for (int i = inicio + 1; i < fin; i++) {
+                if (serie[i] < serie[indiceMinimo]) {
+                    indiceMinimo = i;
+                } else if (serie[i] > serie[indiceMaximo]) {
+                    indiceMaximo = i;
+                }
+            }
+            // En orden de x para que la línea no retroceda
+            int primero = Math.min(indiceMinimo, indiceMaximo);
+            int segundo = Math.max(indiceMinimo, indiceMaximo);
+            x[escritos] = primero;
+            y[escritos++] = (float) serie[primero];
+            if (segundo != primero) {
+                x[escritos] = segundo;
+                y[escritos++] = (float) serie[segundo];
+            }
+        }
+        return escritos;
+    }
+
+    private static int copiar(double[] serie, int desde, int hasta, float[] x, float[] y) {
+        int escritos = 0;
+        for (int i = desde; i < hasta; i++) {
+            x[escritos] = i;
+            y[escritos++] = (float) serie[i];
+        }
+        return escritos;
+    }
+
+    private static void validar(double[] serie, int desde, int hasta, int puntos, int minimo,
+                                float[] x, float[] y) {
+        if (desde < 0 || hasta > serie.length || desde >= hasta) {
+            throw new IllegalArgumentException("Ventana inválida: [" + desde + ", " + hasta + ")");
+        }
+        if (puntos < minimo) {
+            throw new IllegalArgumentException("Se necesitan al menos " + minimo + " puntos");
+        }
+        if (x.length < Math.min(puntos, hasta - desde) || y.length < Math.min(puntos, hasta - desde)) {
+            throw new IllegalArgumentException("Los arreglos de salida son muy cortos");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.solarcalculator.app.model;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de Distribucion con centros en el límite de lo válido.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class DistribucionTest {
+
+    @Test(timeout = 5000, expected = IllegalArgumentException.class)
+    public void normalRechazaCentroCero() {
+        Distribucion.normal(0.1).muestrear(0.0, new SplittableRandom(1));
+    }
+
+    @Test(timeout = 5000, expected = IllegalArgumentException.class)
+    public void normalRechazaCentroNegativo() {
+        Distribucion.normal(0.1).muestrear(-5, new SplittableRandom(1));
+    }
+
+    @Test
+    public void normalConDesviacionGrandeSiempreEsPositiva() {
+        SplittableRandom aleatorio = new SplittableRandom(3);
+        Distribucion normal = Distribucion.normal(2);
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(normal.muestrear(1e-3, aleatorio) > 0);
+        }
+    }
+
+    @Test
+    public void fijaDevuelveElCentro() {
+        assertEquals(0, Distribucion.fija().muestrear(0, new SplittableRandom(1)), 0);
+        assertEquals(926, Distribucion.fija().muestrear(926, new SplittableRandom(1)), 0);
+    }
+}
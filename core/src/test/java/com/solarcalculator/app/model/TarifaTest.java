@@ -0,0 +1,140 @@
+package com.solarcalculator.app.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de Tarifa en los límites de los bloques y de las franjas horarias.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class TarifaTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final Tarifa bloques = Tarifa.porBloques(new double[] {100, 200, 500}, new double[] {1, 2, 3, 4});
+    private final Tarifa horaria = Tarifa.horaria(new int[] {0, 9, 18, 22}, new double[] {500, 800, 1200, 500});
+
+    @Test
+    public void bloquesEnCadaLimite() {
+        assertEquals(0, bloques.costoMensual(0), 0);
+        assertEquals(0, bloques.costoMensual(-5), 0);
+        assertEquals(50, bloques.costoMensual(50), DELTA);
+        // Un consumo igual al límite se factura entero en el bloque inferior
+        assertEquals(100, bloques.costoMensual(100), DELTA);
+        assertEquals(100 + 2 * 1e-6, bloques.costoMensual(100 + 1e-6), DELTA);
+        assertEquals(200, bloques.costoMensual(150), DELTA);
+        assertEquals(300, bloques.costoMensual(200), DELTA);
+        assertEquals(1200, bloques.costoMensual(500), DELTA);
+        assertEquals(1600, bloques.costoMensual(600), DELTA);
+        assertEquals(4, bloques.getPrecioBase(), 0);
+    }
+
+    @Test
+    public void bloquesSonContinuosYCrecientes() {
+        double anterior = 0;
+        for (double consumo = 0.5; consumo <= 800; consumo += 0.5) {
+            double costo = bloques.costoMensual(consumo);
+            assertTrue(costo > anterior);
+            anterior = costo;
+        }
+    }
+
+    @Test
+    public void residencialConSubsidioYContribucion() {
+        // Estrato 1: 60 % de subsidio hasta 173 kWh, precio completo por encima
+        Tarifa estrato1 = Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+        assertEquals(173 * 900 * 0.4, estrato1.costoMensual(173), DELTA);
+        assertEquals(173 * 360 + 127 * 900, estrato1.costoMensual(300), DELTA);
+        // Estrato 4: precio completo; estrato 6: 20 % de contribución sobre todo el consumo
+        assertEquals(300 * 900, Tarifa.residencial(900, 4, 173).costoMensual(300), DELTA);
+        assertEquals(300 * 1080, Tarifa.residencial(900, 6, 173).costoMensual(300), DELTA);
+        assertEquals(900, estrato1.getPrecioBase(), 0);
+    }
+
+    @Test
+    public void horariaEnCadaCambioDeFranja() {
+        assertEquals(500, horaria.precioHora(0), 0);
+        assertEquals(500, horaria.precioHora(8), 0);
+        assertEquals(800, horaria.precioHora(9), 0);
+        assertEquals(800, horaria.precioHora(17), 0);
+        assertEquals(1200, horaria.precioHora(18), 0);
+        assertEquals(1200, horaria.precioHora(21), 0);
+        assertEquals(500, horaria.precioHora(22), 0);
+        assertEquals(500, horaria.precioHora(23), 0);
+        assertEquals((9 * 500 + 9 * 800 + 4 * 1200 + 2 * 500) / 24.0, horaria.getPrecioBase(), DELTA);
+        assertTrue(horaria.isHoraria());
+        assertFalse(bloques.isHoraria());
+    }
+
+    @Test
+    public void costoHorarioPorFranjaYPorBloques() {
+        double[] consumo = new double[48];
+        consumo[8] = 1;   // Última hora de la franja de 0 h
+        consumo[9] = 2;   // Primera hora de la franja de 9 h
+        consumo[24 + 18] = 3;
+        assertEquals(500 + 2 * 800 + 3 * 1200, horaria.costoHorario(consumo, 0, 48), DELTA);
+        assertEquals(2 * 800, horaria.costoHorario(consumo, 9, 24), DELTA);
+        // Por bloques se factura la suma del periodo
+        assertEquals(bloques.costoMensual(6), bloques.costoHorario(consumo, 0, 48), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void costoHorarioRechazaPeriodoInvalido() {
+        horaria.costoHorario(new double[24], 10, 25);
+    }
+
+    @Test
+    public void escaladaConservaLaEstructura() {
+        assertEquals(Tarifa.plana(1200), Tarifa.plana(926).escalada(1200));
+        Tarifa doble = bloques.escalada(8);
+        assertEquals(2 * bloques.costoMensual(350), doble.costoMensual(350), DELTA);
+        assertEquals(8, doble.getPrecioBase(), 0);
+        Tarifa horariaEscalada = horaria.escalada(horaria.getPrecioBase() / 2);
+        assertEquals(250, horariaEscalada.precioHora(3), DELTA);
+        assertEquals(600, horariaEscalada.precioHora(20), DELTA);
+    }
+
+    @Test
+    public void desdeTablasReconstruyeLaMismaTarifa() {
+        Tarifa residencial = Tarifa.residencial(900, 2, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+        assertEquals(residencial, Tarifa.desdeTablas(residencial.getPrecioBase(), residencial.getLimites(),
+                residencial.getPrecios(), residencial.getIniciosFranja(), residencial.getPreciosFranja()));
+        assertEquals(horaria, Tarifa.desdeTablas(horaria.getPrecioBase(), horaria.getLimites(),
+                horaria.getPrecios(), horaria.getIniciosFranja(), horaria.getPreciosFranja()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void desdeTablasRechazaFranjasSinPrecios() {
+        Tarifa.desdeTablas(500, new double[0], new double[] {500}, new int[] {0, 12}, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bloquesRechazanLimitesNoCrecientes() {
+        Tarifa.porBloques(new double[] {100, 100}, new double[] {1, 2, 3});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bloquesRechazanPreciosDeMas() {
+        Tarifa.porBloques(new double[] {100}, new double[] {1, 2, 3});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void horariaRechazaPrimeraFranjaDistintaDeCero() {
+        Tarifa.horaria(new int[] {1, 12}, new double[] {500, 800});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void horariaRechazaFranjaDespuesDeLas23() {
+        Tarifa.horaria(new int[] {0, 24}, new double[] {500, 800});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void residencialRechazaEstratoInvalido() {
+        Tarifa.residencial(900, 7, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+    }
+}
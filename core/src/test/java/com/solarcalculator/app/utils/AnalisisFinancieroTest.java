@@ -0,0 +1,104 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de la tasa interna de retorno y del valor presente neto de AnalisisFinanciero.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class AnalisisFinancieroTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void tasasConocidas() {
+        assertEquals(0.10, AnalisisFinanciero.tasaInternaRetorno(new double[] {-100, 110}), DELTA);
+        assertEquals(-0.10, AnalisisFinanciero.tasaInternaRetorno(new double[] {-100, 90}), DELTA);
+        // 100 = 60 v + 60 v² con v = 1 / (1 + r) -> v = (-1 + sqrt(1 + 4 · 100 / 60)) / 2
+        double v = (-1 + Math.sqrt(1 + 4 * 100.0 / 60)) / 2;
+        assertEquals(1 / v - 1, AnalisisFinanciero.tasaInternaRetorno(new double[] {-100, 60, 60}), DELTA);
+    }
+
+    @Test
+    public void sumaCeroDaTasaCero() {
+        assertEquals(0, AnalisisFinanciero.tasaInternaRetorno(new double[] {-300, 100, 100, 100}), 0);
+    }
+
+    @Test
+    public void sinRaizDaNaN() {
+        assertTrue(Double.isNaN(AnalisisFinanciero.tasaInternaRetorno(new double[] {100, 10, 10})));
+        assertTrue(Double.isNaN(AnalisisFinanciero.tasaInternaRetorno(new double[] {-100})));
+        assertTrue(Double.isNaN(AnalisisFinanciero.tasaInternaRetorno(new double[] {0, 10, -10})));
+    }
+
+    @Test
+    public void soloConsideraLosPrimerosN() {
+        double[] flujos = {-100, 110, -1000000};
+        assertEquals(0.10, AnalisisFinanciero.tasaInternaRetorno(flujos, 2), DELTA);
+    }
+
+    @Test
+    public void vpnEsCeroEnLaTirDeFlujosAleatorios() {
+        Random aleatorio = new Random(11);
+        for (int caso = 0; caso < 5000; caso++) {
+            // Inversión seguida de ahorros positivos, como en una proyección de 25 años
+            int n = 2 + aleatorio.nextInt(30);
+            double[] flujos = new double[n];
+            flujos[0] = -(1e6 + aleatorio.nextDouble() * 5e7);
+            for (int t = 1; t < n; t++) {
+                flujos[t] = aleatorio.nextDouble() * 1e7;
+            }
+            double tir = AnalisisFinanciero.tasaInternaRetorno(flujos);
+            if (Double.isNaN(tir)) {
+                // Solo si la raíz está por debajo del -99 %, fuera del intervalo que se acota
+                assertTrue("Caso " + caso, AnalisisFinanciero.valorPresenteNeto(-0.99, flujos) < 0);
+                continue;
+            }
+            double escala = -flujos[0];
+            assertEquals("Caso " + caso, 0,
+                    AnalisisFinanciero.valorPresenteNeto(tir, flujos) / escala, 1e-6);
+        }
+    }
+
+    @Test
+    public void valorPresenteConTarifaIgualAAnalizar() {
+        Tarifa[] tarifas = {
+            Tarifa.plana(926),
+            Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO),
+            Tarifa.residencial(900, 6, Tarifa.CONSUMO_SUBSISTENCIA_ALTO),
+            Tarifa.porBloques(new double[] {100, 200}, new double[] {600, 800, 1000})
+        };
+        for (Tarifa tarifa : tarifas) {
+            ConfiguracionInmutable config = new ConfiguracionInmutable(2.2, 550, 2, tarifa, 2100000);
+            for (double consumo : new double[] {90, 173, 300, 1234.5}) {
+                CalculosSolares calculos = CalculadoraSolar.calcular(consumo, config);
+                double esperado = AnalisisFinanciero.analizar(calculos, ParametrosFinancieros.POR_DEFECTO)
+                        .getValorPresenteNeto();
+                assertEquals(tarifa + ", " + consumo, esperado,
+                        AnalisisFinanciero.valorPresenteNeto(consumo, calculos.getProduccionMensualSistema(),
+                                tarifa, calculos.getCostoInstalacion(), ParametrosFinancieros.POR_DEFECTO), 0);
+            }
+        }
+    }
+
+    @Test
+    public void valorPresenteConTarifaPlanaIgualAlDelPrecio() {
+        ParametrosFinancieros financieros = ParametrosFinancieros.POR_DEFECTO;
+        for (double produccion : new double[] {50, 299, 300, 600}) {
+            assertEquals(AnalisisFinanciero.valorPresenteNeto(300, produccion, 926.0, 8e6, financieros),
+                    AnalisisFinanciero.valorPresenteNeto(300, produccion, Tarifa.plana(926), 8e6, financieros), 0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ParametroConfiguracion;
+import com.solarcalculator.app.model.RangoParametro;
+import com.solarcalculator.app.model.ResultadoBarrido;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas de BarridoParametros: cada celda debe ser igual a CalculadoraSolar.calcular().
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class BarridoParametrosTest {
+
+    private static final Tarifa[] TARIFAS = {
+        Tarifa.plana(926),
+        Tarifa.residencial(900, 2, Tarifa.CONSUMO_SUBSISTENCIA_BAJO),
+        Tarifa.residencial(900, 6, Tarifa.CONSUMO_SUBSISTENCIA_ALTO),
+        Tarifa.porBloques(new double[] {100, 200, 500}, new double[] {600, 800, 1000, 1300}),
+        Tarifa.horaria(new int[] {0, 9, 18, 22}, new double[] {500, 800, 1200, 500})
+    };
+
+    @Test
+    public void celdasIgualesACalcularConCadaTarifa() {
+        for (Tarifa tarifa : TARIFAS) {
+            ConfiguracionInmutable base = new ConfiguracionInmutable(2.2, 550, 2, tarifa, 2100000);
+            RangoParametro[] rangos = {
+                new RangoParametro(ParametroConfiguracion.PRODUCCION_PANEL, 1.5, 3, 7),
+                new RangoParametro(ParametroConfiguracion.PRECIO_KWH, 600, 1200, 13),
+                new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1500000, 2500000, 5)
+            };
+            for (double consumo : new double[] {50, 173, 300, 1234.5}) {
+                ResultadoBarrido resultado = BarridoParametros.barrer(consumo, base, rangos);
+                comparar(tarifa, consumo, base, rangos, resultado);
+            }
+        }
+    }
+
+    @Test
+    public void sinVariarElPrecioFacturaConLaTarifaBase() {
+        Tarifa tarifa = TARIFAS[3];
+        ConfiguracionInmutable base = new ConfiguracionInmutable(2.2, 550, 2, tarifa, 2100000);
+        RangoParametro[] rangos = {new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1000000, 3000000, 9)};
+        ResultadoBarrido resultado = BarridoParametros.barrer(300, base, rangos);
+
+        comparar(tarifa, 300, base, rangos, resultado);
+        // 300 kWh/mes: 100 × 600 + 100 × 800 + 100 × 1000
+        assertEquals(5 * 1000000 / (240000.0 * 12), resultado.getRetornoInversion(0), 1e-12);
+    }
+
+    @Test
+    public void mismoResultadoConUnaTareaOMuchas() {
+        ConfiguracionInmutable base = new ConfiguracionInmutable(2.2, 550, 2, TARIFAS[1], 2100000);
+        RangoParametro[] rangos = {
+            new RangoParametro(ParametroConfiguracion.PRECIO_KWH, 600, 1200, 300),
+            new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1500000, 2500000, 300)
+        };
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        try {
+            ResultadoBarrido secuencial = BarridoParametros.barrer(unHilo, 300, base, rangos);
+            ResultadoBarrido paralelo = BarridoParametros.barrer(300, base, rangos);
+            for (int i = 0; i < secuencial.getRetornoInversion().length; i++) {
+                assertEquals(secuencial.getRetornoInversion()[i], paralelo.getRetornoInversion()[i], 0);
+            }
+        } finally {
+            unHilo.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaParametroRepetido() {
+        BarridoParametros.barrer(300, ConfiguracionInmutable.POR_DEFECTO,
+                new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1, 2, 2),
+                new RangoParametro(ParametroConfiguracion.COSTO_PANEL, 1, 2, 2));
+    }
+
+    private static void comparar(Tarifa tarifa, double consumo, ConfiguracionInmutable base,
+                                 RangoParametro[] rangos, ResultadoBarrido resultado) {
+        int[] indices = new int[rangos.length];
+        for (int celda = 0; celda < resultado.getRetornoInversion().length; celda++) {
+            ConfiguracionInmutable config = base;
+            for (int d = 0; d < rangos.length; d++) {
+                config = rangos[d].getParametro().aplicar(config, rangos[d].valor(indices[d]));
+            }
+            double esperado = CalculadoraSolar.calcular(consumo, config).getRetornoInversion();
+            assertEquals(tarifa + ", consumo " + consumo + ", celda " + celda,
+                    Double.doubleToLongBits(esperado),
+                    Double.doubleToLongBits(resultado.getRetornoInversion(indices)));
+
+            for (int d = rangos.length - 1; d >= 0; d--) {
+                if (++indices[d] < rangos[d].getPasos()) {
+                    break;
+                }
+                indices[d] = 0;
+            }
+        }
+    }
+}
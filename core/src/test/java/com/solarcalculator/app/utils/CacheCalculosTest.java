@@ -0,0 +1,92 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.Configuracion;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Pruebas de CacheCalculos.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CacheCalculosTest {
+
+    private static final ConfiguracionInmutable OTRA =
+            new ConfiguracionInmutable(1.2, 400, 1.8, 900, 1800000);
+
+    @Test
+    public void alternarConfiguracionesConservaAmbas() {
+        CacheCalculos cache = new CacheCalculos(8);
+        CalculosSolares porDefecto = cache.calcular(300, ConfiguracionInmutable.POR_DEFECTO);
+        CalculosSolares otra = cache.calcular(300, OTRA);
+
+        assertSame(porDefecto, cache.calcular(300, ConfiguracionInmutable.POR_DEFECTO));
+        assertSame(otra, cache.calcular(300, OTRA));
+        assertEquals(2, cache.getFallos());
+        assertEquals(2, cache.getAciertos());
+    }
+
+    @Test
+    public void desalojaElMenosUsado() {
+        CacheCalculos cache = new CacheCalculos(2);
+        CalculosSolares primero = cache.calcular(100, ConfiguracionInmutable.POR_DEFECTO);
+        cache.calcular(200, ConfiguracionInmutable.POR_DEFECTO);
+        cache.calcular(100, ConfiguracionInmutable.POR_DEFECTO);
+        cache.calcular(300, ConfiguracionInmutable.POR_DEFECTO);
+
+        assertEquals(2, cache.getTamano());
+        assertSame(primero, cache.calcular(100, ConfiguracionInmutable.POR_DEFECTO));
+        assertEquals(3, cache.getFallos());
+    }
+
+    @Test
+    public void tomaUnaSolaInstantaneaPorLlamada() {
+        // Cada consulta devuelve valores nuevos, como si otro hilo cambiara la configuración
+        final ConfiguracionInmutable[] instantaneas = {ConfiguracionInmutable.POR_DEFECTO, OTRA};
+        final int[] consultas = new int[1];
+        Configuracion cambiante = new Configuracion() {
+            @Override
+            public ConfiguracionInmutable getConfiguracionInmutable() {
+                return instantaneas[consultas[0]++ % 2];
+            }
+
+            @Override
+            public double getProduccionPanel() {
+                return getConfiguracionInmutable().getProduccionPanel();
+            }
+
+            @Override
+            public double getPotenciaPanel() {
+                return getConfiguracionInmutable().getPotenciaPanel();
+            }
+
+            @Override
+            public double getAreaPanel() {
+                return getConfiguracionInmutable().getAreaPanel();
+            }
+
+            @Override
+            public double getPrecioKwh() {
+                return getConfiguracionInmutable().getPrecioKwh();
+            }
+
+            @Override
+            public double getCostoPanel() {
+                return getConfiguracionInmutable().getCostoPanel();
+            }
+        };
+
+        CacheCalculos cache = new CacheCalculos(8);
+        CalculosSolares calculos = cache.calcular(300, cambiante);
+
+        assertEquals(1, consultas[0]);
+        assertEquals(300 * ConfiguracionInmutable.POR_DEFECTO.getPrecioKwh(), calculos.getAhorroMensual(), 0);
+        assertSame(calculos, cache.calcular(300, ConfiguracionInmutable.POR_DEFECTO));
+    }
+}
@@ -0,0 +1,105 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.PerfilProduccion;
+import com.solarcalculator.app.model.ResultadosLote;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas del motor de cálculo y de su versión por lotes.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CalculadoraSolarTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void calcularConValoresPorDefecto() {
+        // 300 kWh/mes con paneles de 2.2 kWh/día (66 kWh/mes): 4.54 paneles -> 5
+        CalculosSolares calculos = CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO);
+
+        assertEquals(5, calculos.getNumeroPaneles());
+        assertEquals(300 / 66.0, calculos.getNumeroPanelesExacto(), DELTA);
+        assertEquals(5 * 0.55, calculos.getPotenciaSistema(), DELTA);
+        assertEquals(5 * 66.0, calculos.getProduccionMensualSistema(), DELTA);
+        assertEquals(300 * 926.0, calculos.getAhorroMensual(), DELTA);
+        assertEquals(5 * 2100000.0, calculos.getCostoInstalacion(), DELTA);
+        assertEquals(5 * 2100000.0 / (300 * 926.0 * 12), calculos.getRetornoInversion(), DELTA);
+        assertEquals(10.0, calculos.getAreaRequerida(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calcularRechazaConsumoNoPositivo() {
+        CalculadoraSolar.calcular(0, ConfiguracionInmutable.POR_DEFECTO);
+    }
+
+    @Test
+    public void loteIgualACalcularFilaPorFila() {
+        double[] consumos = {1, 65.9, 66, 66.1, 300, 1234.5, 99999};
+        ResultadosLote lote = new ResultadosLote(consumos.length);
+        CalculadoraSolar.calcularLote(consumos, ConfiguracionInmutable.POR_DEFECTO, lote);
+
+        assertEquals(consumos.length, lote.getTamano());
+        for (int i = 0; i < consumos.length; i++) {
+            CalculosSolares esperado = CalculadoraSolar.calcular(consumos[i], ConfiguracionInmutable.POR_DEFECTO);
+            assertEquals(esperado.getNumeroPaneles(), lote.getNumeroPaneles()[i]);
+            assertEquals(esperado.getNumeroPanelesExacto(), lote.getNumeroPanelesExacto()[i], 0);
+            assertEquals(esperado.getPotenciaSistema(), lote.getPotenciaSistema()[i], 0);
+            assertEquals(esperado.getAhorroMensual(), lote.getAhorroMensual()[i], 0);
+            assertEquals(esperado.getCostoInstalacion(), lote.getCostoInstalacion()[i], 0);
+            assertEquals(esperado.getRetornoInversion(), lote.getRetornoInversion()[i], 0);
+            assertEquals(esperado.getAreaRequerida(), lote.getAreaRequerida()[i], 0);
+            assertEquals(esperado.getProduccionMensualSistema(), lote.getProduccionMensualSistema()[i], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loteRechazaCapacidadInsuficiente() {
+        CalculadoraSolar.calcularLote(new double[] {100, 200}, ConfiguracionInmutable.POR_DEFECTO,
+                new ResultadosLote(1));
+    }
+
+    @Test
+    public void perfilDimensionaParaElPeorMes() {
+        // Mismo total anual (2.2 kWh/día × 365): uno parejo y otro con un semestre lluvioso
+        double primerSemestre = 1.25;
+        double segundoSemestre = (365 - primerSemestre * 181) / 184;
+        PerfilProduccion parejo = perfil(1, 1);
+        PerfilProduccion estacional = perfil(primerSemestre, segundoSemestre);
+        assertEquals(parejo.getProduccionAnual(), estacional.getProduccionAnual(), DELTA);
+
+        CalculosSolares conParejo = CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO, parejo);
+        CalculosSolares conEstacional = CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO, estacional);
+
+        // Parejo: 300 / (2.2 × 365 / 12) = 4.48 -> 5; estacional: 300 / (peor mes) = 5.95 -> 6
+        assertEquals(5, conParejo.getNumeroPaneles());
+        assertEquals(6, conEstacional.getNumeroPaneles());
+        assertEquals(300 / (2.2 * segundoSemestre * 365 / 12), conEstacional.getNumeroPanelesExacto(), DELTA);
+        assertTrue(conEstacional.getCostoInstalacion() > conParejo.getCostoInstalacion());
+        // La producción informada sigue siendo el promedio del año
+        assertEquals(6 * 2.2 * 365 / 12, conEstacional.getProduccionMensualSistema(), DELTA);
+    }
+
+    /**
+     * Perfil con 2.2 kWh/día por panel multiplicados por un factor en cada semestre.
+     */
+    private static PerfilProduccion perfil(double factorPrimerSemestre, double factorSegundoSemestre) {
+        PerfilProduccion perfil = new PerfilProduccion();
+        double[] meses = perfil.getProduccionMensual();
+        double anual = 0;
+        for (int mes = 0; mes < PerfilProduccion.MESES_ANO; mes++) {
+            double factor = mes < 6 ? factorPrimerSemestre : factorSegundoSemestre;
+            meses[mes] = 2.2 * factor * PerfilProduccion.diasDelMes(mes);
+            anual += meses[mes];
+        }
+        perfil.setProduccionAnual(anual);
+        return perfil;
+    }
+}
@@ -0,0 +1,123 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ModeloPanel;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas de CatalogoPaneles contra búsquedas exhaustivas.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class CatalogoPanelesTest {
+
+    @Test
+    public void masBaratoIgualABusquedaExhaustiva() {
+        Random aleatorio = new Random(24);
+        for (int caso = 0; caso < 400; caso++) {
+            List<ModeloPanel> modelos = aleatorios(aleatorio, 1 + aleatorio.nextInt(caso % 2 == 0 ? 10 : 2000));
+            CatalogoPaneles catalogo = new CatalogoPaneles(modelos);
+            for (int consulta = 0; consulta < 20; consulta++) {
+                double consumo = 20 + aleatorio.nextDouble() * 3000;
+                // Áreas desde muy justas (casi nada cabe) hasta holgadas (todo cabe)
+                double area = Math.exp(Math.log(2) + aleatorio.nextDouble() * Math.log(1000));
+                assertEquals("Caso " + caso + ", consulta " + consulta,
+                        masBaratoExhaustivo(modelos, consumo, area),
+                        catalogo.masBaratoQueCubre(consumo, area));
+            }
+        }
+    }
+
+    @Test
+    public void masBaratoAceptaElAreaExacta() {
+        List<ModeloPanel> modelos = new ArrayList<>();
+        modelos.add(new ModeloPanel("A", 400, 1.0, 1.7, 1000000));
+        CatalogoPaneles catalogo = new CatalogoPaneles(modelos);
+        // 150 kWh/mes con 30 kWh/mes por panel: exactamente 5 paneles de 1,7 m²
+        assertEquals(0, catalogo.masBaratoQueCubre(150, 5 * 1.7));
+        assertEquals(-1, catalogo.masBaratoQueCubre(150, 5 * 1.7 - 1e-6));
+    }
+
+    @Test
+    public void rangosIgualesAFiltrarTodo() {
+        Random aleatorio = new Random(7);
+        List<ModeloPanel> modelos = aleatorios(aleatorio, 500);
+        CatalogoPaneles catalogo = new CatalogoPaneles(modelos);
+        for (int consulta = 0; consulta < 200; consulta++) {
+            double minimo = 300 + aleatorio.nextInt(400);
+            double maximo = minimo + aleatorio.nextInt(200);
+            int esperados = 0;
+            for (ModeloPanel modelo : modelos) {
+                if (modelo.getPotencia() >= minimo && modelo.getPotencia() <= maximo) {
+                    esperados++;
+                }
+            }
+            assertEquals(esperados, catalogo.contarEnRango(CatalogoPaneles.POR_POTENCIA, minimo, maximo));
+            List<ModeloPanel> enRango = catalogo.modelosEnRango(CatalogoPaneles.POR_POTENCIA, minimo, maximo);
+            assertEquals(esperados, enRango.size());
+            for (int i = 1; i < enRango.size(); i++) {
+                assertEquals(true, enRango.get(i).getPotencia() >= enRango.get(i - 1).getPotencia());
+            }
+        }
+    }
+
+    @Test
+    public void leeElFormatoDelArchivo() throws IOException {
+        String texto = "# Catálogo de prueba\n"
+                + "nombre;potencia;produccion;area;costo\n"
+                + "\n"
+                + "Panel A;450;2,0;2.1;1.800.000\n"
+                + "Panel B;550;2.4;2.6;2100000\n";
+        CatalogoPaneles catalogo = CatalogoPaneles.leer(new StringReader(texto));
+
+        assertEquals(2, catalogo.getTamano());
+        assertEquals("Panel A", catalogo.getNombre(0));
+        assertEquals(1800000, catalogo.getCosto(0), 0);
+        assertEquals(550 / (2.6 * 1000), catalogo.getEficiencia(1), 1e-12);
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaUnaLineaInvalida() throws IOException {
+        CatalogoPaneles.leer(new StringReader("encabezado\nPanel;450;x;2;1000\n"));
+    }
+
+    private static List<ModeloPanel> aleatorios(Random aleatorio, int cantidad) {
+        List<ModeloPanel> modelos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            // Precios redondeados para provocar empates de costo
+            modelos.add(new ModeloPanel("M" + i,
+                    300 + aleatorio.nextInt(400),
+                    0.5 + aleatorio.nextInt(8) * 0.25,
+                    1.5 + aleatorio.nextInt(6) * 0.25,
+                    500000 + aleatorio.nextInt(20) * 100000));
+        }
+        return modelos;
+    }
+
+    private static int masBaratoExhaustivo(List<ModeloPanel> modelos, double consumo, double areaMaxima) {
+        int mejor = -1;
+        double mejorCosto = Double.POSITIVE_INFINITY;
+        double mejorArea = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < modelos.size(); i++) {
+            ModeloPanel modelo = modelos.get(i);
+            int paneles = (int) Math.ceil(consumo / (modelo.getProduccionPanel() * 30));
+            double area = paneles * modelo.getArea();
+            double costo = paneles * modelo.getCosto();
+            if (area <= areaMaxima && (costo < mejorCosto || (costo == mejorCosto && area < mejorArea))) {
+                mejor = i;
+                mejorCosto = costo;
+                mejorArea = area;
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,117 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ResultadosLote;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas de EscritorRegistros y LectorRegistros.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class EscritorRegistrosTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void loQueSeEscribeSeLee() throws IOException {
+        File ruta = carpeta.newFile("registros.bin");
+        double[] consumos = {120, 300, 875.5};
+        ResultadosLote lote = new ResultadosLote(consumos.length);
+        CalculadoraSolar.calcularLote(consumos, ConfiguracionInmutable.POR_DEFECTO, lote);
+
+        try (EscritorRegistros escritor = new EscritorRegistros(ruta)) {
+            escritor.agregar(CalculadoraSolar.calcular(50, ConfiguracionInmutable.POR_DEFECTO));
+            escritor.agregar(consumos, lote);
+            assertEquals(4, escritor.getRegistros());
+        }
+
+        try (LectorRegistros lector = new LectorRegistros(ruta)) {
+            assertEquals(4, lector.getRegistros());
+            assertEquals(50, lector.obtener(0).getConsumoMensual(), 0);
+            for (int i = 0; i < consumos.length; i++) {
+                CalculosSolares leido = lector.obtener(i + 1);
+                assertEquals(consumos[i], leido.getConsumoMensual(), 0);
+                assertEquals(lote.getNumeroPaneles()[i], leido.getNumeroPaneles());
+                assertEquals(lote.getRetornoInversion()[i], leido.getRetornoInversion(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void recortaUnRegistroIncompleto() throws IOException {
+        File ruta = carpeta.newFile("registros.bin");
+        try (EscritorRegistros escritor = new EscritorRegistros(ruta)) {
+            escritor.agregar(CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO));
+        }
+        try (FileOutputStream salida = new FileOutputStream(ruta, true)) {
+            salida.write(new byte[] {1, 2, 3});
+        }
+
+        try (EscritorRegistros escritor = new EscritorRegistros(ruta)) {
+            assertEquals(1, escritor.getRegistros());
+        }
+        assertEquals(RegistroCalculos.TAMANO_ENCABEZADO + RegistroCalculos.TAMANO, ruta.length());
+    }
+
+    @Test
+    public void rechazaUnArchivoCortoAjenoSinModificarlo() throws IOException {
+        File ruta = carpeta.newFile("notas.txt");
+        byte[] contenido = "hola".getBytes("UTF-8");
+        Files.write(ruta.toPath(), contenido);
+
+        try {
+            new EscritorRegistros(ruta).close();
+            fail("Se esperaba IOException");
+        } catch (IOException e) {
+            // Esperado
+        }
+        assertArrayEquals(contenido, Files.readAllBytes(ruta.toPath()));
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaUnArchivoLargoAjeno() throws IOException {
+        File ruta = carpeta.newFile("otro.bin");
+        Files.write(ruta.toPath(), new byte[64]);
+        new EscritorRegistros(ruta).close();
+    }
+
+    @Test
+    public void reiniciaUnEncabezadoAMedioEscribir() throws IOException {
+        File ruta = carpeta.newFile("registros.bin");
+        new EscritorRegistros(ruta).close();
+        try (RandomAccessFile archivo = new RandomAccessFile(ruta, "rw")) {
+            archivo.setLength(6);
+        }
+
+        try (EscritorRegistros escritor = new EscritorRegistros(ruta)) {
+            assertEquals(0, escritor.getRegistros());
+        }
+        assertEquals(RegistroCalculos.TAMANO_ENCABEZADO, ruta.length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loteRechazaConsumosDeOtroTamano() throws IOException {
+        ResultadosLote lote = new ResultadosLote(4);
+        CalculadoraSolar.calcularLote(new double[] {100, 200}, ConfiguracionInmutable.POR_DEFECTO, lote);
+        try (EscritorRegistros escritor = new EscritorRegistros(carpeta.newFile("registros.bin"))) {
+            escritor.agregar(new double[] {100}, lote);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.solarcalculator.app.utils;
+
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compara FormatoUtils y FormateadorNumeros con la implementación original, que creaba
+ * un DecimalFormat en cada llamada.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class FormatoUtilsTest {
+
+    private static final Locale LOCALE_COLOMBIA = new Locale("es", "CO");
+
+    private static final double[] VALORES_BORDE = {
+        0.0, -0.0, 0.5, 1.5, 2.5, -0.5, -1.5, 0.05, 0.15, 0.25, 0.125, 1.005, 2.675,
+        999.5, 999.4999, 1000, 1234567.891, -1234567.891, 417000, 2100000, 0.001,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        Double.MIN_VALUE, 1e15, -1e15, 9.223372036854776E18, Long.MAX_VALUE, Long.MIN_VALUE,
+        Integer.MAX_VALUE, Integer.MIN_VALUE
+    };
+
+    @Test
+    public void monedaIgualALaOriginal() {
+        for (double valor : valores()) {
+            assertEquals("moneda " + valor, monedaOriginal(valor), FormatoUtils.formatearMoneda(valor));
+            assertEquals("completa " + valor, "$" + monedaOriginal(valor) + " COP",
+                    FormatoUtils.formatearMonedaCompleta(valor));
+        }
+    }
+
+    @Test
+    public void decimalesIgualALaOriginal() {
+        for (double valor : valores()) {
+            for (int decimales = 0; decimales <= 6; decimales++) {
+                assertEquals(valor + " con " + decimales, decimalOriginal(valor, decimales),
+                        FormatoUtils.formatearDecimal(valor, decimales));
+            }
+            assertEquals(decimalOriginal(valor, 1) + "%", FormatoUtils.formatearPorcentaje(valor));
+            assertEquals(decimalOriginal(valor, 2) + " kW", FormatoUtils.formatearPotencia(valor));
+            assertEquals(decimalOriginal(valor, 1) + " años", FormatoUtils.formatearAnos(valor));
+            assertEquals(decimalOriginal(valor, 2) + " kWh", FormatoUtils.formatearEnergia(valor));
+        }
+    }
+
+    @Test
+    public void enterosIgualALaOriginal() {
+        int[] enteros = {0, 1, -1, 999, 1000, -1000, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int valor : enteros) {
+            assertEquals(enteroOriginal(valor), FormatoUtils.formatearEntero(valor));
+        }
+        for (double area : valores()) {
+            if (!Double.isNaN(area) && !Double.isInfinite(area)) {
+                assertEquals(enteroOriginal((int) Math.round(area)) + " m²", FormatoUtils.formatearArea(area));
+            }
+        }
+    }
+
+    @Test
+    public void agregarEscribeAlFinalDelDestino() {
+        FormateadorNumeros formateador = new FormateadorNumeros();
+        StringBuilder destino = new StringBuilder("Total: ");
+        formateador.agregarMonedaCompleta(destino, 417000).append(" / ");
+        formateador.agregarEnergia(destino, 450);
+        assertEquals("Total: $417.000 COP / " + decimalOriginal(450, 2) + " kWh", destino.toString());
+    }
+
+    /**
+     * Valores de borde más valores aleatorios de distintas magnitudes.
+     */
+    private static double[] valores() {
+        Random aleatorio = new Random(42);
+        double[] valores = new double[VALORES_BORDE.length + 2000];
+        System.arraycopy(VALORES_BORDE, 0, valores, 0, VALORES_BORDE.length);
+        for (int i = VALORES_BORDE.length; i < valores.length; i++) {
+            double escala = Math.pow(10, aleatorio.nextInt(12) - 3);
+            valores[i] = (aleatorio.nextDouble() - 0.3) * escala;
+        }
+        return valores;
+    }
+
+    // Implementación original de FormatoUtils
+    private static String monedaOriginal(double valor) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
+        symbols.setGroupingSeparator('.');
+        symbols.setDecimalSeparator(',');
+        return new DecimalFormat("#,###", symbols).format(Math.round(valor));
+    }
+
+    private static String decimalOriginal(double valor, int decimales) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
+        symbols.setDecimalSeparator(',');
+        StringBuilder pattern = new StringBuilder("#0");
+        if (decimales > 0) {
+            pattern.append(".");
+            for (int i = 0; i < decimales; i++) {
+                pattern.append("0");
+            }
+        }
+        return new DecimalFormat(pattern.toString(), symbols).format(valor);
+    }
+
+    private static String enteroOriginal(int valor) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(LOCALE_COLOMBIA);
+        symbols.setGroupingSeparator('.');
+        return new DecimalFormat("#,###", symbols).format(valor);
+    }
+}
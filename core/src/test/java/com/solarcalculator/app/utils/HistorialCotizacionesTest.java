@@ -0,0 +1,226 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.EntradaHistorial;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas del índice por consumo y del formato de HistorialCotizaciones.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class HistorialCotizacionesTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void busquedaPorConsumoIgualAOrdenarTodo() throws IOException {
+        File ruta = carpeta.newFile("historial.bin");
+        Random aleatorio = new Random(15);
+        final List<double[]> agregadas = new ArrayList<>(); // {consumo, índice}
+
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            for (int ronda = 0; ronda < 30; ronda++) {
+                // Ráfagas de tamaño variable entre consultas; consumos repetidos a propósito
+                int rafaga = aleatorio.nextInt(ronda % 5 == 0 ? 200 : 8);
+                for (int k = 0; k < rafaga; k++) {
+                    double consumo = 10 * (1 + aleatorio.nextInt(60));
+                    int indice = historial.agregar(
+                            CalculadoraSolar.calcular(consumo, ConfiguracionInmutable.POR_DEFECTO),
+                            ConfiguracionInmutable.POR_DEFECTO);
+                    agregadas.add(new double[] {consumo, indice});
+                }
+                double minimo = 10 * aleatorio.nextInt(60);
+                double maximo = minimo + 10 * aleatorio.nextInt(30);
+                comparar(historial, agregadas, minimo, maximo);
+            }
+        }
+
+        // Al reabrir, el índice se reconstruye desde el archivo
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            assertEquals(agregadas.size(), historial.getTamano());
+            comparar(historial, agregadas, 0, Double.POSITIVE_INFINITY);
+            comparar(historial, agregadas, 150, 320);
+        }
+    }
+
+    @Test
+    public void agregarDespuesDeCerrarFallaSinEscribir() throws IOException {
+        File ruta = carpeta.newFile("historial.bin");
+        HistorialCotizaciones historial = new HistorialCotizaciones(ruta);
+        historial.agregar(CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO),
+                ConfiguracionInmutable.POR_DEFECTO);
+        historial.close();
+        historial.close(); // Cerrar dos veces no falla
+
+        try {
+            historial.agregar(CalculadoraSolar.calcular(200, ConfiguracionInmutable.POR_DEFECTO),
+                    ConfiguracionInmutable.POR_DEFECTO);
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Esperado
+        }
+        try {
+            historial.leer(0);
+            fail("Se esperaba IOException");
+        } catch (IOException e) {
+            // Esperado
+        }
+
+        try (HistorialCotizaciones reabierto = new HistorialCotizaciones(ruta)) {
+            assertEquals(1, reabierto.getTamano());
+            assertEquals(300, reabierto.leer(0).getCalculos().getConsumoMensual(), 0);
+        }
+    }
+
+    @Test
+    public void tarifaSeRecuperaIgualAlReabrir() throws IOException {
+        Tarifa[] tarifas = {
+            Tarifa.plana(926),
+            Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO),
+            Tarifa.residencial(900, 6, Tarifa.CONSUMO_SUBSISTENCIA_ALTO),
+            Tarifa.porBloques(new double[] {50, 100, 150, 200, 400}, new double[] {500, 600, 700, 800, 900, 1000}),
+            Tarifa.horaria(new int[] {0, 6, 9, 12, 18, 22}, new double[] {400, 600, 800, 700, 1200, 500}).escalada(1000)
+        };
+        File ruta = carpeta.newFile("historial.bin");
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            for (Tarifa tarifa : tarifas) {
+                ConfiguracionInmutable config = new ConfiguracionInmutable(4.5, 550, 2, tarifa, 2100000);
+                historial.agregar(CalculadoraSolar.calcular(300, config), config);
+            }
+        }
+
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            for (int i = 0; i < tarifas.length; i++) {
+                EntradaHistorial entrada = historial.leer(i);
+                ConfiguracionInmutable config = entrada.getConfiguracion();
+                assertEquals(tarifas[i], config.getTarifa());
+                assertEquals(4.5, config.getProduccionPanel(), 0);
+                assertEquals(550, config.getPotenciaPanel(), 0);
+                assertEquals(2, config.getAreaPanel(), 0);
+                assertEquals(2100000, config.getCostoPanel(), 0);
+                // Recalcular con la configuración guardada da el mismo ahorro
+                assertEquals(entrada.getCalculos().getAhorroMensual(),
+                        CalculadoraSolar.calcular(300, config).getAhorroMensual(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void rechazaTarifaQueNoCabeSinAgregarla() throws IOException {
+        Tarifa sieteBloques = Tarifa.porBloques(new double[] {10, 20, 30, 40, 50, 60},
+                new double[] {1, 2, 3, 4, 5, 6, 7});
+        ConfiguracionInmutable config = new ConfiguracionInmutable(4.5, 550, 2, sieteBloques, 2100000);
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(carpeta.newFile("historial.bin"))) {
+            try {
+                historial.agregar(CalculadoraSolar.calcular(300, config), config);
+                fail("Se esperaba IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // Esperado
+            }
+            assertEquals(0, historial.getTamano());
+        }
+    }
+
+    @Test
+    public void convierteElFormatoSinTarifa() throws IOException {
+        File ruta = carpeta.newFile("historial.bin");
+        ByteBuffer datos = ByteBuffer.allocate(16 + 2 * 120 + 50).order(ByteOrder.LITTLE_ENDIAN);
+        datos.putInt(0x53494843).putInt(1).putInt(120).putInt(0);
+        double[] consumos = {300, 150};
+        for (int i = 0; i < consumos.length; i++) {
+            ConfiguracionInmutable config = new ConfiguracionInmutable(4.5, 550, 2, 800 + i, 2100000);
+            escribirRegistroSinTarifa(datos, 1000L + i, CalculadoraSolar.calcular(consumos[i], config), config);
+        }
+        datos.put(new byte[50]); // Registro interrumpido
+        try (FileOutputStream salida = new FileOutputStream(ruta)) {
+            salida.write(datos.array());
+        }
+
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            assertEquals(2, historial.getTamano());
+            for (int i = 0; i < consumos.length; i++) {
+                EntradaHistorial entrada = historial.leer(i);
+                assertEquals(1000L + i, entrada.getMarcaTiempo());
+                assertEquals(consumos[i], entrada.getCalculos().getConsumoMensual(), 0);
+                assertEquals(Tarifa.plana(800 + i), entrada.getConfiguracion().getTarifa());
+                assertEquals(2100000, entrada.getConfiguracion().getCostoPanel(), 0);
+                assertEquals(2, entrada.getConfiguracion().getAreaPanel(), 0);
+            }
+            assertEquals(1, historial.contarPorConsumo(100, 200));
+            historial.agregar(CalculadoraSolar.calcular(500, ConfiguracionInmutable.POR_DEFECTO),
+                    ConfiguracionInmutable.POR_DEFECTO);
+        }
+        assertEquals(16 + 3 * HistorialCotizaciones.TAMANO_REGISTRO, ruta.length());
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(ruta)) {
+            assertEquals(3, historial.getTamano());
+            assertEquals(500, historial.leer(2).getCalculos().getConsumoMensual(), 0);
+        }
+    }
+
+    /**
+     * Escribe un registro con el formato de la versión 1 del historial.
+     */
+    private static void escribirRegistroSinTarifa(ByteBuffer destino, long marcaTiempo, CalculosSolares calculos,
+                                                  ConfiguracionInmutable config) {
+        destino.putLong(marcaTiempo);
+        RegistroCalculos.escribir(destino, calculos.getConsumoMensual(), calculos.getPotenciaSistema(),
+                calculos.getNumeroPaneles(), calculos.getNumeroPanelesExacto(), calculos.getAhorroMensual(),
+                calculos.getCostoInstalacion(), calculos.getRetornoInversion(), calculos.getAreaRequerida(),
+                calculos.getProduccionMensualSistema());
+        destino.putDouble(config.getProduccionPanel());
+        destino.putDouble(config.getPotenciaPanel());
+        destino.putDouble(config.getAreaPanel());
+        destino.putDouble(config.getPrecioKwh());
+        destino.putDouble(config.getCostoPanel());
+    }
+
+    private static void comparar(HistorialCotizaciones historial, List<double[]> agregadas,
+                                 double minimo, double maximo) throws IOException {
+        List<double[]> esperadas = new ArrayList<>();
+        for (double[] entrada : agregadas) {
+            if (entrada[0] >= minimo && entrada[0] <= maximo) {
+                esperadas.add(entrada);
+            }
+        }
+        Collections.sort(esperadas, new Comparator<double[]>() {
+            @Override
+            public int compare(double[] a, double[] b) {
+                int porConsumo = Double.compare(a[0], b[0]);
+                return porConsumo != 0 ? porConsumo : Double.compare(a[1], b[1]);
+            }
+        });
+
+        assertEquals(esperadas.size(), historial.contarPorConsumo(minimo, maximo));
+        int tamanoPagina = 7;
+        for (int pagina = 0; pagina * tamanoPagina < esperadas.size(); pagina++) {
+            List<EntradaHistorial> entradas = historial.buscarPorConsumo(minimo, maximo, pagina, tamanoPagina);
+            for (int i = 0; i < entradas.size(); i++) {
+                double[] esperada = esperadas.get(pagina * tamanoPagina + i);
+                assertEquals((int) esperada[1], entradas.get(i).getIndice());
+                assertEquals(esperada[0], entradas.get(i).getCalculos().getConsumoMensual(), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.solarcalculator.app.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de MetricasArranque.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class MetricasArranqueTest {
+
+    @Test
+    public void sinRegistrarValenMenosUno() {
+        MetricasArranque metricas = new MetricasArranque();
+        metricas.registrarConfiguracionLista(); // Sin inicio no hay tiempo que medir
+
+        assertEquals(-1, metricas.getTiempoConfiguracionMs(), 0);
+        assertEquals(-1, metricas.getTiempoPrimeraPantallaMs(), 0);
+        assertEquals(0, metricas.getEsperasHiloPrincipal());
+    }
+
+    @Test
+    public void cadaEventoSeRegistraUnaSolaVez() throws InterruptedException {
+        MetricasArranque metricas = new MetricasArranque();
+        metricas.registrarInicio();
+        metricas.registrarConfiguracionLista();
+        metricas.registrarPrimeraPantalla();
+        double configuracion = metricas.getTiempoConfiguracionMs();
+        double primeraPantalla = metricas.getTiempoPrimeraPantallaMs();
+
+        Thread.sleep(5);
+        metricas.registrarInicio();
+        metricas.registrarConfiguracionLista();
+        metricas.registrarPrimeraPantalla();
+
+        assertTrue(configuracion >= 0);
+        assertTrue(primeraPantalla >= configuracion);
+        assertEquals(configuracion, metricas.getTiempoConfiguracionMs(), 0);
+        assertEquals(primeraPantalla, metricas.getTiempoPrimeraPantallaMs(), 0);
+    }
+
+    @Test
+    public void cuentaLasEsperasDeVariosHilos() throws InterruptedException {
+        final MetricasArranque metricas = new MetricasArranque();
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            hilos[h] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        metricas.registrarEsperaHiloPrincipal();
+                    }
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(4000, metricas.getEsperasHiloPrincipal());
+    }
+}
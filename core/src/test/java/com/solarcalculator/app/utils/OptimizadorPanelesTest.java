@@ -0,0 +1,164 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.ModeloPanel;
+import com.solarcalculator.app.model.ObjetivoOptimizacion;
+import com.solarcalculator.app.model.ParametrosFinancieros;
+import com.solarcalculator.app.model.ResultadoOptimizacion;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de OptimizadorPaneles contra una búsqueda exhaustiva de modelo y número de paneles.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class OptimizadorPanelesTest {
+
+    private static final ParametrosFinancieros FINANCIEROS = ParametrosFinancieros.POR_DEFECTO;
+
+    @Test
+    public void valorPresenteIgualABusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO, false);
+    }
+
+    @Test
+    public void retornoIgualABusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(ObjetivoOptimizacion.MINIMO_RETORNO_INVERSION, false);
+    }
+
+    @Test
+    public void valorPresenteConTarifaIgualABusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO, true);
+    }
+
+    @Test
+    public void retornoConTarifaIgualABusquedaExhaustiva() {
+        compararConBusquedaExhaustiva(ObjetivoOptimizacion.MINIMO_RETORNO_INVERSION, true);
+    }
+
+    @Test
+    public void cubrirTodoDaElRetornoDeCalcularConTarifa() {
+        // Sin límites y buscando el menor retorno, el panel configurado cubre el consumo
+        // con los mismos paneles que calcular() si el último no produce de más
+        Tarifa tarifa = Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+        ConfiguracionInmutable config = new ConfiguracionInmutable(2.5, 550, 2, tarifa, 2100000);
+        ResultadoOptimizacion resultado = new OptimizadorPaneles(FINANCIEROS, ObjetivoOptimizacion.MINIMO_RETORNO_INVERSION)
+                .optimizar(300, config, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+        assertEquals(4, resultado.getNumeroPaneles());
+        assertEquals(CalculadoraSolar.calcular(300, config).getRetornoInversion(),
+                resultado.getRetornoInversion(), 0);
+    }
+
+    @Test
+    public void nullSiNoCabeNingunPanel() {
+        OptimizadorPaneles optimizador =
+                new OptimizadorPaneles(FINANCIEROS, ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO);
+        // El panel por defecto mide 2 m²
+        assertNull(optimizador.optimizar(300, ConfiguracionInmutable.POR_DEFECTO, 1.5, Double.POSITIVE_INFINITY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaAreaNoPositiva() {
+        new OptimizadorPaneles(FINANCIEROS, ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO)
+                .optimizar(300, ConfiguracionInmutable.POR_DEFECTO, 0, Double.POSITIVE_INFINITY);
+    }
+
+    private static void compararConBusquedaExhaustiva(ObjetivoOptimizacion objetivo, boolean conTarifa) {
+        OptimizadorPaneles optimizador = new OptimizadorPaneles(FINANCIEROS, objetivo);
+        Random aleatorio = new Random(12);
+        for (int caso = 0; caso < 300; caso++) {
+            double consumo = 50 + aleatorio.nextDouble() * 1500;
+            double precioKwh = 300 + aleatorio.nextDouble() * 1200;
+            double area = aleatorio.nextBoolean() ? Double.POSITIVE_INFINITY : 2 + aleatorio.nextDouble() * 60;
+            double presupuesto = aleatorio.nextBoolean() ? Double.POSITIVE_INFINITY : 1e6 + aleatorio.nextDouble() * 6e7;
+            List<ModeloPanel> modelos = new ArrayList<>();
+            int cantidad = 1 + aleatorio.nextInt(40);
+            for (int i = 0; i < cantidad; i++) {
+                modelos.add(new ModeloPanel("M" + i,
+                        300 + aleatorio.nextInt(400),
+                        1 + aleatorio.nextDouble() * 2.5,
+                        1.5 + aleatorio.nextDouble() * 1.5,
+                        8e5 + aleatorio.nextDouble() * 2.5e6));
+            }
+            Tarifa tarifa = conTarifa ? tarifaAleatoria(precioKwh, aleatorio) : Tarifa.plana(precioKwh);
+            ConfiguracionInmutable config = new ConfiguracionInmutable(2.2, 550, 2, tarifa, 2100000);
+
+            ResultadoOptimizacion resultado = optimizador.optimizar(consumo, config, area, presupuesto, modelos);
+            double esperado = mejorPuntaje(objetivo, consumo, tarifa, area, presupuesto, modelos);
+
+            if (esperado == Double.NEGATIVE_INFINITY) {
+                assertNull("Caso " + caso, resultado);
+                continue;
+            }
+            assertNotNull("Caso " + caso, resultado);
+            assertTrue("Caso " + caso, resultado.getAreaRequerida() <= area);
+            assertTrue("Caso " + caso, resultado.getCostoInstalacion() <= presupuesto);
+            double obtenido = objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO
+                    ? resultado.getValorPresenteNeto() : -resultado.getRetornoInversion();
+            assertEquals("Caso " + caso, esperado, obtenido, Math.abs(esperado) * 1e-9);
+        }
+    }
+
+    /**
+     * Tarifa residencial de un estrato al azar o por bloques crecientes o decrecientes.
+     */
+    private static Tarifa tarifaAleatoria(double precioKwh, Random aleatorio) {
+        if (aleatorio.nextBoolean()) {
+            return Tarifa.residencial(precioKwh, 1 + aleatorio.nextInt(6),
+                    aleatorio.nextBoolean() ? Tarifa.CONSUMO_SUBSISTENCIA_BAJO : Tarifa.CONSUMO_SUBSISTENCIA_ALTO);
+        }
+        int bloques = 1 + aleatorio.nextInt(4);
+        double[] limites = new double[bloques - 1];
+        double[] precios = new double[bloques];
+        double limite = 0;
+        for (int k = 0; k < bloques; k++) {
+            precios[k] = precioKwh * (0.4 + aleatorio.nextDouble() * 1.2);
+            if (k < bloques - 1) {
+                limite += 20 + aleatorio.nextDouble() * 400;
+                limites[k] = limite;
+            }
+        }
+        return Tarifa.porBloques(limites, precios);
+    }
+
+    /**
+     * Prueba cada modelo con cada número de paneles que cabe (hasta el doble de los que
+     * cubren el consumo, donde el valor presente ya solo baja).
+     */
+    private static double mejorPuntaje(ObjetivoOptimizacion objetivo, double consumo, Tarifa tarifa,
+                                       double area, double presupuesto, List<ModeloPanel> modelos) {
+        double ahorroMensual = tarifa.costoMensual(consumo);
+        double mejor = Double.NEGATIVE_INFINITY;
+        for (ModeloPanel modelo : modelos) {
+            int tope = (int) Math.ceil(2 * consumo / modelo.getProduccionMensualPanel()) + 2;
+            for (int n = 1; n <= tope; n++) {
+                double costo = n * modelo.getCosto();
+                if (n * modelo.getArea() > area || costo > presupuesto) {
+                    break;
+                }
+                double produccion = n * modelo.getProduccionMensualPanel();
+                double puntaje;
+                if (objetivo == ObjetivoOptimizacion.MAXIMO_VALOR_PRESENTE_NETO) {
+                    puntaje = AnalisisFinanciero.valorPresenteNeto(consumo, produccion, tarifa, costo, FINANCIEROS);
+                } else {
+                    puntaje = -costo / (ahorroMensual * Math.min(1, produccion / consumo) * 12);
+                }
+                mejor = Math.max(mejor, puntaje);
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,95 @@
+package com.solarcalculator.app.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas de ParserNumeros, incluida una comparación aleatoria bit a bit con
+ * Double.parseDouble.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class ParserNumerosTest {
+
+    private final ParserNumeros parser = new ParserNumeros();
+
+    @Test
+    public void formatosAceptados() {
+        assertValor(450, "450");
+        assertValor(450.5, "450,5");
+        assertValor(450.5, "450.5");
+        assertValor(-3, "-3");
+        assertValor(1.0E7, "1.0E7");
+        assertValor(2.2, "  2.2 ");
+        assertValor(1234.5, "1.234,5");
+        assertValor(1234.5, "1,234.5");
+        assertValor(1234567, "1.234.567");
+        assertValor(1234567, "1,234,567");
+    }
+
+    @Test
+    public void codigosDeError() {
+        assertEquals(ParserNumeros.ERROR_VACIO, parser.parsear(null));
+        assertEquals(ParserNumeros.ERROR_VACIO, parser.parsear("   "));
+        assertEquals(ParserNumeros.ERROR_FORMATO, parser.parsear("abc"));
+        assertEquals(ParserNumeros.ERROR_FORMATO, parser.parsear("1.23.4"));
+        assertEquals(ParserNumeros.ERROR_FORMATO, parser.parsear("1,234,5.6"));
+        assertEquals(ParserNumeros.ERROR_FORMATO, parser.parsear("12e"));
+        assertEquals(ParserNumeros.ERROR_FORMATO, parser.parsear("-"));
+        assertEquals(ParserNumeros.ERROR_RANGO, parser.parsear("1e400"));
+    }
+
+    @Test
+    public void fragmentoDeUnaLinea() {
+        String linea = "cliente;1.234,5;x";
+        assertEquals(ParserNumeros.VALIDO, parser.parsear(linea, 8, 15));
+        assertEquals(1234.5, parser.getValor(), 0);
+    }
+
+    @Test
+    public void aleatorioIgualAParseDouble() {
+        Random aleatorio = new Random(2024);
+        StringBuilder texto = new StringBuilder();
+        for (int n = 0; n < 200000; n++) {
+            texto.setLength(0);
+            if (aleatorio.nextInt(4) == 0) {
+                texto.append('-');
+            }
+            int enteros = 1 + aleatorio.nextInt(aleatorio.nextBoolean() ? 3 : 20);
+            for (int i = 0; i < enteros; i++) {
+                texto.append((char) ('0' + aleatorio.nextInt(10)));
+            }
+            int decimales = aleatorio.nextInt(3) == 0 ? 0 : 1 + aleatorio.nextInt(20);
+            if (decimales > 0) {
+                texto.append('.');
+                for (int i = 0; i < decimales; i++) {
+                    texto.append((char) ('0' + aleatorio.nextInt(10)));
+                }
+            }
+            if (aleatorio.nextInt(5) == 0) {
+                texto.append('E').append(aleatorio.nextInt(60) - 30);
+            }
+
+            String conPunto = texto.toString();
+            // Un solo separador es decimal: con coma o con punto da el mismo valor
+            String conComa = conPunto.replace('.', ',');
+            double esperado = Double.parseDouble(conPunto);
+            assertBits(conPunto, esperado);
+            assertBits(conComa, esperado);
+        }
+    }
+
+    private void assertValor(double esperado, String texto) {
+        assertEquals(texto, ParserNumeros.VALIDO, parser.parsear(texto));
+        assertEquals(texto, esperado, parser.getValor(), 0);
+    }
+
+    private void assertBits(String texto, double esperado) {
+        assertEquals(texto, ParserNumeros.VALIDO, parser.parsear(texto));
+        assertEquals(texto, Double.doubleToLongBits(esperado), Double.doubleToLongBits(parser.getValor()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas del formato de archivo de PerfilesConfiguracion.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class PerfilesConfiguracionTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void tarifaSeRecuperaIgualAlReabrir() throws IOException {
+        File archivo = new File(carpeta.getRoot(), "perfiles.bin");
+        Tarifa[] tarifas = {
+            Tarifa.plana(926),
+            Tarifa.residencial(900, 2, Tarifa.CONSUMO_SUBSISTENCIA_BAJO),
+            Tarifa.porBloques(new double[] {100, 200}, new double[] {600, 800, 1000}),
+            Tarifa.horaria(new int[] {0, 9, 18, 22}, new double[] {500, 800, 1200, 500})
+        };
+        PerfilesConfiguracion perfiles = new PerfilesConfiguracion(archivo);
+        for (int i = 0; i < tarifas.length; i++) {
+            perfiles.guardar("Perfil " + i, new ConfiguracionInmutable(4.5, 550, 2, tarifas[i], 2100000));
+        }
+
+        PerfilesConfiguracion reabiertos = new PerfilesConfiguracion(archivo);
+        assertEquals(Arrays.asList("Perfil 0", "Perfil 1", "Perfil 2", "Perfil 3"), reabiertos.getNombres());
+        for (int i = 0; i < tarifas.length; i++) {
+            ConfiguracionInmutable config = reabiertos.obtener("Perfil " + i);
+            assertEquals(tarifas[i], config.getTarifa());
+            assertEquals(4.5, config.getProduccionPanel(), 0);
+            assertEquals(550, config.getPotenciaPanel(), 0);
+            assertEquals(2, config.getAreaPanel(), 0);
+            assertEquals(2100000, config.getCostoPanel(), 0);
+            assertEquals(tarifas[i].costoMensual(300),
+                    CalculadoraSolar.calcular(300, config).getAhorroMensual(), 0);
+        }
+    }
+
+    @Test
+    public void leeElFormatoSinTarifaYLoReescribe() throws IOException {
+        File archivo = new File(carpeta.getRoot(), "perfiles.bin");
+        byte[] nombre = "Proveedor".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer datos = ByteBuffer.allocate(16 + 2 + nombre.length + 5 * 8).order(ByteOrder.LITTLE_ENDIAN);
+        datos.putInt(0x46525043).putInt(1).putInt(1).putInt(0);
+        datos.putShort((short) nombre.length).put(nombre);
+        datos.putDouble(4.5).putDouble(550).putDouble(2).putDouble(850).putDouble(2100000);
+        try (FileOutputStream salida = new FileOutputStream(archivo)) {
+            salida.write(datos.array());
+        }
+
+        PerfilesConfiguracion perfiles = new PerfilesConfiguracion(archivo);
+        ConfiguracionInmutable anterior = perfiles.obtener("Proveedor");
+        assertEquals(Tarifa.plana(850), anterior.getTarifa());
+        assertEquals(2100000, anterior.getCostoPanel(), 0);
+
+        Tarifa estrato1 = Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+        perfiles.guardar("Estrato 1", new ConfiguracionInmutable(4.5, 550, 2, estrato1, 2100000));
+
+        PerfilesConfiguracion reabiertos = new PerfilesConfiguracion(archivo);
+        assertEquals(Tarifa.plana(850), reabiertos.obtener("Proveedor").getTarifa());
+        assertEquals(estrato1, reabiertos.obtener("Estrato 1").getTarifa());
+    }
+
+    @Test
+    public void rechazaTarifaQueNoCabe() throws IOException {
+        File archivo = new File(carpeta.getRoot(), "perfiles.bin");
+        PerfilesConfiguracion perfiles = new PerfilesConfiguracion(archivo);
+        Tarifa sieteFranjas = Tarifa.horaria(new int[] {0, 3, 6, 9, 12, 15, 18},
+                new double[] {1, 2, 3, 4, 5, 6, 7});
+        try {
+            perfiles.guardar("Demasiadas franjas", new ConfiguracionInmutable(4.5, 550, 2, sieteFranjas, 2100000));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Esperado
+        }
+        assertEquals(0, perfiles.getNombres().size());
+        assertFalse(archivo.exists());
+    }
+}
@@ -0,0 +1,67 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.CalculosSolares;
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de RepositorioResultados.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class RepositorioResultadosTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void sinHistorialConservaSoloLosUltimos() {
+        RepositorioResultados repositorio = new RepositorioResultados(null);
+        int total = RepositorioResultados.MAXIMO_SIN_RESPALDO + 10;
+        int[] ids = new int[total];
+        for (int i = 0; i < total; i++) {
+            ids[i] = repositorio.guardar(calcular(100 + i), ConfiguracionInmutable.POR_DEFECTO);
+            assertTrue(ids[i] < 0);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertNull(repositorio.obtenerEnMemoria(ids[i]));
+        }
+        for (int i = 10; i < total; i++) {
+            assertEquals(100 + i, repositorio.obtenerEnMemoria(ids[i]).getConsumoMensual(), 0);
+        }
+    }
+
+    @Test
+    public void conHistorialRecalculaLoQueNoEstaEnMemoria() throws IOException {
+        try (HistorialCotizaciones historial = new HistorialCotizaciones(carpeta.newFile("historial.bin"))) {
+            RepositorioResultados repositorio = new RepositorioResultados(historial);
+            CalculosSolares calculos = calcular(300);
+            int id = repositorio.guardar(calculos, ConfiguracionInmutable.POR_DEFECTO);
+            assertSame(calculos, repositorio.obtener(id));
+
+            // Otro repositorio sobre el mismo historial, como tras reiniciar el proceso
+            RepositorioResultados nuevo = new RepositorioResultados(historial);
+            assertNull(nuevo.obtenerEnMemoria(id));
+            CalculosSolares recalculado = nuevo.obtener(id);
+            assertEquals(calculos.getNumeroPaneles(), recalculado.getNumeroPaneles());
+            assertEquals(calculos.getAhorroMensual(), recalculado.getAhorroMensual(), 0);
+            assertNull(nuevo.obtener(id + 1));
+        }
+    }
+
+    private static CalculosSolares calcular(double consumo) {
+        return CalculadoraSolar.calcular(consumo, ConfiguracionInmutable.POR_DEFECTO);
+    }
+}
@@ -0,0 +1,124 @@
+package com.solarcalculator.app.utils;
+
+import com.solarcalculator.app.model.ConfiguracionInmutable;
+import com.solarcalculator.app.model.Distribucion;
+import com.solarcalculator.app.model.ResultadoMonteCarlo;
+import com.solarcalculator.app.model.Tarifa;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de reproducibilidad de SimuladorMonteCarlo.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class SimuladorMonteCarloTest {
+
+    private static final int ENSAYOS = 300000; // Varios bloques, el último incompleto
+
+    private final SimuladorMonteCarlo simulador = new SimuladorMonteCarlo(
+            Distribucion.normal(0.10), Distribucion.triangular(0.15), Distribucion.uniforme(0.20));
+
+    @Test
+    public void mismaSemillaMismoResultadoConCualquierNumeroDeHilos() {
+        ForkJoinPool unHilo = new ForkJoinPool(1);
+        ForkJoinPool cuatroHilos = new ForkJoinPool(4);
+        try {
+            ResultadoMonteCarlo a = simulador.simular(unHilo, 300, ConfiguracionInmutable.POR_DEFECTO, ENSAYOS, 42);
+            ResultadoMonteCarlo b = simulador.simular(cuatroHilos, 300, ConfiguracionInmutable.POR_DEFECTO, ENSAYOS, 42);
+            ResultadoMonteCarlo c = simulador.simular(300, ConfiguracionInmutable.POR_DEFECTO, ENSAYOS, 42);
+            assertIguales(a, b);
+            assertIguales(a, c);
+        } finally {
+            unHilo.shutdown();
+            cuatroHilos.shutdown();
+        }
+    }
+
+    @Test
+    public void otraSemillaOtroResultado() {
+        ResultadoMonteCarlo a = simulador.simular(300, ConfiguracionInmutable.POR_DEFECTO, ENSAYOS, 42);
+        ResultadoMonteCarlo b = simulador.simular(300, ConfiguracionInmutable.POR_DEFECTO, ENSAYOS, 43);
+        assertNotEquals(a.getMedia(), b.getMedia(), 0);
+    }
+
+    @Test
+    public void distribucionesFijasDanElRetornoDeCalcular() {
+        SimuladorMonteCarlo fijo = new SimuladorMonteCarlo(
+                Distribucion.fija(), Distribucion.fija(), Distribucion.fija());
+        ResultadoMonteCarlo resultado = fijo.simular(300, ConfiguracionInmutable.POR_DEFECTO, 1000, 7);
+        double esperado = CalculadoraSolar.calcular(300, ConfiguracionInmutable.POR_DEFECTO).getRetornoInversion();
+
+        assertEquals(1000, resultado.getEnsayos());
+        assertEquals(esperado, resultado.getMinimo(), 0);
+        assertEquals(esperado, resultado.getMaximo(), 0);
+        assertEquals(esperado, resultado.getMedia(), 1e-9);
+    }
+
+    @Test
+    public void distribucionesFijasFacturanConLaTarifa() {
+        SimuladorMonteCarlo fijo = new SimuladorMonteCarlo(
+                Distribucion.fija(), Distribucion.fija(), Distribucion.fija());
+        Tarifa[] tarifas = {
+            Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO),
+            Tarifa.residencial(900, 6, Tarifa.CONSUMO_SUBSISTENCIA_ALTO),
+            Tarifa.porBloques(new double[] {100, 200}, new double[] {600, 800, 1000}),
+            Tarifa.horaria(new int[] {0, 9, 18, 22}, new double[] {500, 800, 1200, 500})
+        };
+        for (Tarifa tarifa : tarifas) {
+            ConfiguracionInmutable config = new ConfiguracionInmutable(4.5, 550, 2, tarifa, 2100000);
+            for (double consumo : new double[] {120, 173, 300}) {
+                ResultadoMonteCarlo resultado = fijo.simular(consumo, config, 1000, 7);
+                double esperado = CalculadoraSolar.calcular(consumo, config).getRetornoInversion();
+                assertEquals(tarifa + ", " + consumo, esperado, resultado.getMinimo(), 0);
+                assertEquals(tarifa + ", " + consumo, esperado, resultado.getMaximo(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void precioMuestreadoEscalaLaTarifa() {
+        // Solo varía el precio (±20 %): cada ensayo es el retorno de calcular con la
+        // tarifa escalada, así que queda entre esperado / 1.2 y esperado / 0.8
+        Tarifa tarifa = Tarifa.residencial(900, 1, Tarifa.CONSUMO_SUBSISTENCIA_BAJO);
+        ConfiguracionInmutable config = new ConfiguracionInmutable(4.5, 550, 2, tarifa, 2100000);
+        SimuladorMonteCarlo soloPrecio = new SimuladorMonteCarlo(
+                Distribucion.fija(), Distribucion.uniforme(0.20), Distribucion.fija());
+        ResultadoMonteCarlo resultado = soloPrecio.simular(300, config, 20000, 7);
+        double esperado = CalculadoraSolar.calcular(300, config).getRetornoInversion();
+
+        assertTrue(resultado.getMinimo() >= esperado / 1.2 * (1 - 1e-12));
+        assertTrue(resultado.getMaximo() <= esperado / 0.8 * (1 + 1e-12));
+        assertEquals(esperado, resultado.getP50(), esperado * 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaEnsayosNoPositivos() {
+        simulador.simular(300, ConfiguracionInmutable.POR_DEFECTO, 0, 42);
+    }
+
+    @Test(timeout = 5000, expected = IllegalArgumentException.class)
+    public void rechazaPrecioCeroSinBloquearLosHilos() {
+        ConfiguracionInmutable sinPrecio = new ConfiguracionInmutable(4.5, 550, 2, 0, 2100000);
+        simulador.simular(300, sinPrecio, ENSAYOS, 42);
+    }
+
+    private static void assertIguales(ResultadoMonteCarlo esperado, ResultadoMonteCarlo real) {
+        assertEquals(esperado.getEnsayos(), real.getEnsayos());
+        assertEquals(Double.doubleToLongBits(esperado.getMedia()), Double.doubleToLongBits(real.getMedia()));
+        assertEquals(esperado.getMinimo(), real.getMinimo(), 0);
+        assertEquals(esperado.getMaximo(), real.getMaximo(), 0);
+        assertEquals(esperado.getP10(), real.getP10(), 0);
+        assertEquals(esperado.getP50(), real.getP50(), 0);
+        assertEquals(esperado.getP90(), real.getP90(), 0);
+        assertArrayEquals(esperado.getHistograma(), real.getHistograma());
+    }
+}
@@ -0,0 +1,188 @@
+package com.solarcalculator.app.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de SubmuestreoSerie, incluidos los casos borde de LTTB.
+ *
+ * @author SolarCalculatorApp
+ * @version 1.0
+ */
+public class SubmuestreoSerieTest {
+
+    @Test
+    public void lttbCopiaLaVentanaSiNoSobranPuntos() {
+        double[] serie = {5, 1, 4, 2, 3};
+        float[] x = new float[10];
+        float[] y = new float[10];
+
+        assertEquals(3, SubmuestreoSerie.lttb(serie, 1, 4, 3, x, y));
+        assertEquals(1, x[0], 0);
+        assertEquals(3, x[2], 0);
+        assertEquals(2, y[2], 0);
+        assertEquals(5, SubmuestreoSerie.lttb(serie, 0, 5, 10, x, y));
+        for (int i = 0; i < serie.length; i++) {
+            assertEquals(i, x[i], 0);
+            assertEquals(serie[i], y[i], 0);
+        }
+    }
+
+    @Test
+    public void lttbConservaExtremosYUnPuntoPorGrupo() {
+        double[] serie = aleatoria(8760, 21);
+        int[][] casos = {{0, 8760, 3}, {0, 8760, 4}, {100, 8000, 500}, {0, 8760, 8759}, {17, 27, 9}};
+        for (int[] caso : casos) {
+            int desde = caso[0];
+            int hasta = caso[1];
+            int puntos = caso[2];
+            float[] x = new float[puntos];
+            float[] y = new float[puntos];
+
+            assertEquals(puntos, SubmuestreoSerie.lttb(serie, desde, hasta, puntos, x, y));
+            assertEquals(desde, x[0], 0);
+            assertEquals(hasta - 1, x[puntos - 1], 0);
+            for (int i = 1; i < puntos; i++) {
+                assertTrue(x[i] > x[i - 1]);
+                assertEquals((float) serie[(int) x[i]], y[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void lttbIgualALaImplementacionDeReferencia() {
+        Random aleatorio = new Random(8);
+        for (int caso = 0; caso < 200; caso++) {
+            double[] serie = aleatoria(50 + aleatorio.nextInt(3000), caso);
+            int desde = aleatorio.nextInt(20);
+            int hasta = serie.length - aleatorio.nextInt(20);
+            int puntos = 3 + aleatorio.nextInt(hasta - desde - 3);
+            float[] x = new float[puntos];
+            float[] y = new float[puntos];
+            int[] esperados = referenciaLttb(serie, desde, hasta, puntos);
+
+            assertEquals(esperados.length, SubmuestreoSerie.lttb(serie, desde, hasta, puntos, x, y));
+            for (int i = 0; i < esperados.length; i++) {
+                assertEquals("Caso " + caso + ", punto " + i, esperados[i], x[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void lttbConservaUnPicoAislado() {
+        double[] serie = new double[1000];
+        serie[637] = 100;
+        float[] x = new float[20];
+        float[] y = new float[20];
+        int escritos = SubmuestreoSerie.lttb(serie, 0, serie.length, 20, x, y);
+        boolean pico = false;
+        for (int i = 0; i < escritos; i++) {
+            pico |= x[i] == 637 && y[i] == 100;
+        }
+        assertTrue(pico);
+    }
+
+    @Test
+    public void minMaxConservaElMinimoYElMaximoGlobales() {
+        double[] serie = aleatoria(8760, 5);
+        serie[1234] = -50;
+        serie[7001] = 50;
+        float[] x = new float[101];
+        float[] y = new float[101];
+
+        int escritos = SubmuestreoSerie.minMax(serie, 0, serie.length, 101, x, y);
+        assertTrue(escritos <= 100); // 50 grupos de a lo sumo dos puntos
+        boolean minimo = false;
+        boolean maximo = false;
+        for (int i = 0; i < escritos; i++) {
+            if (i > 0) {
+                assertTrue(x[i] > x[i - 1]);
+            }
+            minimo |= x[i] == 1234;
+            maximo |= x[i] == 7001;
+        }
+        assertTrue(minimo && maximo);
+    }
+
+    @Test
+    public void minMaxConSerieConstanteDaUnPuntoPorGrupo() {
+        double[] serie = new double[100];
+        float[] x = new float[10];
+        float[] y = new float[10];
+        assertEquals(5, SubmuestreoSerie.minMax(serie, 0, serie.length, 10, x, y));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lttbRechazaMenosDeTresPuntos() {
+        SubmuestreoSerie.lttb(new double[10], 0, 10, 2, new float[2], new float[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaVentanaVacia() {
+        SubmuestreoSerie.lttb(new double[10], 4, 4, 3, new float[3], new float[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaVentanaFueraDeLaSerie() {
+        SubmuestreoSerie.minMax(new double[10], 0, 11, 4, new float[4], new float[4]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaSalidaCorta() {
+        SubmuestreoSerie.lttb(new double[10], 0, 10, 5, new float[4], new float[5]);
+    }
+
+    private static double[] aleatoria(int n, long semilla) {
+        Random aleatorio = new Random(semilla);
+        double[] serie = new double[n];
+        for (int i = 0; i < n; i++) {
+            serie[i] = Math.max(0, Math.sin(i * 2 * Math.PI / 24)) + aleatorio.nextGaussian() * 0.1;
+        }
+        return serie;
+    }
+
+    /**
+     * LTTB tal como se publicó (Steinarsson, 2013), con índices relativos a la ventana.
+     */
+    private static int[] referenciaLttb(double[] serie, int desde, int hasta, int puntos) {
+        int n = hasta - desde;
+        int[] elegidos = new int[puntos];
+        double cada = (double) (n - 2) / (puntos - 2);
+        int a = 0;
+        elegidos[0] = desde;
+        for (int i = 0; i < puntos - 2; i++) {
+            int inicioPromedio = (int) Math.floor((i + 1) * cada) + 1;
+            int finPromedio = Math.min((int) Math.floor((i + 2) * cada) + 1, n);
+            double promedioX = 0;
+            double promedioY = 0;
+            for (int j = inicioPromedio; j < finPromedio; j++) {
+                promedioX += j;
+                promedioY += serie[desde + j];
+            }
+            promedioX /= finPromedio - inicioPromedio;
+            promedioY /= finPromedio - inicioPromedio;
+
+            int inicio = (int) Math.floor(i * cada) + 1;
+            int fin = (int) Math.floor((i + 1) * cada) + 1;
+            double ay = serie[desde + a];
+            double areaMaxima = -1;
+            int siguiente = inicio;
+            for (int j = inicio; j < fin; j++) {
+                double area = Math.abs((a - promedioX) * (serie[desde + j] - ay)
+                        - (a - j) * (promedioY - ay)) * 0.5;
+                if (area > areaMaxima) {
+                    areaMaxima = area;
+                    siguiente = j;
+                }
+            }
+            elegidos[i + 1] = desde + siguiente;
+            a = siguiente;
+        }
+        elegidos[puntos - 1] = hasta - 1;
+        return elegidos;
+    }
+}